@@ -0,0 +1,122 @@
+package com.system.grocery.bench;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import com.system.grocery.GroceryApplication;
+import com.system.grocery.service.CategoryTreeService;
+import com.system.grocery.service.ProductSearchIndex;
+
+/**
+ * Boots the application on the in-memory "bench" profile and seeds a fixed,
+ * reproducible data set. Rows are inserted without ids into a fresh schema,
+ * so ids run from 1 to the counts below.
+ */
+final class BenchData {
+
+    static final int STORES = 10;
+    static final int CATEGORIES = 20;
+    static final int PRODUCTS = 2000;
+    static final int USERS = 1000;
+    static final int ORDERS = 5000;
+    // order_tbl.cart_id is unique: every seeded order checks out its own cart.
+    static final int CARTS = ORDERS;
+    static final int LINES_PER_CART = 3;
+
+    private static final int STOCK_PER_STORE = 1_000_000;
+
+    private static final String[] WORDS = {
+            "apple", "banana", "bread", "butter", "cheese", "coffee", "eggs", "flour",
+            "milk", "oats", "onion", "pasta", "rice", "salt", "sugar", "tea", "tomato", "yogurt"
+    };
+
+    private BenchData() {
+    }
+
+    static ConfigurableApplicationContext start(boolean web) {
+        ConfigurableApplicationContext ctx = new SpringApplicationBuilder(GroceryApplication.class)
+                .profiles("bench")
+                .run(web ? "--server.port=0" : "--spring.main.web-application-type=none");
+        seed(ctx);
+        return ctx;
+    }
+
+    static void seed(ConfigurableApplicationContext ctx) {
+        JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+        Random random = new Random(7);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int s = 1; s <= STORES; s++) {
+            rows.add(new Object[] { "Store " + s, "Block " + s + " (12.9" + s + ", 77.5" + s + ")", "555-01" + s });
+        }
+        jdbc.batchUpdate("insert into store (name, location, contact) values (?, ?, ?)", rows);
+
+        rows.clear();
+        for (int c = 1; c <= CATEGORIES; c++) {
+            rows.add(new Object[] { "Category " + c, c <= 5 ? null : (c % 5) + 1 });
+        }
+        jdbc.batchUpdate("insert into category (name, parent_id) values (?, ?)", rows);
+
+        rows.clear();
+        for (int p = 1; p <= PRODUCTS; p++) {
+            rows.add(new Object[] { "Product " + p + " " + WORDS[p % WORDS.length],
+                    1 + random.nextInt(50_000) / 100.0, true, 1 + random.nextInt(CATEGORIES), now });
+        }
+        jdbc.batchUpdate("insert into product (name, price, available, category_id, created_at) values (?, ?, ?, ?, ?)", rows);
+
+        rows.clear();
+        for (int s = 1; s <= STORES; s++) {
+            for (int p = 1; p <= PRODUCTS; p++) {
+                rows.add(new Object[] { s, p, STOCK_PER_STORE });
+            }
+        }
+        jdbc.batchUpdate("insert into store_stock (store_id, product_id, quantity) values (?, ?, ?)", rows);
+
+        rows.clear();
+        for (int u = 1; u <= USERS; u++) {
+            rows.add(new Object[] { "User " + u, u + " Main St (12.9" + (u % 90) + ", 77.6" + (u % 90) + ")", "555-" + u, now });
+        }
+        jdbc.batchUpdate("insert into user (name, address, contact, created_at) values (?, ?, ?, ?)", rows);
+
+        rows.clear();
+        for (int c = 1; c <= CARTS; c++) {
+            rows.add(new Object[] { 1 + (c - 1) % USERS, 1 + (c - 1) % STORES, now, now });
+        }
+        jdbc.batchUpdate("insert into cart (user_id, store_id, created_at, updated_at) values (?, ?, ?, ?)", rows);
+
+        rows.clear();
+        for (int c = 1; c <= CARTS; c++) {
+            for (int i = 0; i < LINES_PER_CART; i++) {
+                rows.add(new Object[] { c, 1 + random.nextInt(PRODUCTS), 1 + random.nextInt(3), 10.0 });
+            }
+        }
+        jdbc.batchUpdate("insert into cart_item (cart_id, product_id, quantity, price_at_time) values (?, ?, ?, ?)", rows);
+
+        rows.clear();
+        List<Object[]> payments = new ArrayList<>();
+        List<Object[]> deliveries = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(90);
+        for (int o = 1; o <= ORDERS; o++) {
+            int cart = o;
+            Timestamp placed = Timestamp.valueOf(start.plusMinutes(o * 25L));
+            rows.add(new Object[] { 1 + (cart - 1) % USERS, cart, 1 + (cart - 1) % STORES,
+                    "DELIVERED", 30.0, placed, "Flat " + o });
+            payments.add(new Object[] { o, "UPI", 30.0, "PAID", placed });
+            deliveries.add(new Object[] { o, "DELIVERED", placed });
+        }
+        jdbc.batchUpdate("insert into order_tbl (user_id, cart_id, store_id, status, version, total_amount, order_time, delivery_address) " +
+                "values (?, ?, ?, ?, 0, ?, ?, ?)", rows);
+        jdbc.batchUpdate("insert into payment (order_id, method, amount, status, version, paid_time) values (?, ?, ?, ?, 0, ?)", payments);
+        jdbc.batchUpdate("insert into delivery (order_id, status, version, delivery_time) values (?, ?, 0, ?)", deliveries);
+
+        // The in-memory indexes were built on the empty schema at startup.
+        ctx.getBean(ProductSearchIndex.class).rebuild();
+        ctx.getBean(CategoryTreeService.class).rebuild();
+    }
+}
@@ -0,0 +1,198 @@
+package com.system.grocery.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * End-to-end load test: boots the app on a random port against the seeded
+ * in-memory database and runs closed-loop virtual users through
+ * browse -> search -> create cart -> add items -> quote -> checkout.
+ * Prints per-step throughput and latency percentiles; the warm-up period
+ * is excluded from the numbers.
+ *
+ * Arguments (all optional): users=32 seconds=60 warmup=10 items=3
+ */
+public class CheckoutLoadGenerator {
+
+    private static final String[] STEPS = { "browse", "search", "cart", "add-item", "quote", "checkout" };
+    private static final String[] TERMS = { "milk", "bread", "rice", "tea", "app", "cof" };
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String a : args) {
+            int eq = a.indexOf('=');
+            if (eq > 0) {
+                opts.put(a.substring(0, eq), a.substring(eq + 1));
+            }
+        }
+        int users = Integer.parseInt(opts.getOrDefault("users", "32"));
+        int seconds = Integer.parseInt(opts.getOrDefault("seconds", "60"));
+        int warmup = Integer.parseInt(opts.getOrDefault("warmup", "10"));
+        int items = Integer.parseInt(opts.getOrDefault("items", "3"));
+
+        ConfigurableApplicationContext ctx = BenchData.start(true);
+        String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(users))
+                .build();
+        JsonMapper json = JsonMapper.builder().build();
+
+        long warmupEnds = System.nanoTime() + Duration.ofSeconds(warmup).toNanos();
+        long runEnds = warmupEnds + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong checkouts = new AtomicLong();
+
+        List<VirtualUser> vus = new ArrayList<>(users);
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            VirtualUser vu = new VirtualUser(http, json, base, items, warmupEnds, runEnds, checkouts);
+            Thread t = new Thread(vu, "vu-" + i);
+            vus.add(vu);
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        Map<String, LatencyRecorder> totals = new LinkedHashMap<>();
+        for (String step : STEPS) {
+            LatencyRecorder merged = new LatencyRecorder();
+            for (VirtualUser vu : vus) {
+                merged.merge(vu.recorder(step));
+            }
+            totals.put(step, merged);
+        }
+
+        System.out.printf("%n%d users, %d s measured after %d s warm-up%n", users, seconds, warmup);
+        System.out.printf("%-10s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                "step", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, LatencyRecorder> e : totals.entrySet()) {
+            LatencyRecorder r = e.getValue();
+            System.out.printf("%-10s %9d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                    e.getKey(), r.count(), r.errors(), r.count() / (double) seconds,
+                    r.percentileMs(50), r.percentileMs(90), r.percentileMs(99),
+                    r.percentileMs(99.9), r.percentileMs(100));
+        }
+        System.out.printf("checkouts/s: %.1f%n", checkouts.get() / (double) seconds);
+
+        ctx.close();
+        System.exit(0);
+    }
+
+    private static final class VirtualUser implements Runnable {
+
+        private final HttpClient http;
+        private final JsonMapper json;
+        private final String base;
+        private final int items;
+        private final long warmupEnds;
+        private final long runEnds;
+        private final AtomicLong checkouts;
+        private final Map<String, LatencyRecorder> recorders = new HashMap<>();
+
+        VirtualUser(HttpClient http, JsonMapper json, String base, int items,
+                    long warmupEnds, long runEnds, AtomicLong checkouts) {
+            this.http = http;
+            this.json = json;
+            this.base = base;
+            this.items = items;
+            this.warmupEnds = warmupEnds;
+            this.runEnds = runEnds;
+            this.checkouts = checkouts;
+            for (String step : STEPS) {
+                recorders.put(step, new LatencyRecorder());
+            }
+        }
+
+        LatencyRecorder recorder(String step) {
+            return recorders.get(step);
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            while (System.nanoTime() < runEnds) {
+                int user = 1 + r.nextInt(BenchData.USERS);
+                int store = 1 + r.nextInt(BenchData.STORES);
+
+                if (call("browse", get("/products/catalog?available=true&size=20&after=" + r.nextInt(BenchData.PRODUCTS))) == null
+                        || call("search", get("/products/search?q=" + TERMS[r.nextInt(TERMS.length)] + "&limit=20")) == null) {
+                    continue;
+                }
+                JsonNode cart = call("cart", post("/carts", "{\"userId\":" + user + ",\"storeId\":" + store + "}"));
+                if (cart == null) {
+                    continue;
+                }
+                int cartId = cart.path("id").asInt();
+                boolean ok = true;
+                for (int i = 0; i < items && ok; i++) {
+                    ok = call("add-item", post("/cart-items", "{\"cartId\":" + cartId + ",\"productId\":"
+                            + (1 + r.nextInt(BenchData.PRODUCTS)) + ",\"quantity\":" + (1 + r.nextInt(3)) + "}")) != null;
+                }
+                if (!ok || call("quote", get("/carts/" + cartId + "/quote")) == null) {
+                    continue;
+                }
+                if (call("checkout", post("/checkout", "{\"cartId\":" + cartId + ",\"storeId\":" + store
+                        + ",\"method\":\"UPI\",\"address\":\"" + user + " Main St\"}")) != null
+                        && System.nanoTime() > warmupEnds) {
+                    checkouts.incrementAndGet();
+                }
+            }
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(base + path)).timeout(Duration.ofSeconds(10)).GET().build();
+        }
+
+        private HttpRequest post(String path, String body) {
+            return HttpRequest.newBuilder(URI.create(base + path))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private JsonNode call(String step, HttpRequest request) {
+            long started = System.nanoTime();
+            boolean measured = started > warmupEnds && started < runEnds;
+            try {
+                HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                long elapsed = System.nanoTime() - started;
+                if (response.statusCode() >= 400) {
+                    if (measured) {
+                        recorders.get(step).error();
+                    }
+                    return null;
+                }
+                if (measured) {
+                    recorders.get(step).record(elapsed);
+                }
+                byte[] body = response.body();
+                return body.length == 0 ? json.createObjectNode() : json.readTree(body);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                if (measured) {
+                    recorders.get(step).error();
+                }
+                return null;
+            }
+        }
+    }
+}
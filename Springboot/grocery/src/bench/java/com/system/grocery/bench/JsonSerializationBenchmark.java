@@ -0,0 +1,98 @@
+package com.system.grocery.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+import com.system.grocery.dto.DeliveryInfo;
+import com.system.grocery.dto.OrderDetail;
+import com.system.grocery.dto.OrderLine;
+import com.system.grocery.dto.PaymentInfo;
+import com.system.grocery.dto.ProductSummary;
+import com.system.grocery.dto.StoreInfo;
+import com.system.grocery.entity.DeliveryStatus;
+import com.system.grocery.entity.OrderStatus;
+import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.entity.PaymentStatus;
+
+/**
+ * Entity and DTO to JSON (and back) with the same Jackson mapper type the
+ * web layer uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private JsonMapper json;
+    private OrderTbl order;
+    private byte[] orderJson;
+    private OrderDetail detail;
+    private List<ProductSummary> catalog;
+
+    @Setup
+    public void prepare() {
+        json = JsonMapper.builder().build();
+        LocalDateTime now = LocalDateTime.now();
+
+        order = new OrderTbl();
+        order.setId(1001);
+        order.setUserId(7);
+        order.setCartId(55);
+        order.setStoreId(3);
+        order.setStatus(OrderStatus.PLACED);
+        order.setTotalAmount(123.45);
+        order.setOrderTime(now);
+        order.setDeliveryAddress("42 Market Street (12.97, 77.59)");
+        orderJson = json.writeValueAsBytes(order);
+
+        List<OrderLine> lines = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            lines.add(new OrderLine(55, 100 + i, "Product " + i, 1 + i % 3, 9.99 + i));
+        }
+        detail = new OrderDetail(1001, 7, 55, OrderStatus.PLACED, 123.45, now, "42 Market Street",
+                new StoreInfo(3, "Store 3", "Block 3", "555-013"),
+                List.copyOf(lines),
+                List.of(new PaymentInfo(501, 1001, "UPI", 123.45, PaymentStatus.PAID, now)),
+                List.of(new DeliveryInfo(801, 1001, DeliveryStatus.ASSIGNED, null, 12, 2, 4, "Agent 4", "555-0404")));
+
+        catalog = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            catalog.add(new ProductSummary(i, "Product " + i, 1.5 * i, true, i % 20));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeOrder() {
+        return json.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public OrderTbl readOrder() {
+        return json.readValue(orderJson, OrderTbl.class);
+    }
+
+    @Benchmark
+    public byte[] writeOrderDetail() {
+        return json.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public byte[] writeCatalogPage() {
+        return json.writeValueAsBytes(catalog);
+    }
+}
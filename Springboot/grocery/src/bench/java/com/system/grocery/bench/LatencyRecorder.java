@@ -0,0 +1,55 @@
+package com.system.grocery.bench;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of latency samples in nanoseconds. One recorder per thread
+ * and step; recorders are merged once the run is over.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+    private boolean sorted;
+
+    void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        sorted = false;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.samples[i]);
+        }
+        errors += other.errors;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /** Nearest-rank percentile in milliseconds, {@code p} in (0, 100]. */
+    double percentileMs(double p) {
+        if (size == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(samples, 0, size);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * size);
+        return samples[Math.min(Math.max(rank, 1), size) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.system.grocery.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import com.system.grocery.dto.GeoPoint;
+import com.system.grocery.dto.RouteStop;
+import com.system.grocery.dto.TripPlan;
+import com.system.grocery.service.RouteBatcher;
+
+/**
+ * Plans trips for synthetic stores and compares them with the old
+ * one-delivery-per-trip dispatch: trips, total kilometres and planning time.
+ *
+ * Run with -Pbench exec:exec -Dbench.main=com.system.grocery.bench.RouteBatcherBenchmark
+ * -Dbench.args="[orders] [stores] [maxStops] [radiusKm]".
+ */
+public class RouteBatcherBenchmark {
+
+    public static void main(String[] args) {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int stores = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int maxStops = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        double radiusKm = args.length > 3 ? Double.parseDouble(args[3]) : 3;
+
+        Random random = new Random(42);
+        RouteBatcher batcher = new RouteBatcher();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<GeoPoint> depots = new ArrayList<>(stores);
+        List<List<RouteStop>> stopsByStore = new ArrayList<>(stores);
+        for (int s = 0; s < stores; s++) {
+            depots.add(new GeoPoint(12.8 + random.nextDouble() * 0.3, 77.5 + random.nextDouble() * 0.3));
+            stopsByStore.add(new ArrayList<>());
+        }
+        for (int i = 0; i < orders; i++) {
+            int s = random.nextInt(stores);
+            GeoPoint depot = depots.get(s);
+            // Orders cluster around a handful of neighbourhoods within ~8 km of the store.
+            double hood = random.nextInt(5);
+            GeoPoint point = new GeoPoint(
+                    depot.lat() + 0.02 * Math.cos(hood) + random.nextGaussian() * 0.01,
+                    depot.lng() + 0.02 * Math.sin(hood) + random.nextGaussian() * 0.01);
+            stopsByStore.get(s).add(new RouteStop(i, point, now.minusSeconds(random.nextInt(600))));
+        }
+
+        // Warm up the JIT before measuring.
+        for (int i = 0; i < 5; i++) {
+            for (int s = 0; s < stores; s++) {
+                batcher.plan(depots.get(s), stopsByStore.get(s), maxStops, radiusKm);
+            }
+        }
+
+        double naiveKm = 0;
+        for (int s = 0; s < stores; s++) {
+            for (RouteStop stop : stopsByStore.get(s)) {
+                naiveKm += depots.get(s).distanceKm(stop.point());
+            }
+        }
+
+        int trips = 0;
+        double batchedKm = 0;
+        long started = System.nanoTime();
+        for (int s = 0; s < stores; s++) {
+            for (TripPlan plan : batcher.plan(depots.get(s), stopsByStore.get(s), maxStops, radiusKm)) {
+                trips++;
+                batchedKm += plan.distanceKm();
+            }
+        }
+        long elapsedMicros = (System.nanoTime() - started) / 1000;
+
+        System.out.printf("orders=%d stores=%d maxStops=%d radiusKm=%.1f%n", orders, stores, maxStops, radiusKm);
+        System.out.printf("one trip per order: trips=%d km=%.1f%n", orders, naiveKm);
+        System.out.printf("batched:            trips=%d km=%.1f (%.2f stops/trip)%n",
+                trips, batchedKm, (double) orders / trips);
+        System.out.printf("planning time: %d us (%.2f us/order)%n", elapsedMicros, (double) elapsedMicros / orders);
+    }
+}
@@ -0,0 +1,108 @@
+package com.system.grocery.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import com.system.grocery.dto.CartQuote;
+import com.system.grocery.dto.CatalogPage;
+import com.system.grocery.dto.OrderDetail;
+import com.system.grocery.dto.OrderHistoryPage;
+import com.system.grocery.entity.CartItem;
+import com.system.grocery.entity.OrderStatus;
+import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.service.CartItemService;
+import com.system.grocery.service.CartPricingService;
+import com.system.grocery.service.OrderDetailService;
+import com.system.grocery.service.OrderTblService;
+import com.system.grocery.service.ProductService;
+
+/**
+ * Service-layer operations against the seeded in-memory database. Sample
+ * time mode reports p50/p90/p99 next to the throughput score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class ServiceBenchmark {
+
+    private ConfigurableApplicationContext ctx;
+    private CartItemService cartItems;
+    private CartPricingService pricing;
+    private OrderTblService orders;
+    private OrderDetailService details;
+    private ProductService products;
+
+    @Setup
+    public void start() {
+        ctx = BenchData.start(false);
+        cartItems = ctx.getBean(CartItemService.class);
+        pricing = ctx.getBean(CartPricingService.class);
+        orders = ctx.getBean(OrderTblService.class);
+        details = ctx.getBean(OrderDetailService.class);
+        products = ctx.getBean(ProductService.class);
+    }
+
+    @TearDown
+    public void stop() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public CartItem addToCart() {
+        // Upper half of the carts absorbs the writes so quoteCart stays stable.
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        CartItem ci = new CartItem();
+        ci.setCartId(BenchData.CARTS / 2 + 1 + r.nextInt(BenchData.CARTS / 2));
+        ci.setProductId(1 + r.nextInt(BenchData.PRODUCTS));
+        ci.setQuantity(1);
+        return cartItems.save(ci);
+    }
+
+    @Benchmark
+    public CartQuote quoteCart() {
+        return pricing.quote(1 + ThreadLocalRandom.current().nextInt(BenchData.CARTS / 2));
+    }
+
+    @Benchmark
+    public OrderTbl placeOrder() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        OrderTbl o = new OrderTbl();
+        o.setUserId(1 + r.nextInt(BenchData.USERS));
+        o.setStoreId(1 + r.nextInt(BenchData.STORES));
+        o.setStatus(OrderStatus.PLACED);
+        o.setTotalAmount(42.0);
+        o.setDeliveryAddress("Bench St");
+        return orders.save(o);
+    }
+
+    @Benchmark
+    public OrderDetail orderDetail() {
+        return details.detail(1 + ThreadLocalRandom.current().nextInt(BenchData.ORDERS));
+    }
+
+    @Benchmark
+    public OrderHistoryPage orderHistory() {
+        return orders.history(1 + ThreadLocalRandom.current().nextInt(BenchData.USERS), null, null, 20);
+    }
+
+    @Benchmark
+    public CatalogPage catalogPage() {
+        return products.catalog(ThreadLocalRandom.current().nextInt(BenchData.PRODUCTS), null, true, null, null, 50);
+    }
+}
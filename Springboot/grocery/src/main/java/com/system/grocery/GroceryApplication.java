@@ -2,8 +2,10 @@ package com.system.grocery;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class GroceryApplication {
 
     public static void main(String[] args) {
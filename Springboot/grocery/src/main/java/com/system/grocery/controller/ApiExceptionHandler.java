@@ -0,0 +1,27 @@
+package com.system.grocery.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import com.system.grocery.exception.FlashSaleBusyException;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String staleVersion(ObjectOptimisticLockingFailureException e){
+        return "Record was modified by another request, reload and retry";
+    }
+
+    @ExceptionHandler(FlashSaleBusyException.class)
+    public ResponseEntity<String> flashSaleBusy(FlashSaleBusyException e){
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+}
@@ -3,8 +3,12 @@ package com.system.grocery.controller;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import com.system.grocery.dto.CartQuote;
+import com.system.grocery.dto.SweeperStats;
 import com.system.grocery.entity.Cart;
+import com.system.grocery.service.CartPricingService;
 import com.system.grocery.service.CartService;
+import com.system.grocery.service.CartSweeperService;
 
 @RestController
 @RequestMapping("/carts")
@@ -13,15 +17,30 @@ public class CartController {
     @Autowired
     private CartService service;
 
+    @Autowired
+    private CartPricingService pricing;
+
+    @Autowired
+    private CartSweeperService sweeper;
+
     @PostMapping
     public Cart create(@RequestBody Cart c){ return service.save(c); }
 
     @GetMapping
     public List<Cart> all(){ return service.getAll(); }
 
+    @GetMapping("/sweeper")
+    public SweeperStats sweeperStats(){ return sweeper.stats(); }
+
+    @PostMapping("/sweeper/run")
+    public Integer sweep(){ return sweeper.sweep(); }
+
     @GetMapping("/{id}")
     public Cart one(@PathVariable Integer id){ return service.getById(id); }
 
+    @GetMapping("/{id}/quote")
+    public CartQuote quote(@PathVariable Integer id){ return pricing.quote(id); }
+
     @PutMapping
     public Cart update(@RequestBody Cart c){ return service.save(c); }
 
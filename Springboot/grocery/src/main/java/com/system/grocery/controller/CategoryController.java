@@ -2,7 +2,12 @@ package com.system.grocery.controller;
 
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import com.system.grocery.dto.CategoryNode;
+import com.system.grocery.dto.CategoryTree;
 import com.system.grocery.entity.Category;
 import com.system.grocery.service.CategoryService;
 
@@ -19,6 +24,15 @@ public class CategoryController {
     @GetMapping
     public List<Category> all(){ return service.getAll(); }
 
+    @GetMapping("/tree")
+    public ResponseEntity<List<CategoryNode>> tree(WebRequest request){
+        CategoryTree tree = service.tree();
+        if (request.checkNotModified(tree.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(tree.etag()).cacheControl(CacheControl.noCache()).body(tree.roots());
+    }
+
     @GetMapping("/{id}")
     public Category one(@PathVariable Integer id){ return service.getById(id); }
 
@@ -0,0 +1,20 @@
+package com.system.grocery.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import com.system.grocery.dto.CheckoutRequest;
+import com.system.grocery.dto.CheckoutResult;
+import com.system.grocery.service.CheckoutService;
+
+@RestController
+@RequestMapping("/checkout")
+public class CheckoutController {
+
+    @Autowired
+    private CheckoutService service;
+
+    @PostMapping
+    public CheckoutResult checkout(@RequestBody CheckoutRequest r){
+        return service.checkout(r.cartId(), r.storeId(), r.method(), r.address());
+    }
+}
@@ -2,9 +2,13 @@ package com.system.grocery.controller;
 
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.system.grocery.dto.TransitionResult;
 import com.system.grocery.entity.Delivery;
+import com.system.grocery.entity.DeliveryStatus;
 import com.system.grocery.service.DeliveryService;
+import com.system.grocery.service.OrderLifecycleService;
 
 @RestController
 @RequestMapping("/deliveries")
@@ -13,6 +17,9 @@ public class DeliveryController {
     @Autowired
     private DeliveryService service;
 
+    @Autowired
+    private OrderLifecycleService lifecycle;
+
     @PostMapping
     public Delivery create(@RequestBody Delivery d){ return service.save(d); }
 
@@ -22,6 +29,14 @@ public class DeliveryController {
     @GetMapping("/{id}")
     public Delivery one(@PathVariable Integer id){ return service.getById(id); }
 
+    @PutMapping("/{id}/status")
+    public ResponseEntity<TransitionResult<DeliveryStatus>> transition(@PathVariable Integer id,
+                                                                       @RequestParam DeliveryStatus to,
+                                                                       @RequestParam(required = false) DeliveryStatus from){
+        TransitionResult<DeliveryStatus> r = lifecycle.transitionDelivery(id, from, to);
+        return ResponseEntity.status(r.outcome().httpStatus()).body(r);
+    }
+
     @PutMapping
     public Delivery update(@RequestBody Delivery d){ return service.save(d); }
 
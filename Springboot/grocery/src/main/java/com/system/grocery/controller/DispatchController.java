@@ -0,0 +1,25 @@
+package com.system.grocery.controller;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import com.system.grocery.dto.DispatchStatus;
+import com.system.grocery.entity.Delivery;
+import com.system.grocery.service.DispatchService;
+
+@RestController
+@RequestMapping("/dispatch")
+public class DispatchController {
+
+    @Autowired
+    private DispatchService service;
+
+    @GetMapping
+    public DispatchStatus status(){ return service.status(); }
+
+    @PostMapping("/run")
+    public Integer run(){ return service.dispatchPending(); }
+
+    @GetMapping("/trips/{id}")
+    public List<Delivery> trip(@PathVariable Integer id){ return service.tripStops(id); }
+}
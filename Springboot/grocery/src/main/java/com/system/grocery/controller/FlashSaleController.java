@@ -0,0 +1,34 @@
+package com.system.grocery.controller;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import com.system.grocery.dto.FlashSaleStats;
+import com.system.grocery.entity.FlashSale;
+import com.system.grocery.service.FlashSaleService;
+
+@RestController
+@RequestMapping("/flash-sales")
+public class FlashSaleController {
+
+    @Autowired
+    private FlashSaleService service;
+
+    @PostMapping
+    public FlashSale create(@RequestBody FlashSale s){ return service.save(s); }
+
+    @GetMapping
+    public List<FlashSale> all(){ return service.getAll(); }
+
+    @GetMapping("/stats")
+    public FlashSaleStats stats(){ return service.stats(); }
+
+    @GetMapping("/{id}")
+    public FlashSale one(@PathVariable Integer id){ return service.getById(id); }
+
+    @PutMapping
+    public FlashSale update(@RequestBody FlashSale s){ return service.save(s); }
+
+    @DeleteMapping("/{id}")
+    public String delete(@PathVariable Integer id){ return service.delete(id); }
+}
@@ -1,9 +1,20 @@
 package com.system.grocery.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.system.grocery.dto.OrderDetail;
+import com.system.grocery.dto.PageResult;
+import com.system.grocery.dto.StoreOrderCount;
+import com.system.grocery.dto.TransitionResult;
+import com.system.grocery.entity.OrderStatus;
+import com.system.grocery.entity.OrderStatusHistory;
 import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.service.OrderDetailService;
+import com.system.grocery.service.OrderLifecycleService;
 import com.system.grocery.service.OrderTblService;
 
 @RestController
@@ -13,15 +24,50 @@ public class OrderTblController {
     @Autowired
     private OrderTblService service;
 
+    @Autowired
+    private OrderLifecycleService lifecycle;
+
+    @Autowired
+    private OrderDetailService details;
+
     @PostMapping
     public OrderTbl create(@RequestBody OrderTbl o){ return service.save(o); }
 
     @GetMapping
     public List<OrderTbl> all(){ return service.getAll(); }
 
+    @GetMapping("/range")
+    public PageResult<OrderTbl> range(@RequestParam(required = false) Integer storeId,
+                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                      @RequestParam(defaultValue = "0") int page,
+                                      @RequestParam(defaultValue = "50") int size){
+        return service.getByTimeRange(storeId, from, to, page, size);
+    }
+
+    @GetMapping("/store-counts")
+    public List<StoreOrderCount> storeCounts(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+        return service.countByStore(from, to);
+    }
+
     @GetMapping("/{id}")
     public OrderTbl one(@PathVariable Integer id){ return service.getById(id); }
 
+    @GetMapping("/{id}/detail")
+    public OrderDetail detail(@PathVariable Integer id){ return details.detail(id); }
+
+    @PutMapping("/{id}/status")
+    public ResponseEntity<TransitionResult<OrderStatus>> transition(@PathVariable Integer id,
+                                                                    @RequestParam OrderStatus to,
+                                                                    @RequestParam(required = false) OrderStatus from){
+        TransitionResult<OrderStatus> r = lifecycle.transitionOrder(id, from, to);
+        return ResponseEntity.status(r.outcome().httpStatus()).body(r);
+    }
+
+    @GetMapping("/{id}/history")
+    public List<OrderStatusHistory> history(@PathVariable Integer id){ return lifecycle.history(id); }
+
     @PutMapping
     public OrderTbl update(@RequestBody OrderTbl o){ return service.save(o); }
 
@@ -2,9 +2,15 @@ package com.system.grocery.controller;
 
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.system.grocery.dto.PaymentResult;
+import com.system.grocery.dto.TransitionResult;
 import com.system.grocery.entity.Payment;
+import com.system.grocery.entity.PaymentStatus;
 import com.system.grocery.service.PaymentService;
+import com.system.grocery.service.OrderLifecycleService;
+import com.system.grocery.service.PaymentIdempotencyService;
 
 @RestController
 @RequestMapping("/payments")
@@ -13,8 +19,20 @@ public class PaymentController {
     @Autowired
     private PaymentService service;
 
+    @Autowired
+    private OrderLifecycleService lifecycle;
+
+    @Autowired
+    private PaymentIdempotencyService idempotency;
+
     @PostMapping
-    public Payment create(@RequestBody Payment p){ return service.save(p); }
+    public ResponseEntity<Payment> create(@RequestBody Payment p,
+                                          @RequestHeader(value = "Idempotency-Key", required = false) String key){
+        PaymentResult r = idempotency.create(p, key);
+        return ResponseEntity.ok()
+                .header("Idempotent-Replayed", String.valueOf(r.replayed()))
+                .body(r.payment());
+    }
 
     @GetMapping
     public List<Payment> all(){ return service.getAll(); }
@@ -22,6 +40,14 @@ public class PaymentController {
     @GetMapping("/{id}")
     public Payment one(@PathVariable Integer id){ return service.getById(id); }
 
+    @PutMapping("/{id}/status")
+    public ResponseEntity<TransitionResult<PaymentStatus>> transition(@PathVariable Integer id,
+                                                                      @RequestParam PaymentStatus to,
+                                                                      @RequestParam(required = false) PaymentStatus from){
+        TransitionResult<PaymentStatus> r = lifecycle.transitionPayment(id, from, to);
+        return ResponseEntity.status(r.outcome().httpStatus()).body(r);
+    }
+
     @PutMapping
     public Payment update(@RequestBody Payment p){ return service.save(p); }
 
@@ -1,9 +1,16 @@
 package com.system.grocery.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import com.system.grocery.dto.CacheStats;
+import com.system.grocery.dto.CatalogPage;
+import com.system.grocery.dto.ImportReport;
+import com.system.grocery.dto.ProductSummary;
 import com.system.grocery.entity.Product;
+import com.system.grocery.service.ProductImportService;
 import com.system.grocery.service.ProductService;
 
 @RestController
@@ -13,12 +20,53 @@ public class ProductController {
     @Autowired
     private ProductService service;
 
+    @Autowired
+    private ProductImportService importer;
+
     @PostMapping
     public Product create(@RequestBody Product p){ return service.save(p); }
 
+    @PostMapping(path = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    public ImportReport importProducts(InputStream body,
+                                       @RequestHeader("Content-Type") String contentType,
+                                       @RequestParam(required = false) Integer batchSize) throws IOException {
+        return importer.importProducts(body, contentType, batchSize);
+    }
+
+    @GetMapping("/import/progress")
+    public ImportReport importProgress(){ return importer.progress(); }
+
     @GetMapping
     public List<Product> all(){ return service.getAll(); }
 
+    @GetMapping("/catalog")
+    public CatalogPage catalog(@RequestParam(required = false) Integer after,
+                               @RequestParam(required = false) Integer categoryId,
+                               @RequestParam(required = false) Boolean available,
+                               @RequestParam(required = false) Double minPrice,
+                               @RequestParam(required = false) Double maxPrice,
+                               @RequestParam(required = false) Integer size){
+        return service.catalog(after, categoryId, available, minPrice, maxPrice, size);
+    }
+
+    @GetMapping("/search")
+    public List<ProductSummary> search(@RequestParam String q,
+                                       @RequestParam(required = false) Integer storeId,
+                                       @RequestParam(required = false) Boolean available,
+                                       @RequestParam(defaultValue = "20") int limit){
+        return service.search(q, storeId, available, limit);
+    }
+
+    @GetMapping("/autocomplete")
+    public List<String> autocomplete(@RequestParam String prefix,
+                                     @RequestParam(required = false) Integer storeId,
+                                     @RequestParam(defaultValue = "10") int limit){
+        return service.autocomplete(prefix, storeId, limit);
+    }
+
+    @GetMapping("/cache-stats")
+    public CacheStats cacheStats(){ return service.cacheStats(); }
+
     @GetMapping("/{id}")
     public Product one(@PathVariable Integer id){ return service.getById(id); }
 
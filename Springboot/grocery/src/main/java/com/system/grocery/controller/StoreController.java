@@ -1,9 +1,15 @@
 package com.system.grocery.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import com.system.grocery.dto.SalesBucket;
+import com.system.grocery.dto.StockLevel;
 import com.system.grocery.entity.Store;
+import com.system.grocery.service.InventoryService;
+import com.system.grocery.service.SalesRollupService;
 import com.system.grocery.service.StoreService;
 
 @RestController
@@ -13,6 +19,12 @@ public class StoreController {
     @Autowired
     private StoreService service;
 
+    @Autowired
+    private SalesRollupService sales;
+
+    @Autowired
+    private InventoryService inventory;
+
     @PostMapping
     public Store create(@RequestBody Store s){ return service.save(s); }
 
@@ -22,6 +34,37 @@ public class StoreController {
     @GetMapping("/{id}")
     public Store one(@PathVariable Integer id){ return service.getById(id); }
 
+    @GetMapping("/{id}/sales")
+    public List<SalesBucket> sales(@PathVariable Integer id,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                   @RequestParam(defaultValue = "hour") String granularity){
+        return sales.sales(id, from, to, "day".equalsIgnoreCase(granularity));
+    }
+
+    @PostMapping("/sales/reconcile")
+    public String reconcile(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+        sales.reconcile(from, to);
+        return "Sales rollups reconciled";
+    }
+
+    @GetMapping("/{id}/stock/{productId}")
+    public StockLevel stock(@PathVariable Integer id, @PathVariable Integer productId){
+        return inventory.level(id, productId);
+    }
+
+    @PostMapping("/{id}/stock/{productId}")
+    public StockLevel adjustStock(@PathVariable Integer id, @PathVariable Integer productId,
+                                  @RequestParam int delta){
+        return inventory.adjust(id, productId, delta);
+    }
+
+    @DeleteMapping("/{id}/stock/{productId}")
+    public StockLevel removeStock(@PathVariable Integer id, @PathVariable Integer productId){
+        return inventory.remove(id, productId);
+    }
+
     @PutMapping
     public Store update(@RequestBody Store s){ return service.save(s); }
 
@@ -0,0 +1,37 @@
+package com.system.grocery.controller;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.system.grocery.dto.NotificationPage;
+import com.system.grocery.service.NotificationService;
+
+@RestController
+@RequestMapping("/users/{userId}/notifications")
+public class UserNotificationController {
+
+    @Autowired
+    private NotificationService service;
+
+    @GetMapping
+    public NotificationPage inbox(@PathVariable Integer userId,
+                                  @RequestParam(defaultValue = "false") boolean unread,
+                                  @RequestParam(defaultValue = "0") int page,
+                                  @RequestParam(defaultValue = "20") int size){
+        return service.inbox(userId, unread, page, size);
+    }
+
+    @GetMapping("/unread-count")
+    public Integer unreadCount(@PathVariable Integer userId){ return service.unreadCount(userId); }
+
+    @PostMapping("/read")
+    public Integer markRead(@PathVariable Integer userId,
+                            @RequestBody(required = false) List<Integer> ids){
+        return service.markRead(userId, ids);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Integer userId){ return service.subscribe(userId); }
+}
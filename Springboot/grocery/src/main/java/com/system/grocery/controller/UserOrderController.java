@@ -0,0 +1,36 @@
+package com.system.grocery.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import com.system.grocery.dto.OrderDetail;
+import com.system.grocery.dto.OrderHistoryPage;
+import com.system.grocery.dto.PageResult;
+import com.system.grocery.entity.OrderStatus;
+import com.system.grocery.service.OrderDetailService;
+import com.system.grocery.service.OrderTblService;
+
+@RestController
+@RequestMapping("/users/{userId}/orders")
+public class UserOrderController {
+
+    @Autowired
+    private OrderTblService service;
+
+    @Autowired
+    private OrderDetailService details;
+
+    @GetMapping
+    public OrderHistoryPage history(@PathVariable Integer userId,
+                                    @RequestParam(required = false) OrderStatus status,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) Integer size){
+        return service.history(userId, status, cursor, size);
+    }
+
+    @GetMapping("/detail")
+    public PageResult<OrderDetail> detail(@PathVariable Integer userId,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "10") int size){
+        return details.history(userId, page, size);
+    }
+}
@@ -0,0 +1,7 @@
+package com.system.grocery.dto;
+
+public record AgentLoad(
+        Integer agentId,
+        Integer storeId,
+        Integer openDeliveries) {
+}
@@ -0,0 +1,4 @@
+package com.system.grocery.dto;
+
+public record AgentOpenCount(Integer agentId, Long openDeliveries) {
+}
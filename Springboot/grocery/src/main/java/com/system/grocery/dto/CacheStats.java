@@ -0,0 +1,9 @@
+package com.system.grocery.dto;
+
+public record CacheStats(
+        long hits,
+        long misses,
+        long evictions,
+        int size,
+        int maxSize) {
+}
@@ -0,0 +1,4 @@
+package com.system.grocery.dto;
+
+public record CartLineSum(Integer productId, Long quantity) {
+}
@@ -0,0 +1,4 @@
+package com.system.grocery.dto;
+
+public record CartProductQuantity(Integer cartId, Integer productId, Long quantity) {
+}
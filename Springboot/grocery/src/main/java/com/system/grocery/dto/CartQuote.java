@@ -0,0 +1,11 @@
+package com.system.grocery.dto;
+
+import java.util.List;
+
+public record CartQuote(
+        Integer cartId,
+        List<CartQuoteLine> lines,
+        Integer itemCount,
+        Double subtotal,
+        Double totalAmount) {
+}
@@ -0,0 +1,10 @@
+package com.system.grocery.dto;
+
+public record CartQuoteLine(
+        Integer productId,
+        String name,
+        Integer quantity,
+        Double unitPrice,
+        Double lineTotal,
+        Boolean available) {
+}
@@ -0,0 +1,12 @@
+package com.system.grocery.dto;
+
+import java.util.List;
+
+public record CategoryNode(
+        Integer id,
+        String name,
+        Integer parentId,
+        Integer productCount,
+        Integer subtreeProductCount,
+        List<CategoryNode> children) {
+}
@@ -0,0 +1,8 @@
+package com.system.grocery.dto;
+
+import java.util.List;
+
+public record CategoryTree(
+        String etag,
+        List<CategoryNode> roots) {
+}
@@ -0,0 +1,8 @@
+package com.system.grocery.dto;
+
+public record CheckoutRequest(
+        Integer cartId,
+        Integer storeId,
+        String method,
+        String address) {
+}
@@ -0,0 +1,14 @@
+package com.system.grocery.dto;
+
+import com.system.grocery.entity.Delivery;
+import com.system.grocery.entity.Notification;
+import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.entity.Payment;
+
+public record CheckoutResult(
+        OrderTbl order,
+        Payment payment,
+        Delivery delivery,
+        Notification notification,
+        CartQuote quote) {
+}
@@ -0,0 +1,16 @@
+package com.system.grocery.dto;
+
+import java.time.LocalDateTime;
+import com.system.grocery.entity.DeliveryStatus;
+
+public record DeliveryInfo(
+        Integer deliveryId,
+        Integer orderId,
+        DeliveryStatus status,
+        LocalDateTime deliveryTime,
+        Integer tripId,
+        Integer stopSeq,
+        Integer agentId,
+        String agentName,
+        String agentPhone) {
+}
@@ -0,0 +1,12 @@
+package com.system.grocery.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record DispatchStatus(
+        List<AgentLoad> agents,
+        Map<Integer, Integer> unassignedByStore,
+        Map<Integer, Integer> heldByStore,
+        long assignedTotal,
+        long tripsTotal) {
+}
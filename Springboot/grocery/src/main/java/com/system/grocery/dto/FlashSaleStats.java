@@ -0,0 +1,13 @@
+package com.system.grocery.dto;
+
+import java.util.Set;
+
+public record FlashSaleStats(
+        Set<Integer> runningProducts,
+        int queueDepth,
+        int queueCapacity,
+        long admitted,
+        long shed,
+        long rejected,
+        long batches) {
+}
@@ -0,0 +1,15 @@
+package com.system.grocery.dto;
+
+public record GeoPoint(double lat, double lng) {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    public double distanceKm(GeoPoint other) {
+        double dLat = Math.toRadians(other.lat - lat);
+        double dLng = Math.toRadians(other.lng - lng);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat)) * Math.cos(Math.toRadians(other.lat))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,6 @@
+package com.system.grocery.dto;
+
+import java.time.LocalDateTime;
+
+public record IdempotencyRecord(String requestHash, Integer paymentId, LocalDateTime createdAt) {
+}
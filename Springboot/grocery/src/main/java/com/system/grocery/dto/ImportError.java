@@ -0,0 +1,4 @@
+package com.system.grocery.dto;
+
+public record ImportError(long line, String message) {
+}
@@ -0,0 +1,12 @@
+package com.system.grocery.dto;
+
+import java.util.List;
+
+public record ImportReport(
+        String status,
+        long rowsRead,
+        long rowsImported,
+        long rowsFailed,
+        List<ImportError> errors,
+        long elapsedMs) {
+}
@@ -0,0 +1,11 @@
+package com.system.grocery.dto;
+
+import java.util.List;
+import com.system.grocery.entity.Notification;
+
+public record NotificationPage(
+        List<Notification> items,
+        Integer page,
+        Boolean hasNext,
+        Integer unreadCount) {
+}
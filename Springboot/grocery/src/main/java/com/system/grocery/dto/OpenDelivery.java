@@ -0,0 +1,10 @@
+package com.system.grocery.dto;
+
+import java.time.LocalDateTime;
+
+public record OpenDelivery(
+        Integer deliveryId,
+        Integer storeId,
+        String address,
+        LocalDateTime orderTime) {
+}
@@ -0,0 +1,19 @@
+package com.system.grocery.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import com.system.grocery.entity.OrderStatus;
+
+public record OrderDetail(
+        Integer orderId,
+        Integer userId,
+        Integer cartId,
+        OrderStatus status,
+        Double totalAmount,
+        LocalDateTime orderTime,
+        String deliveryAddress,
+        StoreInfo store,
+        List<OrderLine> lines,
+        List<PaymentInfo> payments,
+        List<DeliveryInfo> deliveries) {
+}
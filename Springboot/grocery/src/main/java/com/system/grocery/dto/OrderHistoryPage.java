@@ -0,0 +1,8 @@
+package com.system.grocery.dto;
+
+import java.util.List;
+
+public record OrderHistoryPage(
+        List<OrderSummary> items,
+        String nextCursor) {
+}
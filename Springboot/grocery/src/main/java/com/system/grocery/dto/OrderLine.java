@@ -0,0 +1,9 @@
+package com.system.grocery.dto;
+
+public record OrderLine(
+        Integer cartId,
+        Integer productId,
+        String productName,
+        Integer quantity,
+        Double priceAtTime) {
+}
@@ -0,0 +1,12 @@
+package com.system.grocery.dto;
+
+import java.time.LocalDateTime;
+import com.system.grocery.entity.OrderStatus;
+
+public record OrderSummary(
+        Integer id,
+        Integer storeId,
+        OrderStatus status,
+        Double totalAmount,
+        LocalDateTime orderTime) {
+}
@@ -0,0 +1,9 @@
+package com.system.grocery.dto;
+
+import java.util.List;
+
+public record PageResult<T>(
+        List<T> items,
+        Integer page,
+        Boolean hasNext) {
+}
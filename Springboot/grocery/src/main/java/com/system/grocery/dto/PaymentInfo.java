@@ -0,0 +1,13 @@
+package com.system.grocery.dto;
+
+import java.time.LocalDateTime;
+import com.system.grocery.entity.PaymentStatus;
+
+public record PaymentInfo(
+        Integer paymentId,
+        Integer orderId,
+        String method,
+        Double amount,
+        PaymentStatus status,
+        LocalDateTime paidTime) {
+}
@@ -0,0 +1,6 @@
+package com.system.grocery.dto;
+
+import com.system.grocery.entity.Payment;
+
+public record PaymentResult(Payment payment, boolean replayed) {
+}
@@ -0,0 +1,8 @@
+package com.system.grocery.dto;
+
+public record ProductImportRow(
+        String name,
+        Double price,
+        Boolean available,
+        Integer categoryId) {
+}
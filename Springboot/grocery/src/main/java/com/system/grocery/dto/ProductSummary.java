@@ -0,0 +1,9 @@
+package com.system.grocery.dto;
+
+public record ProductSummary(
+        Integer id,
+        String name,
+        Double price,
+        Boolean available,
+        Integer categoryId) {
+}
@@ -0,0 +1,9 @@
+package com.system.grocery.dto;
+
+import java.time.LocalDateTime;
+
+public record RouteStop(
+        Integer deliveryId,
+        GeoPoint point,
+        LocalDateTime readySince) {
+}
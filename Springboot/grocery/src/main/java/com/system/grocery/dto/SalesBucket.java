@@ -0,0 +1,10 @@
+package com.system.grocery.dto;
+
+import java.time.LocalDateTime;
+
+public record SalesBucket(
+        LocalDateTime start,
+        Long orderCount,
+        Double revenue,
+        Double averageBasket) {
+}
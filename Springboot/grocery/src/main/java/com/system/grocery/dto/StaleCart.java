@@ -0,0 +1,6 @@
+package com.system.grocery.dto;
+
+import java.time.LocalDateTime;
+
+public record StaleCart(Integer id, Integer storeId, LocalDateTime updatedAt) {
+}
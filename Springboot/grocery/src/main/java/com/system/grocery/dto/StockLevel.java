@@ -0,0 +1,8 @@
+package com.system.grocery.dto;
+
+public record StockLevel(
+        Integer storeId,
+        Integer productId,
+        Boolean tracked,
+        Integer available) {
+}
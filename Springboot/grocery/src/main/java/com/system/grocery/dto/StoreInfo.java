@@ -0,0 +1,8 @@
+package com.system.grocery.dto;
+
+public record StoreInfo(
+        Integer id,
+        String name,
+        String location,
+        String contact) {
+}
@@ -0,0 +1,7 @@
+package com.system.grocery.dto;
+
+public record StoreOrderCount(
+        Integer storeId,
+        Long orderCount,
+        Double revenue) {
+}
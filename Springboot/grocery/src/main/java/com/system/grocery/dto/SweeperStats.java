@@ -0,0 +1,12 @@
+package com.system.grocery.dto;
+
+import java.time.LocalDateTime;
+
+public record SweeperStats(
+        long cartsSwept,
+        long itemsSwept,
+        long batches,
+        long lastBatchMs,
+        long maxBatchMs,
+        LocalDateTime lastRunAt) {
+}
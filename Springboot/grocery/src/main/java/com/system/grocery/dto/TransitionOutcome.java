@@ -0,0 +1,21 @@
+package com.system.grocery.dto;
+
+import org.springframework.http.HttpStatus;
+
+public enum TransitionOutcome {
+
+    APPLIED(HttpStatus.OK),
+    NOT_FOUND(HttpStatus.NOT_FOUND),
+    INVALID_TRANSITION(HttpStatus.UNPROCESSABLE_ENTITY),
+    CONFLICT(HttpStatus.CONFLICT);
+
+    private final HttpStatus httpStatus;
+
+    TransitionOutcome(HttpStatus httpStatus) {
+        this.httpStatus = httpStatus;
+    }
+
+    public HttpStatus httpStatus() {
+        return httpStatus;
+    }
+}
@@ -0,0 +1,8 @@
+package com.system.grocery.dto;
+
+public record TransitionResult<S extends Enum<S>>(
+        TransitionOutcome outcome,
+        Integer id,
+        S from,
+        S status) {
+}
@@ -1,9 +1,12 @@
 package com.system.grocery.entity;
 
+import java.time.LocalDateTime;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name="cart")
+@Table(name="cart", indexes = {
+        @Index(name="idx_cart_updated_at", columnList="updated_at, id")
+})
 public class Cart {
 
     @Id
@@ -13,17 +16,44 @@ public class Cart {
     @Column(name="user_id")
     private Integer userId;
 
+    @Column(name="store_id")
+    private Integer storeId;
+
     @Column(name="created_at")
-    private String createdAt;
+    private LocalDateTime createdAt;
+
+    @Column(name="updated_at")
+    private LocalDateTime updatedAt;
 
     public Cart(){}
 
+    @PrePersist
+    void onCreate(){
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (updatedAt == null) {
+            updatedAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    void onUpdate(){
+        updatedAt = LocalDateTime.now();
+    }
+
     public Integer getId(){ return id; }
     public void setId(Integer id){ this.id=id; }
 
     public Integer getUserId(){ return userId; }
     public void setUserId(Integer userId){ this.userId=userId; }
 
-    public String getCreatedAt(){ return createdAt; }
-    public void setCreatedAt(String createdAt){ this.createdAt=createdAt; }
+    public Integer getStoreId(){ return storeId; }
+    public void setStoreId(Integer storeId){ this.storeId=storeId; }
+
+    public LocalDateTime getCreatedAt(){ return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt){ this.createdAt=createdAt; }
+
+    public LocalDateTime getUpdatedAt(){ return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt){ this.updatedAt=updatedAt; }
 }
@@ -3,7 +3,9 @@ package com.system.grocery.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name="cart_item")
+@Table(name="cart_item", indexes = {
+        @Index(name="idx_cart_item_cart", columnList="cart_id, product_id")
+})
 public class CartItem {
 
     @Id
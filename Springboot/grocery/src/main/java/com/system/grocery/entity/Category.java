@@ -3,7 +3,9 @@ package com.system.grocery.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name="category")
+@Table(name="category", indexes = {
+        @Index(name="idx_category_parent", columnList="parent_id")
+})
 public class Category {
 
     @Id
@@ -12,6 +14,9 @@ public class Category {
 
     private String name;
 
+    @Column(name="parent_id")
+    private Integer parentId;
+
     public Category(){}
 
     public Integer getId(){ return id; }
@@ -19,4 +24,7 @@ public class Category {
 
     public String getName(){ return name; }
     public void setName(String name){ this.name=name; }
+
+    public Integer getParentId(){ return parentId; }
+    public void setParentId(Integer parentId){ this.parentId=parentId; }
 }
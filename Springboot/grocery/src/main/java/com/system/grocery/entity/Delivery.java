@@ -1,9 +1,15 @@
 package com.system.grocery.entity;
 
+import java.time.LocalDateTime;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name="delivery")
+@Table(name="delivery", indexes = {
+        @Index(name="idx_delivery_agent_status", columnList="agent_id, status, id"),
+        @Index(name="idx_delivery_time", columnList="delivery_time"),
+        @Index(name="idx_delivery_trip", columnList="trip_id, stop_seq")
+})
 public class Delivery {
 
     @Id
@@ -16,10 +22,23 @@ public class Delivery {
     @Column(name="agent_id")
     private Integer agentId;
 
-    private String status;
+    @Enumerated(EnumType.STRING)
+    @Column(length=20)
+    private DeliveryStatus status;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable=false)
+    private long version;
 
     @Column(name="delivery_time")
-    private String deliveryTime;
+    private LocalDateTime deliveryTime;
+
+    @Column(name="trip_id")
+    private Integer tripId;
+
+    @Column(name="stop_seq")
+    private Integer stopSeq;
 
     public Delivery(){}
 
@@ -32,9 +51,18 @@ public class Delivery {
     public Integer getAgentId(){ return agentId; }
     public void setAgentId(Integer agentId){ this.agentId=agentId; }
 
-    public String getStatus(){ return status; }
-    public void setStatus(String status){ this.status=status; }
+    public DeliveryStatus getStatus(){ return status; }
+    public void setStatus(DeliveryStatus status){ this.status=status; }
+
+    public long getVersion(){ return version; }
+    public void setVersion(long version){ this.version=version; }
+
+    public LocalDateTime getDeliveryTime(){ return deliveryTime; }
+    public void setDeliveryTime(LocalDateTime deliveryTime){ this.deliveryTime=deliveryTime; }
+
+    public Integer getTripId(){ return tripId; }
+    public void setTripId(Integer tripId){ this.tripId=tripId; }
 
-    public String getDeliveryTime(){ return deliveryTime; }
-    public void setDeliveryTime(String deliveryTime){ this.deliveryTime=deliveryTime; }
+    public Integer getStopSeq(){ return stopSeq; }
+    public void setStopSeq(Integer stopSeq){ this.stopSeq=stopSeq; }
 }
@@ -16,6 +16,9 @@ public class DeliveryAgent {
     @Column(name="vehicle_no")
     private String vehicleNo;
 
+    @Column(name="store_id")
+    private Integer storeId;
+
     public DeliveryAgent(){}
 
     public Integer getId(){ return id; }
@@ -29,4 +32,7 @@ public class DeliveryAgent {
 
     public String getVehicleNo(){ return vehicleNo; }
     public void setVehicleNo(String vehicleNo){ this.vehicleNo=vehicleNo; }
+
+    public Integer getStoreId(){ return storeId; }
+    public void setStoreId(Integer storeId){ this.storeId=storeId; }
 }
@@ -0,0 +1,28 @@
+package com.system.grocery.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum DeliveryStatus implements StatusLifecycle<DeliveryStatus> {
+
+    PENDING,
+    ASSIGNED,
+    PICKED_UP,
+    DELIVERED,
+    FAILED,
+    CANCELLED;
+
+    @Override
+    public boolean canTransitionTo(DeliveryStatus next) {
+        return next(this).contains(next);
+    }
+
+    private static Set<DeliveryStatus> next(DeliveryStatus s) {
+        return switch (s) {
+            case PENDING -> EnumSet.of(ASSIGNED, CANCELLED);
+            case ASSIGNED -> EnumSet.of(PICKED_UP, PENDING, CANCELLED);
+            case PICKED_UP -> EnumSet.of(DELIVERED, FAILED);
+            case DELIVERED, FAILED, CANCELLED -> EnumSet.noneOf(DeliveryStatus.class);
+        };
+    }
+}
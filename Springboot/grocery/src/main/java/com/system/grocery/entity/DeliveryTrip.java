@@ -0,0 +1,57 @@
+package com.system.grocery.entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+
+@Entity
+@Table(name="delivery_trip", indexes = {
+        @Index(name="idx_delivery_trip_agent", columnList="agent_id, created_at")
+})
+public class DeliveryTrip {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name="store_id")
+    private Integer storeId;
+
+    @Column(name="agent_id")
+    private Integer agentId;
+
+    @Column(name="stop_count")
+    private Integer stopCount;
+
+    @Column(name="distance_km")
+    private Double distanceKm;
+
+    @Column(name="created_at")
+    private LocalDateTime createdAt;
+
+    public DeliveryTrip(){}
+
+    @PrePersist
+    void onCreate(){
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    public Integer getId(){ return id; }
+    public void setId(Integer id){ this.id=id; }
+
+    public Integer getStoreId(){ return storeId; }
+    public void setStoreId(Integer storeId){ this.storeId=storeId; }
+
+    public Integer getAgentId(){ return agentId; }
+    public void setAgentId(Integer agentId){ this.agentId=agentId; }
+
+    public Integer getStopCount(){ return stopCount; }
+    public void setStopCount(Integer stopCount){ this.stopCount=stopCount; }
+
+    public Double getDistanceKm(){ return distanceKm; }
+    public void setDistanceKm(Double distanceKm){ this.distanceKm=distanceKm; }
+
+    public LocalDateTime getCreatedAt(){ return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt){ this.createdAt=createdAt; }
+}
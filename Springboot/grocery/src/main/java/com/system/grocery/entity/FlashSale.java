@@ -0,0 +1,49 @@
+package com.system.grocery.entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+
+@Entity
+@Table(name="flash_sale", uniqueConstraints = {
+        @UniqueConstraint(name="uk_flash_sale_product", columnNames={"product_id"})
+})
+public class FlashSale {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name="product_id", nullable=false)
+    private Integer productId;
+
+    private Boolean active;
+
+    @Column(name="starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name="ends_at")
+    private LocalDateTime endsAt;
+
+    @Column(name="max_per_cart")
+    private Integer maxPerCart;
+
+    public FlashSale(){}
+
+    public Integer getId(){ return id; }
+    public void setId(Integer id){ this.id=id; }
+
+    public Integer getProductId(){ return productId; }
+    public void setProductId(Integer productId){ this.productId=productId; }
+
+    public Boolean getActive(){ return active; }
+    public void setActive(Boolean active){ this.active=active; }
+
+    public LocalDateTime getStartsAt(){ return startsAt; }
+    public void setStartsAt(LocalDateTime startsAt){ this.startsAt=startsAt; }
+
+    public LocalDateTime getEndsAt(){ return endsAt; }
+    public void setEndsAt(LocalDateTime endsAt){ this.endsAt=endsAt; }
+
+    public Integer getMaxPerCart(){ return maxPerCart; }
+    public void setMaxPerCart(Integer maxPerCart){ this.maxPerCart=maxPerCart; }
+}
@@ -1,9 +1,13 @@
 package com.system.grocery.entity;
 
+import java.time.LocalDateTime;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name="notification")
+@Table(name="notification", indexes = {
+        @Index(name="idx_notification_user_read_id", columnList="user_id, is_read, id"),
+        @Index(name="idx_notification_created_at", columnList="created_at")
+})
 public class Notification {
 
     @Id
@@ -23,10 +27,20 @@ public class Notification {
     private Boolean isRead;
 
     @Column(name="created_at")
-    private String createdAt;
+    private LocalDateTime createdAt;
 
     public Notification(){}
 
+    @PrePersist
+    void onCreate(){
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (isRead == null) {
+            isRead = false;
+        }
+    }
+
     public Integer getId(){ return id; }
     public void setId(Integer id){ this.id=id; }
 
@@ -45,6 +59,6 @@ public class Notification {
     public Boolean getIsRead(){ return isRead; }
     public void setIsRead(Boolean isRead){ this.isRead=isRead; }
 
-    public String getCreatedAt(){ return createdAt; }
-    public void setCreatedAt(String createdAt){ this.createdAt=createdAt; }
+    public LocalDateTime getCreatedAt(){ return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt){ this.createdAt=createdAt; }
 }
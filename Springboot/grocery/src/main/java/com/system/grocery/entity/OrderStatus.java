@@ -0,0 +1,29 @@
+package com.system.grocery.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum OrderStatus implements StatusLifecycle<OrderStatus> {
+
+    PLACED,
+    CONFIRMED,
+    PACKED,
+    OUT_FOR_DELIVERY,
+    DELIVERED,
+    CANCELLED;
+
+    @Override
+    public boolean canTransitionTo(OrderStatus next) {
+        return next(this).contains(next);
+    }
+
+    private static Set<OrderStatus> next(OrderStatus s) {
+        return switch (s) {
+            case PLACED -> EnumSet.of(CONFIRMED, CANCELLED);
+            case CONFIRMED -> EnumSet.of(PACKED, CANCELLED);
+            case PACKED -> EnumSet.of(OUT_FOR_DELIVERY, CANCELLED);
+            case OUT_FOR_DELIVERY -> EnumSet.of(DELIVERED);
+            case DELIVERED, CANCELLED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+}
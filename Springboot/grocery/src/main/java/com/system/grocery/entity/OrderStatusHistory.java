@@ -0,0 +1,53 @@
+package com.system.grocery.entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+
+@Entity
+@Table(name="order_status_history", indexes = {
+        @Index(name="idx_order_status_history_order", columnList="order_id, id")
+})
+public class OrderStatusHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name="order_id", nullable=false)
+    private Integer orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="from_status", length=20)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="to_status", length=20, nullable=false)
+    private OrderStatus toStatus;
+
+    @Column(name="changed_at", nullable=false)
+    private LocalDateTime changedAt;
+
+    public OrderStatusHistory(){}
+
+    public OrderStatusHistory(Integer orderId, OrderStatus fromStatus, OrderStatus toStatus, LocalDateTime changedAt){
+        this.orderId=orderId;
+        this.fromStatus=fromStatus;
+        this.toStatus=toStatus;
+        this.changedAt=changedAt;
+    }
+
+    public Integer getId(){ return id; }
+    public void setId(Integer id){ this.id=id; }
+
+    public Integer getOrderId(){ return orderId; }
+    public void setOrderId(Integer orderId){ this.orderId=orderId; }
+
+    public OrderStatus getFromStatus(){ return fromStatus; }
+    public void setFromStatus(OrderStatus fromStatus){ this.fromStatus=fromStatus; }
+
+    public OrderStatus getToStatus(){ return toStatus; }
+    public void setToStatus(OrderStatus toStatus){ this.toStatus=toStatus; }
+
+    public LocalDateTime getChangedAt(){ return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt){ this.changedAt=changedAt; }
+}
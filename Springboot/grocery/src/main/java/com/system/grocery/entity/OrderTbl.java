@@ -1,9 +1,17 @@
 package com.system.grocery.entity;
 
+import java.time.LocalDateTime;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name="order_tbl")
+@Table(name="order_tbl", uniqueConstraints = {
+        @UniqueConstraint(name="uk_order_cart", columnNames={"cart_id"})
+}, indexes = {
+        @Index(name="idx_order_store_time", columnList="store_id, order_time"),
+        @Index(name="idx_order_time_store", columnList="order_time, store_id, total_amount"),
+        @Index(name="idx_order_user_time", columnList="user_id, order_time, id, status, total_amount, store_id")
+})
 public class OrderTbl {
 
     @Id
@@ -19,19 +27,33 @@ public class OrderTbl {
     @Column(name="store_id")
     private Integer storeId;
 
-    private String status;
+    @Enumerated(EnumType.STRING)
+    @Column(length=20)
+    private OrderStatus status;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable=false)
+    private long version;
 
     @Column(name="total_amount")
     private Double totalAmount;
 
     @Column(name="order_time")
-    private String orderTime;
+    private LocalDateTime orderTime;
 
     @Column(name="delivery_address")
     private String deliveryAddress;
 
     public OrderTbl(){}
 
+    @PrePersist
+    void onCreate(){
+        if (orderTime == null) {
+            orderTime = LocalDateTime.now();
+        }
+    }
+
     public Integer getId(){ return id; }
     public void setId(Integer id){ this.id=id; }
 
@@ -44,14 +66,17 @@ public class OrderTbl {
     public Integer getStoreId(){ return storeId; }
     public void setStoreId(Integer storeId){ this.storeId=storeId; }
 
-    public String getStatus(){ return status; }
-    public void setStatus(String status){ this.status=status; }
+    public OrderStatus getStatus(){ return status; }
+    public void setStatus(OrderStatus status){ this.status=status; }
+
+    public long getVersion(){ return version; }
+    public void setVersion(long version){ this.version=version; }
 
     public Double getTotalAmount(){ return totalAmount; }
     public void setTotalAmount(Double totalAmount){ this.totalAmount=totalAmount; }
 
-    public String getOrderTime(){ return orderTime; }
-    public void setOrderTime(String orderTime){ this.orderTime=orderTime; }
+    public LocalDateTime getOrderTime(){ return orderTime; }
+    public void setOrderTime(LocalDateTime orderTime){ this.orderTime=orderTime; }
 
     public String getDeliveryAddress(){ return deliveryAddress; }
     public void setDeliveryAddress(String deliveryAddress){ this.deliveryAddress=deliveryAddress; }
@@ -1,9 +1,13 @@
 package com.system.grocery.entity;
 
+import java.time.LocalDateTime;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name="payment")
+@Table(name="payment", indexes = {
+        @Index(name="idx_payment_paid_time", columnList="paid_time")
+})
 public class Payment {
 
     @Id
@@ -15,10 +19,18 @@ public class Payment {
 
     private String method;
     private Double amount;
-    private String status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length=20)
+    private PaymentStatus status;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable=false)
+    private long version;
 
     @Column(name="paid_time")
-    private String paidTime;
+    private LocalDateTime paidTime;
 
     public Payment(){}
 
@@ -34,9 +46,12 @@ public class Payment {
     public Double getAmount(){ return amount; }
     public void setAmount(Double amount){ this.amount=amount; }
 
-    public String getStatus(){ return status; }
-    public void setStatus(String status){ this.status=status; }
+    public PaymentStatus getStatus(){ return status; }
+    public void setStatus(PaymentStatus status){ this.status=status; }
+
+    public long getVersion(){ return version; }
+    public void setVersion(long version){ this.version=version; }
 
-    public String getPaidTime(){ return paidTime; }
-    public void setPaidTime(String paidTime){ this.paidTime=paidTime; }
+    public LocalDateTime getPaidTime(){ return paidTime; }
+    public void setPaidTime(LocalDateTime paidTime){ this.paidTime=paidTime; }
 }
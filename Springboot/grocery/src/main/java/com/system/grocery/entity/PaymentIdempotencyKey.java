@@ -0,0 +1,52 @@
+package com.system.grocery.entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+
+@Entity
+@Table(name="payment_idempotency_key", uniqueConstraints = {
+        @UniqueConstraint(name="uk_payment_idempotency_key", columnNames={"order_id", "idem_key"})
+}, indexes = {
+        @Index(name="idx_payment_idempotency_created", columnList="created_at")
+})
+public class PaymentIdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name="order_id", nullable=false)
+    private Integer orderId;
+
+    @Column(name="idem_key", length=64, nullable=false)
+    private String idemKey;
+
+    @Column(name="request_hash", length=64, nullable=false)
+    private String requestHash;
+
+    @Column(name="payment_id")
+    private Integer paymentId;
+
+    @Column(name="created_at", nullable=false)
+    private LocalDateTime createdAt;
+
+    public PaymentIdempotencyKey(){}
+
+    public Integer getId(){ return id; }
+    public void setId(Integer id){ this.id=id; }
+
+    public Integer getOrderId(){ return orderId; }
+    public void setOrderId(Integer orderId){ this.orderId=orderId; }
+
+    public String getIdemKey(){ return idemKey; }
+    public void setIdemKey(String idemKey){ this.idemKey=idemKey; }
+
+    public String getRequestHash(){ return requestHash; }
+    public void setRequestHash(String requestHash){ this.requestHash=requestHash; }
+
+    public Integer getPaymentId(){ return paymentId; }
+    public void setPaymentId(Integer paymentId){ this.paymentId=paymentId; }
+
+    public LocalDateTime getCreatedAt(){ return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt){ this.createdAt=createdAt; }
+}
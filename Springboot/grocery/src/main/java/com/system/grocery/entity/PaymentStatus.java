@@ -0,0 +1,26 @@
+package com.system.grocery.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum PaymentStatus implements StatusLifecycle<PaymentStatus> {
+
+    PENDING,
+    PAID,
+    FAILED,
+    REFUNDED;
+
+    @Override
+    public boolean canTransitionTo(PaymentStatus next) {
+        return next(this).contains(next);
+    }
+
+    private static Set<PaymentStatus> next(PaymentStatus s) {
+        return switch (s) {
+            case PENDING -> EnumSet.of(PAID, FAILED);
+            case FAILED -> EnumSet.of(PENDING);
+            case PAID -> EnumSet.of(REFUNDED);
+            case REFUNDED -> EnumSet.noneOf(PaymentStatus.class);
+        };
+    }
+}
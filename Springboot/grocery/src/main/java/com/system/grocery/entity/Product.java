@@ -1,9 +1,14 @@
 package com.system.grocery.entity;
 
+import java.time.LocalDateTime;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name="product")
+@Table(name="product", indexes = {
+        @Index(name="idx_product_category_available_id", columnList="category_id, available, id"),
+        @Index(name="idx_product_available_id", columnList="available, id"),
+        @Index(name="idx_product_created_at", columnList="created_at")
+})
 public class Product {
 
     @Id
@@ -18,10 +23,17 @@ public class Product {
     private Integer categoryId;
 
     @Column(name="created_at")
-    private String createdAt;
+    private LocalDateTime createdAt;
 
     public Product(){}
 
+    @PrePersist
+    void onCreate(){
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
     public Integer getId(){ return id; }
     public void setId(Integer id){ this.id=id; }
 
@@ -37,6 +49,6 @@ public class Product {
     public Integer getCategoryId(){ return categoryId; }
     public void setCategoryId(Integer categoryId){ this.categoryId=categoryId; }
 
-    public String getCreatedAt(){ return createdAt; }
-    public void setCreatedAt(String createdAt){ this.createdAt=createdAt; }
+    public LocalDateTime getCreatedAt(){ return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt){ this.createdAt=createdAt; }
 }
@@ -0,0 +1,6 @@
+package com.system.grocery.entity;
+
+public interface StatusLifecycle<S extends Enum<S>> {
+
+    boolean canTransitionTo(S next);
+}
@@ -0,0 +1,44 @@
+package com.system.grocery.entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+
+@Entity
+@Table(name="store_sales_hourly", uniqueConstraints = {
+        @UniqueConstraint(name="uk_store_sales_hourly", columnNames={"store_id", "bucket_start"})
+})
+public class StoreSalesHourly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name="store_id", nullable=false)
+    private Integer storeId;
+
+    @Column(name="bucket_start", nullable=false)
+    private LocalDateTime bucketStart;
+
+    @Column(name="order_count", nullable=false)
+    private Long orderCount;
+
+    @Column(nullable=false)
+    private Double revenue;
+
+    public StoreSalesHourly(){}
+
+    public Integer getId(){ return id; }
+    public void setId(Integer id){ this.id=id; }
+
+    public Integer getStoreId(){ return storeId; }
+    public void setStoreId(Integer storeId){ this.storeId=storeId; }
+
+    public LocalDateTime getBucketStart(){ return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart){ this.bucketStart=bucketStart; }
+
+    public Long getOrderCount(){ return orderCount; }
+    public void setOrderCount(Long orderCount){ this.orderCount=orderCount; }
+
+    public Double getRevenue(){ return revenue; }
+    public void setRevenue(Double revenue){ this.revenue=revenue; }
+}
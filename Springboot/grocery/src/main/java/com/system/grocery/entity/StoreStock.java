@@ -0,0 +1,37 @@
+package com.system.grocery.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name="store_stock", uniqueConstraints = {
+        @UniqueConstraint(name="uk_store_stock", columnNames={"store_id", "product_id"})
+})
+public class StoreStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name="store_id", nullable=false)
+    private Integer storeId;
+
+    @Column(name="product_id", nullable=false)
+    private Integer productId;
+
+    @Column(nullable=false)
+    private Integer quantity;
+
+    public StoreStock(){}
+
+    public Integer getId(){ return id; }
+    public void setId(Integer id){ this.id=id; }
+
+    public Integer getStoreId(){ return storeId; }
+    public void setStoreId(Integer storeId){ this.storeId=storeId; }
+
+    public Integer getProductId(){ return productId; }
+    public void setProductId(Integer productId){ this.productId=productId; }
+
+    public Integer getQuantity(){ return quantity; }
+    public void setQuantity(Integer quantity){ this.quantity=quantity; }
+}
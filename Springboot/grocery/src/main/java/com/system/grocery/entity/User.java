@@ -1,9 +1,12 @@
 package com.system.grocery.entity;
 
+import java.time.LocalDateTime;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name="user")
+@Table(name="user", indexes = {
+        @Index(name="idx_user_created_at", columnList="created_at")
+})
 public class User {
 
     @Id
@@ -15,10 +18,17 @@ public class User {
     private String contact;
 
     @Column(name="created_at")
-    private String createdAt;
+    private LocalDateTime createdAt;
 
     public User(){}
 
+    @PrePersist
+    void onCreate(){
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
     public Integer getId(){ return id; }
     public void setId(Integer id){ this.id = id; }
 
@@ -31,6 +41,6 @@ public class User {
     public String getContact(){ return contact; }
     public void setContact(String contact){ this.contact = contact; }
 
-    public String getCreatedAt(){ return createdAt; }
-    public void setCreatedAt(String createdAt){ this.createdAt = createdAt; }
+    public LocalDateTime getCreatedAt(){ return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt){ this.createdAt = createdAt; }
 }
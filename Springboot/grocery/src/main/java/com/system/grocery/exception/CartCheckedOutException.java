@@ -0,0 +1,12 @@
+package com.system.grocery.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CartCheckedOutException extends RuntimeException {
+
+    public CartCheckedOutException(String message) {
+        super(message);
+    }
+}
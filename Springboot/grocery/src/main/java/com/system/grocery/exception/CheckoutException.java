@@ -0,0 +1,12 @@
+package com.system.grocery.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CheckoutException extends RuntimeException {
+
+    public CheckoutException(String message) {
+        super(message);
+    }
+}
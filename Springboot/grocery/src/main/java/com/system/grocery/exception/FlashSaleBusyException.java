@@ -0,0 +1,12 @@
+package com.system.grocery.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class FlashSaleBusyException extends RuntimeException {
+
+    public FlashSaleBusyException(Integer productId) {
+        super("Flash sale for product " + productId + " is at capacity, retry shortly");
+    }
+}
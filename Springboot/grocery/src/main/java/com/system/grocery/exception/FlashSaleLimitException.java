@@ -0,0 +1,16 @@
+package com.system.grocery.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class FlashSaleLimitException extends RuntimeException {
+
+    public FlashSaleLimitException(Integer productId, int maxPerCart) {
+        super("Flash sale allows at most " + maxPerCart + " of product " + productId + " per cart");
+    }
+
+    public FlashSaleLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.system.grocery.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.ACCEPTED)
+public class FlashSalePendingException extends RuntimeException {
+
+    public FlashSalePendingException(Integer productId) {
+        super("Flash sale line for product " + productId + " was admitted and is still being saved, check the cart before retrying");
+    }
+}
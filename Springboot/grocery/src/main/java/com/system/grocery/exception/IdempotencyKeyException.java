@@ -0,0 +1,12 @@
+package com.system.grocery.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyException extends RuntimeException {
+
+    public IdempotencyKeyException(String message) {
+        super(message);
+    }
+}
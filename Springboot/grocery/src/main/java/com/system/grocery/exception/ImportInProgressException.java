@@ -0,0 +1,12 @@
+package com.system.grocery.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ImportInProgressException extends RuntimeException {
+
+    public ImportInProgressException(String message) {
+        super(message);
+    }
+}
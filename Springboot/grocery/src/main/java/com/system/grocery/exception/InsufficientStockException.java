@@ -0,0 +1,12 @@
+package com.system.grocery.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException(Integer storeId, Integer productId) {
+        super("Insufficient stock for product " + productId + " in store " + storeId);
+    }
+}
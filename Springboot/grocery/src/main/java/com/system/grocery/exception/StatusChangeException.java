@@ -0,0 +1,12 @@
+package com.system.grocery.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class StatusChangeException extends RuntimeException {
+
+    public StatusChangeException(String message) {
+        super(message);
+    }
+}
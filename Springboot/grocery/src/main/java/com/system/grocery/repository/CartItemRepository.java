@@ -1,7 +1,38 @@
 package com.system.grocery.repository;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.grocery.dto.CartLineSum;
+import com.system.grocery.dto.CartProductQuantity;
+import com.system.grocery.dto.OrderLine;
 import com.system.grocery.entity.CartItem;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Integer> {
+
+    List<CartItem> findByCartId(Integer cartId);
+
+    List<CartItem> findByCartIdIn(Collection<Integer> cartIds);
+
+    @Query("select new com.system.grocery.dto.OrderLine(ci.cartId, ci.productId, p.name, ci.quantity, ci.priceAtTime) " +
+           "from CartItem ci left join Product p on p.id = ci.productId " +
+           "where ci.cartId in :cartIds order by ci.cartId, ci.id")
+    List<OrderLine> findLinesByCartIds(@Param("cartIds") Collection<Integer> cartIds);
+
+    @Query("select new com.system.grocery.dto.CartProductQuantity(ci.cartId, ci.productId, sum(ci.quantity)) " +
+           "from CartItem ci where ci.cartId in :cartIds and ci.productId in :productIds " +
+           "group by ci.cartId, ci.productId")
+    List<CartProductQuantity> sumQuantities(@Param("cartIds") Collection<Integer> cartIds,
+                                            @Param("productIds") Collection<Integer> productIds);
+
+    @Modifying
+    @Query("delete from CartItem ci where ci.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select new com.system.grocery.dto.CartLineSum(ci.productId, sum(ci.quantity)) " +
+           "from CartItem ci where ci.cartId = :cartId group by ci.productId")
+    List<CartLineSum> sumQuantitiesByCartId(@Param("cartId") Integer cartId);
 }
@@ -1,7 +1,55 @@
 package com.system.grocery.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import com.system.grocery.dto.CartStore;
+import com.system.grocery.dto.StaleCart;
 import com.system.grocery.entity.Cart;
+import jakarta.persistence.LockModeType;
 
 public interface CartRepository extends JpaRepository<Cart, Integer> {
+
+    @Query("select c.storeId from Cart c where c.id = :id")
+    Optional<Integer> findStoreIdById(@Param("id") Integer id);
+
+    @Query("select new com.system.grocery.dto.CartStore(c.id, c.storeId) from Cart c where c.id in :ids")
+    List<CartStore> findStores(@Param("ids") Collection<Integer> ids);
+
+    @Transactional
+    @Modifying
+    @Query("update Cart c set c.updatedAt = :now where c.id = :id")
+    int touch(@Param("id") Integer id, @Param("now") LocalDateTime now);
+
+    @Query("select new com.system.grocery.dto.StaleCart(c.id, c.storeId, c.updatedAt) from Cart c " +
+           "where c.updatedAt < :cutoff " +
+           "and (c.updatedAt > :lastTouched or (c.updatedAt = :lastTouched and c.id > :lastId)) " +
+           "and not exists (select 1 from OrderTbl o where o.cartId = c.id) " +
+           "order by c.updatedAt, c.id")
+    List<StaleCart> findStale(@Param("cutoff") LocalDateTime cutoff,
+                              @Param("lastTouched") LocalDateTime lastTouched,
+                              @Param("lastId") Integer lastId,
+                              Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Cart c where c.id = :id")
+    Optional<Cart> lockById(@Param("id") Integer id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Cart c where c.id in :ids and c.updatedAt < :cutoff " +
+           "and not exists (select 1 from OrderTbl o where o.cartId = c.id)")
+    List<Cart> lockStale(@Param("ids") Collection<Integer> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("delete from Cart c where c.id in :ids " +
+           "and not exists (select 1 from CartItem ci where ci.cartId = c.id)")
+    int deleteEmptyByIds(@Param("ids") Collection<Integer> ids);
 }
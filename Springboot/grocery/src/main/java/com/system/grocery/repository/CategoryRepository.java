@@ -1,7 +1,14 @@
 package com.system.grocery.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.system.grocery.entity.Category;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+    @Modifying
+    @Query("update Category c set c.parentId = :newParentId where c.parentId = :parentId")
+    int reparentChildren(@Param("parentId") Integer parentId, @Param("newParentId") Integer newParentId);
 }
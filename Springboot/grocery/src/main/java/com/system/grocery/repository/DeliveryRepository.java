@@ -1,7 +1,78 @@
 package com.system.grocery.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.grocery.dto.AgentOpenCount;
+import com.system.grocery.dto.DeliveryAssignment;
+import com.system.grocery.dto.DeliveryInfo;
+import com.system.grocery.dto.OpenDelivery;
 import com.system.grocery.entity.Delivery;
+import com.system.grocery.entity.DeliveryStatus;
 
 public interface DeliveryRepository extends JpaRepository<Delivery, Integer> {
+
+    Slice<Delivery> findByDeliveryTimeGreaterThanEqualAndDeliveryTimeLessThan(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Query("select new com.system.grocery.dto.OpenDelivery(d.id, o.storeId, o.deliveryAddress, o.orderTime) " +
+           "from Delivery d, OrderTbl o " +
+           "where o.id = d.orderId and d.agentId is null " +
+           "and d.status = com.system.grocery.entity.DeliveryStatus.PENDING and d.id > :after " +
+           "order by d.id")
+    List<OpenDelivery> findUnassigned(@Param("after") Integer after, Limit limit);
+
+    List<Delivery> findByTripIdOrderByStopSeq(Integer tripId);
+
+    @Query("select new com.system.grocery.dto.DeliveryInfo(d.id, d.orderId, d.status, d.deliveryTime, " +
+           "d.tripId, d.stopSeq, d.agentId, a.name, a.phone) " +
+           "from Delivery d left join DeliveryAgent a on a.id = d.agentId " +
+           "where d.orderId in :orderIds order by d.id")
+    List<DeliveryInfo> findInfoByOrderIds(@Param("orderIds") Collection<Integer> orderIds);
+
+    @Query("select new com.system.grocery.dto.AgentOpenCount(d.agentId, count(d)) " +
+           "from Delivery d " +
+           "where d.agentId is not null and d.status in (" +
+           "com.system.grocery.entity.DeliveryStatus.ASSIGNED, com.system.grocery.entity.DeliveryStatus.PICKED_UP) " +
+           "group by d.agentId")
+    List<AgentOpenCount> countOpenByAgent();
+
+    @Query("select d.status from Delivery d where d.id = :id")
+    Optional<DeliveryStatus> findStatusById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("update Delivery d set d.status = :to, d.version = d.version + 1 " +
+           "where d.id = :id and d.status = :from")
+    int updateStatus(@Param("id") Integer id,
+                     @Param("from") DeliveryStatus from,
+                     @Param("to") DeliveryStatus to);
+
+    @Query("select new com.system.grocery.dto.DeliveryAssignment(d.agentId, d.tripId) from Delivery d where d.id = :id")
+    Optional<DeliveryAssignment> findAssignmentById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("update Delivery d set d.status = :to, d.agentId = null, d.tripId = null, d.stopSeq = null, " +
+           "d.version = d.version + 1 where d.id = :id and d.status = :from")
+    int updateStatusAndUnassign(@Param("id") Integer id,
+                                @Param("from") DeliveryStatus from,
+                                @Param("to") DeliveryStatus to);
+
+    @Modifying
+    @Query("update Delivery d set d.status = :to, d.deliveryTime = :deliveryTime, d.version = d.version + 1 " +
+           "where d.id = :id and d.status = :from")
+    int updateStatusAndDeliveryTime(@Param("id") Integer id,
+                                    @Param("from") DeliveryStatus from,
+                                    @Param("to") DeliveryStatus to,
+                                    @Param("deliveryTime") LocalDateTime deliveryTime);
+
+    @Query("select d.id from Delivery d where d.orderId = :orderId and d.status in :statuses")
+    List<Integer> findIdsByOrderIdAndStatusIn(@Param("orderId") Integer orderId,
+                                              @Param("statuses") Collection<DeliveryStatus> statuses);
 }
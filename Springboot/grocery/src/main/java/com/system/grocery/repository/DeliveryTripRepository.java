@@ -0,0 +1,21 @@
+package com.system.grocery.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import com.system.grocery.entity.DeliveryTrip;
+
+public interface DeliveryTripRepository extends JpaRepository<DeliveryTrip, Integer> {
+
+    @Transactional
+    @Modifying
+    @Query("update DeliveryTrip t set t.stopCount = t.stopCount - :lost where t.id = :id")
+    int dropStops(@Param("id") Integer id, @Param("lost") int lost);
+
+    @Transactional
+    @Modifying
+    @Query("delete from DeliveryTrip t where t.id = :id and t.stopCount <= 0")
+    int deleteIfEmpty(@Param("id") Integer id);
+}
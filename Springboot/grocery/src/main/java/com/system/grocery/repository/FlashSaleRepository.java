@@ -0,0 +1,7 @@
+package com.system.grocery.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.system.grocery.entity.FlashSale;
+
+public interface FlashSaleRepository extends JpaRepository<FlashSale, Integer> {
+}
@@ -1,7 +1,37 @@
 package com.system.grocery.repository;
 
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.grocery.dto.UserUnreadCount;
 import com.system.grocery.entity.Notification;
 
 public interface NotificationRepository extends JpaRepository<Notification, Integer> {
+
+    Slice<Notification> findByUserIdOrderByIdDesc(Integer userId, Pageable pageable);
+
+    // Unread means "not marked read": rows written before is_read had a
+    // default hold NULL and count as unread everywhere, as in NotificationService.
+    @Query("select n from Notification n " +
+           "where n.userId = :userId and (n.isRead = false or n.isRead is null) order by n.id desc")
+    Slice<Notification> findUnreadByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query("select new com.system.grocery.dto.UserUnreadCount(n.userId, count(n)) " +
+           "from Notification n where n.isRead = false or n.isRead is null group by n.userId")
+    List<UserUnreadCount> countUnreadByUser();
+
+    @Modifying
+    @Query("update Notification n set n.isRead = true " +
+           "where n.userId = :userId and (n.isRead = false or n.isRead is null)")
+    int markAllRead(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("update Notification n set n.isRead = true " +
+           "where n.userId = :userId and (n.isRead = false or n.isRead is null) and n.id in :ids")
+    int markRead(@Param("userId") Integer userId, @Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,10 @@
+package com.system.grocery.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.system.grocery.entity.OrderStatusHistory;
+
+public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, Integer> {
+
+    List<OrderStatusHistory> findByOrderIdOrderByIdAsc(Integer orderId);
+}
@@ -1,7 +1,64 @@
 package com.system.grocery.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.grocery.dto.OrderSummary;
+import com.system.grocery.dto.StoreOrderCount;
+import com.system.grocery.entity.OrderStatus;
 import com.system.grocery.entity.OrderTbl;
 
 public interface OrderTblRepository extends JpaRepository<OrderTbl, Integer> {
+
+    Slice<OrderTbl> findByStoreIdAndOrderTimeGreaterThanEqualAndOrderTimeLessThan(Integer storeId, LocalDateTime from,
+                                                                                  LocalDateTime to, Pageable pageable);
+
+    Slice<OrderTbl> findByOrderTimeGreaterThanEqualAndOrderTimeLessThan(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Slice<OrderTbl> findByUserIdOrderByOrderTimeDescIdDesc(Integer userId, Pageable pageable);
+
+    boolean existsByCartId(Integer cartId);
+
+    @Query("select new com.system.grocery.dto.OrderSummary(o.id, o.storeId, o.status, o.totalAmount, o.orderTime) " +
+           "from OrderTbl o " +
+           "where o.userId = :userId and o.orderTime is not null " +
+           "and (:status is null or o.status = :status) " +
+           "order by o.orderTime desc, o.id desc")
+    List<OrderSummary> findHistory(@Param("userId") Integer userId,
+                                   @Param("status") OrderStatus status,
+                                   Limit limit);
+
+    @Query("select new com.system.grocery.dto.OrderSummary(o.id, o.storeId, o.status, o.totalAmount, o.orderTime) " +
+           "from OrderTbl o " +
+           "where o.userId = :userId and o.orderTime <= :beforeTime " +
+           "and (o.orderTime < :beforeTime or o.id < :beforeId) " +
+           "and (:status is null or o.status = :status) " +
+           "order by o.orderTime desc, o.id desc")
+    List<OrderSummary> findHistoryBefore(@Param("userId") Integer userId,
+                                         @Param("beforeTime") LocalDateTime beforeTime,
+                                         @Param("beforeId") Integer beforeId,
+                                         @Param("status") OrderStatus status,
+                                         Limit limit);
+
+    @Query("select new com.system.grocery.dto.StoreOrderCount(o.storeId, count(o), coalesce(sum(o.totalAmount), 0)) " +
+           "from OrderTbl o where o.orderTime >= :from and o.orderTime < :to " +
+           "group by o.storeId")
+    List<StoreOrderCount> countByStoreBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select o.status from OrderTbl o where o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("update OrderTbl o set o.status = :to, o.version = o.version + 1 " +
+           "where o.id = :id and o.status = :from")
+    int updateStatus(@Param("id") Integer id,
+                     @Param("from") OrderStatus from,
+                     @Param("to") OrderStatus to);
 }
@@ -0,0 +1,46 @@
+package com.system.grocery.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import com.system.grocery.dto.IdempotencyRecord;
+import com.system.grocery.entity.PaymentIdempotencyKey;
+
+public interface PaymentIdempotencyKeyRepository extends JpaRepository<PaymentIdempotencyKey, Integer> {
+
+    @Query("select new com.system.grocery.dto.IdempotencyRecord(k.requestHash, k.paymentId, k.createdAt) " +
+           "from PaymentIdempotencyKey k where k.orderId = :orderId and k.idemKey = :idemKey")
+    Optional<IdempotencyRecord> findRecord(@Param("orderId") Integer orderId, @Param("idemKey") String idemKey);
+
+    /**
+     * Inserts the key, or takes over a row whose key expired but has not been
+     * purged yet. A live row is left as it is. Either way the row stays locked
+     * until the caller's transaction ends, so concurrent first attempts queue
+     * here instead of failing on the unique constraint.
+     */
+    @Modifying
+    @Query(value = "insert into payment_idempotency_key (order_id, idem_key, request_hash, payment_id, created_at) " +
+                   "values (:orderId, :idemKey, :hash, null, :now) " +
+                   "on duplicate key update " +
+                   "request_hash = if(created_at < :cutoff, values(request_hash), request_hash), " +
+                   "payment_id = if(created_at < :cutoff, null, payment_id), " +
+                   "created_at = if(created_at < :cutoff, values(created_at), created_at)",
+           nativeQuery = true)
+    int claim(@Param("orderId") Integer orderId, @Param("idemKey") String idemKey, @Param("hash") String hash,
+              @Param("now") LocalDateTime now, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "update payment_idempotency_key set payment_id = :paymentId " +
+                   "where order_id = :orderId and idem_key = :idemKey", nativeQuery = true)
+    int attachPayment(@Param("orderId") Integer orderId, @Param("idemKey") String idemKey,
+                      @Param("paymentId") Integer paymentId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from payment_idempotency_key where created_at < :cutoff limit :batch", nativeQuery = true)
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff, @Param("batch") int batch);
+}
@@ -1,7 +1,42 @@
 package com.system.grocery.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.grocery.dto.PaymentInfo;
 import com.system.grocery.entity.Payment;
+import com.system.grocery.entity.PaymentStatus;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
+
+    Slice<Payment> findByPaidTimeGreaterThanEqualAndPaidTimeLessThan(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Query("select new com.system.grocery.dto.PaymentInfo(p.id, p.orderId, p.method, p.amount, p.status, p.paidTime) " +
+           "from Payment p where p.orderId in :orderIds order by p.id")
+    List<PaymentInfo> findInfoByOrderIds(@Param("orderIds") Collection<Integer> orderIds);
+
+    @Query("select p.status from Payment p where p.id = :id")
+    Optional<PaymentStatus> findStatusById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("update Payment p set p.status = :to, p.version = p.version + 1 " +
+           "where p.id = :id and p.status = :from")
+    int updateStatus(@Param("id") Integer id,
+                     @Param("from") PaymentStatus from,
+                     @Param("to") PaymentStatus to);
+
+    @Modifying
+    @Query("update Payment p set p.status = :to, p.paidTime = :paidTime, p.version = p.version + 1 " +
+           "where p.id = :id and p.status = :from")
+    int updateStatusAndPaidTime(@Param("id") Integer id,
+                                @Param("from") PaymentStatus from,
+                                @Param("to") PaymentStatus to,
+                                @Param("paidTime") LocalDateTime paidTime);
 }
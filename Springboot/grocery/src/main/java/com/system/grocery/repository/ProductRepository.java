@@ -1,7 +1,37 @@
 package com.system.grocery.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.grocery.dto.ProductSummary;
 import com.system.grocery.entity.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
+
+    Slice<Product> findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Query("select new com.system.grocery.dto.ProductSummary(p.id, p.name, p.price, p.available, p.categoryId) " +
+           "from Product p " +
+           "where p.id > :after " +
+           "and (:categoryId is null or p.categoryId = :categoryId) " +
+           "and (:available is null or p.available = :available) " +
+           "and (:minPrice is null or p.price >= :minPrice) " +
+           "and (:maxPrice is null or p.price <= :maxPrice) " +
+           "order by p.id")
+    List<ProductSummary> findCatalogPage(@Param("after") Integer after,
+                                         @Param("categoryId") Integer categoryId,
+                                         @Param("available") Boolean available,
+                                         @Param("minPrice") Double minPrice,
+                                         @Param("maxPrice") Double maxPrice,
+                                         Limit limit);
+
+    @Modifying
+    @Query("update Product p set p.categoryId = :newCategoryId where p.categoryId = :categoryId")
+    int moveCategory(@Param("categoryId") Integer categoryId, @Param("newCategoryId") Integer newCategoryId);
 }
@@ -1,7 +1,16 @@
 package com.system.grocery.repository;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.grocery.dto.StoreInfo;
 import com.system.grocery.entity.Store;
 
 public interface StoreRepository extends JpaRepository<Store, Integer> {
+
+    @Query("select new com.system.grocery.dto.StoreInfo(s.id, s.name, s.location, s.contact) " +
+           "from Store s where s.id in :ids")
+    List<StoreInfo> findInfoByIds(@Param("ids") Collection<Integer> ids);
 }
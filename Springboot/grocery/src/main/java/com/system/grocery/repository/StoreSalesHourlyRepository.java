@@ -0,0 +1,12 @@
+package com.system.grocery.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.system.grocery.entity.StoreSalesHourly;
+
+public interface StoreSalesHourlyRepository extends JpaRepository<StoreSalesHourly, Integer> {
+
+    List<StoreSalesHourly> findByStoreIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            Integer storeId, LocalDateTime from, LocalDateTime to);
+}
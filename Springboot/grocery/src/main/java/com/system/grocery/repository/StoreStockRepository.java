@@ -0,0 +1,13 @@
+package com.system.grocery.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.grocery.entity.StoreStock;
+
+public interface StoreStockRepository extends JpaRepository<StoreStock, Integer> {
+
+    @Query("select s.quantity from StoreStock s where s.storeId = :storeId and s.productId = :productId")
+    Optional<Integer> findQuantity(@Param("storeId") Integer storeId, @Param("productId") Integer productId);
+}
@@ -1,7 +1,12 @@
 package com.system.grocery.repository;
 
+import java.time.LocalDateTime;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.system.grocery.entity.User;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
+
+    Slice<User> findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime from, LocalDateTime to, Pageable pageable);
 }
@@ -0,0 +1,13 @@
+package com.system.grocery.service;
+
+import java.util.Optional;
+import com.system.grocery.dto.GeoPoint;
+
+/**
+ * Turns a free-form address into coordinates for route batching. Replace
+ * the default {@link LocalAddressResolver} with a {@code @Primary} bean.
+ */
+public interface AddressResolver {
+
+    Optional<GeoPoint> resolve(String address);
+}
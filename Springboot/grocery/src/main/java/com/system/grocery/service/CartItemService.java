@@ -1,10 +1,15 @@
 package com.system.grocery.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import com.system.grocery.entity.CartItem;
+import com.system.grocery.exception.FlashSaleLimitException;
+import com.system.grocery.exception.InsufficientStockException;
 import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.CartRepository;
 
 @Service
 public class CartItemService {
@@ -12,8 +17,67 @@ public class CartItemService {
     @Autowired
     private CartItemRepository repo;
 
+    @Autowired
+    private CartRepository cartRepo;
+
+    @Autowired
+    private InventoryService inventory;
+
+    @Autowired
+    private FlashSaleService flashSale;
+
     public CartItem save(CartItem ci) {
-        return repo.save(ci);
+        boolean flash = flashSale.isRunning(ci.getProductId());
+        if (ci.getId() == null && flash) {
+            return flashSale.addToCart(ci);
+        }
+        // Copied out before the save: with open-in-view the stored line is the
+        // managed entity, and save() merges the request into it.
+        CartItem before = ci.getId() == null ? null : repo.findById(ci.getId()).orElse(null);
+        Integer oldCartId = before == null ? null : before.getCartId();
+        Integer oldProductId = before == null ? null : before.getProductId();
+        int oldQuantity = before == null ? 0 : quantity(before);
+        boolean sameLine = before != null
+                && Objects.equals(oldCartId, ci.getCartId())
+                && Objects.equals(oldProductId, ci.getProductId());
+        Integer storeId = ci.getCartId() == null ? null : cartRepo.findStoreIdById(ci.getCartId()).orElse(null);
+
+        int wanted = quantity(ci);
+        int held = sameLine ? oldQuantity : 0;
+        int extra = wanted - held;
+
+        // More of a flash-sale product must come through the admission queue,
+        // which enforces the per-cart limit; edits may only lower it.
+        if (flash && extra > 0) {
+            throw new FlashSaleLimitException("Product " + ci.getProductId()
+                    + " is on flash sale; add more as a new cart line instead of editing one");
+        }
+
+        if (extra > 0 && !inventory.reserve(storeId, ci.getProductId(), extra)) {
+            throw new InsufficientStockException(storeId, ci.getProductId());
+        }
+
+        CartItem saved;
+        try {
+            saved = repo.save(ci);
+        } catch (RuntimeException e) {
+            if (extra > 0) {
+                inventory.release(storeId, ci.getProductId(), extra);
+            }
+            throw e;
+        }
+
+        if (extra < 0) {
+            inventory.release(storeId, ci.getProductId(), -extra);
+        }
+        if (saved.getCartId() != null) {
+            cartRepo.touch(saved.getCartId(), LocalDateTime.now());
+        }
+        if (before != null && !sameLine) {
+            Integer oldStore = oldCartId == null ? null : cartRepo.findStoreIdById(oldCartId).orElse(null);
+            inventory.release(oldStore, oldProductId, oldQuantity);
+        }
+        return saved;
     }
 
     public List<CartItem> getAll() {
@@ -25,10 +89,17 @@ public class CartItemService {
     }
 
     public String delete(Integer id) {
-        if (repo.existsById(id)) {
+        CartItem existing = repo.findById(id).orElse(null);
+        if (existing != null) {
             repo.deleteById(id);
+            Integer storeId = cartRepo.findStoreIdById(existing.getCartId()).orElse(null);
+            inventory.release(storeId, existing.getProductId(), quantity(existing));
             return "CartItem deleted";
         }
         return "CartItem not found";
     }
+
+    private static int quantity(CartItem ci) {
+        return ci.getQuantity() == null ? 0 : Math.max(ci.getQuantity(), 0);
+    }
 }
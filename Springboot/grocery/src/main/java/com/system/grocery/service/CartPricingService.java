@@ -0,0 +1,75 @@
+package com.system.grocery.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import com.system.grocery.dto.CartLineSum;
+import com.system.grocery.dto.CartQuote;
+import com.system.grocery.dto.CartQuoteLine;
+import com.system.grocery.entity.Product;
+import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.CartRepository;
+
+/**
+ * Prices a cart server-side: one grouped query over cart_item and one
+ * batched product lookup (cache misses only), regardless of how many items
+ * the cart holds.
+ */
+@Service
+public class CartPricingService {
+
+    @Autowired
+    private CartRepository cartRepo;
+
+    @Autowired
+    private CartItemRepository itemRepo;
+
+    @Autowired
+    private ProductService productService;
+
+    public CartQuote quote(Integer cartId) {
+        if (!cartRepo.existsById(cartId)) {
+            return null;
+        }
+
+        List<CartLineSum> sums = itemRepo.sumQuantitiesByCartId(cartId);
+        Map<Integer, Product> products = productService.getByIds(
+                sums.stream().map(CartLineSum::productId).toList());
+
+        List<CartQuoteLine> lines = new ArrayList<>(sums.size());
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int itemCount = 0;
+
+        for (CartLineSum sum : sums) {
+            Product p = products.get(sum.productId());
+            int quantity = sum.quantity() == null ? 0 : sum.quantity().intValue();
+            boolean available = p != null && Boolean.TRUE.equals(p.getAvailable()) && p.getPrice() != null;
+
+            BigDecimal unitPrice = available ? BigDecimal.valueOf(p.getPrice()) : BigDecimal.ZERO;
+            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            if (available) {
+                subtotal = subtotal.add(lineTotal);
+                itemCount += quantity;
+            }
+
+            lines.add(new CartQuoteLine(
+                    sum.productId(),
+                    p == null ? null : p.getName(),
+                    quantity,
+                    p == null ? null : p.getPrice(),
+                    money(lineTotal),
+                    available));
+        }
+
+        Double total = money(subtotal);
+        return new CartQuote(cartId, lines, itemCount, total, total);
+    }
+
+    private static Double money(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -0,0 +1,165 @@
+package com.system.grocery.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.StaleCart;
+import com.system.grocery.dto.SweeperStats;
+import com.system.grocery.entity.Cart;
+import com.system.grocery.entity.CartItem;
+import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.CartRepository;
+
+/**
+ * Deletes carts that have not been touched for the configured TTL and never
+ * turned into an order, together with their items, releasing any stock they
+ * still hold.
+ *
+ * Candidates are walked in (updated_at, id) keyset order in small batches.
+ * Each batch re-checks staleness under a row lock in its own short
+ * transaction, and the sweeper pauses between batches so it never holds
+ * locks for long or starves foreground traffic. Only the items whose stock
+ * was released are deleted; a cart that gained an item meanwhile is in use
+ * again and is kept.
+ */
+@Service
+public class CartSweeperService {
+
+    private static final Logger log = LoggerFactory.getLogger(CartSweeperService.class);
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private CartRepository cartRepo;
+
+    @Autowired
+    private CartItemRepository itemRepo;
+
+    @Autowired
+    private InventoryService inventory;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Value("${grocery.cart-sweeper.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${grocery.cart-sweeper.batch-size:200}")
+    private int batchSize;
+
+    @Value("${grocery.cart-sweeper.max-batches:100}")
+    private int maxBatches;
+
+    @Value("${grocery.cart-sweeper.pause-ms:50}")
+    private long pauseMs;
+
+    private final AtomicLong cartsSwept = new AtomicLong();
+    private final AtomicLong itemsSwept = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong lastBatchMs = new AtomicLong();
+    private final AtomicLong maxBatchMs = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+
+    @Scheduled(fixedDelayString = "${grocery.cart-sweeper.interval-ms:300000}")
+    public synchronized int sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ttlMinutes);
+        LocalDateTime lastTouched = EPOCH;
+        Integer lastId = 0;
+        int swept = 0;
+
+        for (int i = 0; i < maxBatches; i++) {
+            List<StaleCart> page = cartRepo.findStale(cutoff, lastTouched, lastId, Limit.of(batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            long started = System.nanoTime();
+            swept += deleteBatch(page, cutoff);
+            record((System.nanoTime() - started) / 1_000_000);
+
+            StaleCart last = page.get(page.size() - 1);
+            lastTouched = last.updatedAt();
+            lastId = last.id();
+            if (page.size() < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        lastRunAt = LocalDateTime.now();
+        if (swept > 0) {
+            log.info("Cart sweeper removed {} carts idle since before {}", swept, cutoff);
+        }
+        return swept;
+    }
+
+    public SweeperStats stats() {
+        return new SweeperStats(cartsSwept.get(), itemsSwept.get(), batches.get(),
+                lastBatchMs.get(), maxBatchMs.get(), lastRunAt);
+    }
+
+    private int deleteBatch(List<StaleCart> page, LocalDateTime cutoff) {
+        List<Integer> ids = page.stream().map(StaleCart::id).toList();
+        Integer deleted = tx.execute(status -> {
+            List<Cart> locked = cartRepo.lockStale(ids, cutoff);
+            if (locked.isEmpty()) {
+                return 0;
+            }
+            List<Integer> lockedIds = new ArrayList<>(locked.size());
+            Map<Integer, Integer> storeByCart = new HashMap<>();
+            for (Cart c : locked) {
+                lockedIds.add(c.getId());
+                if (c.getStoreId() != null) {
+                    storeByCart.put(c.getId(), c.getStoreId());
+                }
+            }
+
+            List<CartItem> items = itemRepo.findByCartIdIn(lockedIds);
+            items.stream()
+                    .filter(ci -> storeByCart.containsKey(ci.getCartId()))
+                    .collect(Collectors.groupingBy(CartItem::getCartId))
+                    .forEach((cartId, held) -> inventory.releaseAll(storeByCart.get(cartId), held));
+
+            if (!items.isEmpty()) {
+                itemsSwept.addAndGet(itemRepo.deleteByIdIn(items.stream().map(CartItem::getId).toList()));
+            }
+            return cartRepo.deleteEmptyByIds(lockedIds);
+        });
+        int n = deleted == null ? 0 : deleted;
+        cartsSwept.addAndGet(n);
+        return n;
+    }
+
+    private void record(long ms) {
+        batches.incrementAndGet();
+        lastBatchMs.set(ms);
+        maxBatchMs.accumulateAndGet(ms, Math::max);
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -3,8 +3,12 @@ package com.system.grocery.service;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.system.grocery.dto.CategoryTree;
 import com.system.grocery.entity.Category;
+import com.system.grocery.exception.InvalidCategoryException;
 import com.system.grocery.repository.CategoryRepository;
+import com.system.grocery.repository.ProductRepository;
 
 @Service
 public class CategoryService {
@@ -12,8 +16,35 @@ public class CategoryService {
     @Autowired
     private CategoryRepository repo;
 
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private ProductLookupCache productCache;
+
+    @Autowired
+    private CategoryTreeService tree;
+
     public Category save(Category c) {
-        return repo.save(c);
+        if (c.getParentId() != null) {
+            if (!repo.existsById(c.getParentId())) {
+                throw new InvalidCategoryException("Parent category " + c.getParentId() + " not found");
+            }
+            if (c.getId() != null && tree.isDescendantOrSelf(c.getParentId(), c.getId())) {
+                throw new InvalidCategoryException("Category " + c.getId() + " cannot be moved under its own subtree");
+            }
+        }
+        Category saved = repo.save(c);
+        searchIndex.categoryChanged(saved.getId(), saved.getName());
+        tree.categorySaved(saved);
+        return saved;
+    }
+
+    public CategoryTree tree() {
+        return tree.tree();
     }
 
     public List<Category> getAll() {
@@ -24,9 +55,20 @@ public class CategoryService {
         return repo.findById(id).orElse(null);
     }
 
+    @Transactional
     public String delete(Integer id) {
-        if (repo.existsById(id)) {
-            repo.deleteById(id);
+        Category c = repo.findById(id).orElse(null);
+        if (c != null) {
+            // Children and products move up to the deleted category's parent.
+            Integer parentId = c.getParentId();
+            repo.reparentChildren(id, parentId);
+            productRepo.moveCategory(id, parentId);
+            repo.delete(c);
+            TransactionHooks.afterCommit(() -> {
+                searchIndex.categoryRemoved(id, parentId);
+                tree.categoryRemoved(id, parentId);
+                productCache.clear();
+            });
             return "Category deleted";
         }
         return "Category not found";
@@ -0,0 +1,239 @@
+package com.system.grocery.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import com.system.grocery.dto.CategoryNode;
+import com.system.grocery.dto.CategoryTree;
+import com.system.grocery.entity.Category;
+import com.system.grocery.entity.Product;
+import com.system.grocery.repository.CategoryRepository;
+
+/**
+ * Category hierarchy with counts of available products, kept in memory.
+ *
+ * Each available product is remembered with its category so a product write
+ * becomes a -1/+1 on the old and new category and on their ancestors. The
+ * rendered tree is cached with an ETag derived from a change counter and is
+ * only rebuilt after something actually changed.
+ */
+@Service
+public class CategoryTreeService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryTreeService.class);
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final Map<Integer, Category> categories = new HashMap<>();
+    private final Map<Integer, Integer> categoryByAvailableProduct = new HashMap<>();
+    private final Map<Integer, Integer> directCounts = new HashMap<>();
+    private final Map<Integer, Integer> subtreeCounts = new HashMap<>();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private long version;
+    private volatile CategoryTree cached;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        categories.clear();
+        categoryByAvailableProduct.clear();
+        directCounts.clear();
+
+        for (Category c : categoryRepo.findAll()) {
+            categories.put(c.getId(), copy(c));
+        }
+        indexFrom(0);
+        recomputeSubtrees();
+
+        log.info("Category tree built: {} categories, {} available products in {} ms",
+                categories.size(), categoryByAvailableProduct.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Counts available products with an id above {@code afterId}; used after
+     * a bulk import that bypassed ProductService.
+     */
+    public synchronized void indexFrom(int afterId) {
+        jdbc.query("select id, category_id from product where id > ? and available = true",
+                rs -> {
+                    int categoryId = rs.getInt(2);
+                    track(rs.getInt(1), rs.wasNull() ? null : categoryId);
+                }, afterId);
+    }
+
+    public synchronized void productSaved(Product p) {
+        if (p == null || p.getId() == null) {
+            return;
+        }
+        track(p.getId(), Boolean.TRUE.equals(p.getAvailable()) ? p.getCategoryId() : null);
+    }
+
+    public synchronized void productRemoved(Integer productId) {
+        track(productId, null);
+    }
+
+    public synchronized void categorySaved(Category c) {
+        Category old = categories.put(c.getId(), copy(c));
+        if (old == null || !sameParent(old, c)) {
+            recomputeSubtrees();
+        } else {
+            version++;
+            cached = null;
+        }
+    }
+
+    /**
+     * Children and available products of the deleted category move to its
+     * parent, matching CategoryService.delete; without a parent the products
+     * are uncategorised and no longer counted.
+     */
+    public synchronized void categoryRemoved(Integer categoryId, Integer parentId) {
+        categories.remove(categoryId);
+        for (Category c : categories.values()) {
+            if (categoryId.equals(c.getParentId())) {
+                c.setParentId(parentId);
+            }
+        }
+        for (Iterator<Map.Entry<Integer, Integer>> it = categoryByAvailableProduct.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, Integer> e = it.next();
+            if (categoryId.equals(e.getValue())) {
+                if (parentId == null) {
+                    it.remove();
+                } else {
+                    e.setValue(parentId);
+                }
+            }
+        }
+        Integer moved = directCounts.remove(categoryId);
+        if (moved != null && parentId != null) {
+            directCounts.merge(parentId, moved, Integer::sum);
+        }
+        recomputeSubtrees();
+    }
+
+    /**
+     * True when {@code parentId} is {@code categoryId} itself or one of its
+     * descendants, i.e. re-parenting would create a cycle.
+     */
+    public synchronized boolean isDescendantOrSelf(Integer parentId, Integer categoryId) {
+        Set<Integer> seen = new HashSet<>();
+        for (Integer id = parentId; id != null && seen.add(id); id = parentOf(id)) {
+            if (id.equals(categoryId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public CategoryTree tree() {
+        CategoryTree tree = cached;
+        if (tree != null) {
+            return tree;
+        }
+        synchronized (this) {
+            if (cached == null) {
+                cached = render();
+            }
+            return cached;
+        }
+    }
+
+    private void track(Integer productId, Integer categoryId) {
+        Integer previous = categoryId == null
+                ? categoryByAvailableProduct.remove(productId)
+                : categoryByAvailableProduct.put(productId, categoryId);
+        if (previous == null ? categoryId == null : previous.equals(categoryId)) {
+            return;
+        }
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+        if (categoryId != null) {
+            adjust(categoryId, 1);
+        }
+        version++;
+        cached = null;
+    }
+
+    private void adjust(Integer categoryId, int delta) {
+        directCounts.merge(categoryId, delta, Integer::sum);
+        Set<Integer> seen = new HashSet<>();
+        for (Integer id = categoryId; id != null && seen.add(id); id = parentOf(id)) {
+            subtreeCounts.merge(id, delta, Integer::sum);
+        }
+    }
+
+    private void recomputeSubtrees() {
+        subtreeCounts.clear();
+        directCounts.forEach((categoryId, count) -> {
+            Set<Integer> seen = new HashSet<>();
+            for (Integer id = categoryId; id != null && seen.add(id); id = parentOf(id)) {
+                subtreeCounts.merge(id, count, Integer::sum);
+            }
+        });
+        version++;
+        cached = null;
+    }
+
+    private Integer parentOf(Integer categoryId) {
+        Category c = categories.get(categoryId);
+        return c == null ? null : c.getParentId();
+    }
+
+    private static Category copy(Category c) {
+        Category copy = new Category();
+        copy.setId(c.getId());
+        copy.setName(c.getName());
+        copy.setParentId(c.getParentId());
+        return copy;
+    }
+
+    private static boolean sameParent(Category a, Category b) {
+        return a.getParentId() == null ? b.getParentId() == null : a.getParentId().equals(b.getParentId());
+    }
+
+    private CategoryTree render() {
+        Map<Integer, List<Category>> children = new HashMap<>();
+        List<Category> roots = new ArrayList<>();
+        for (Category c : categories.values()) {
+            Integer parentId = c.getParentId();
+            if (parentId == null || !categories.containsKey(parentId)) {
+                roots.add(c);
+            } else {
+                children.computeIfAbsent(parentId, k -> new ArrayList<>()).add(c);
+            }
+        }
+        return new CategoryTree("\"" + epoch + "-" + version + "\"", nodes(roots, children, new HashSet<>()));
+    }
+
+    private List<CategoryNode> nodes(List<Category> level, Map<Integer, List<Category>> children, Set<Integer> seen) {
+        level.sort(Comparator.comparing(Category::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        List<CategoryNode> nodes = new ArrayList<>(level.size());
+        for (Category c : level) {
+            if (!seen.add(c.getId())) {
+                continue;
+            }
+            nodes.add(new CategoryNode(c.getId(), c.getName(), c.getParentId(),
+                    directCounts.getOrDefault(c.getId(), 0),
+                    subtreeCounts.getOrDefault(c.getId(), 0),
+                    nodes(children.getOrDefault(c.getId(), new ArrayList<>()), children, seen)));
+        }
+        return List.copyOf(nodes);
+    }
+}
@@ -0,0 +1,127 @@
+package com.system.grocery.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.system.grocery.dto.CartQuote;
+import com.system.grocery.dto.CartQuoteLine;
+import com.system.grocery.dto.CheckoutResult;
+import com.system.grocery.entity.Cart;
+import com.system.grocery.entity.Delivery;
+import com.system.grocery.entity.DeliveryStatus;
+import com.system.grocery.entity.Notification;
+import com.system.grocery.entity.OrderStatus;
+import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.entity.Payment;
+import com.system.grocery.entity.PaymentStatus;
+import com.system.grocery.exception.CartCheckedOutException;
+import com.system.grocery.exception.CheckoutException;
+import com.system.grocery.repository.CartRepository;
+import com.system.grocery.repository.OrderTblRepository;
+
+/**
+ * Turns a cart into an order, payment, delivery and notification inside a
+ * single transaction, so a client that drops mid-checkout leaves nothing
+ * half-written. The cart row is locked for the whole transaction, so two
+ * concurrent checkouts of one cart serialise and the second is rejected.
+ */
+@Service
+public class CheckoutService {
+
+    @Autowired
+    private CartRepository cartRepo;
+
+    @Autowired
+    private OrderTblRepository orderRepo;
+
+    @Autowired
+    private CartPricingService pricing;
+
+    @Autowired
+    private OrderTblService orderService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Transactional
+    public CheckoutResult checkout(Integer cartId, Integer storeId, String method, String address) {
+        Cart cart = cartRepo.lockById(cartId).orElse(null);
+        if (cart == null) {
+            return null;
+        }
+        if (orderRepo.existsByCartId(cartId)) {
+            throw new CartCheckedOutException("Cart " + cartId + " is already checked out");
+        }
+
+        CartQuote quote = pricing.quote(cartId);
+        if (quote.lines().isEmpty()) {
+            throw new CheckoutException("Cart " + cartId + " is empty");
+        }
+        for (CartQuoteLine line : quote.lines()) {
+            if (!line.available()) {
+                throw new CheckoutException("Product " + line.productId() + " is unavailable");
+            }
+        }
+
+        snapshotPrices(cartId, quote.lines());
+
+        LocalDateTime now = LocalDateTime.now();
+
+        OrderTbl order = new OrderTbl();
+        order.setUserId(cart.getUserId());
+        order.setCartId(cartId);
+        order.setStoreId(cart.getStoreId() != null ? cart.getStoreId() : storeId);
+        order.setStatus(OrderStatus.PLACED);
+        order.setTotalAmount(quote.totalAmount());
+        order.setOrderTime(now);
+        order.setDeliveryAddress(address);
+        order = orderService.save(order);
+
+        Payment payment = new Payment();
+        payment.setOrderId(order.getId());
+        payment.setMethod(method);
+        payment.setAmount(quote.totalAmount());
+        payment.setStatus(PaymentStatus.PENDING);
+        payment = paymentService.save(payment);
+
+        Delivery delivery = new Delivery();
+        delivery.setOrderId(order.getId());
+        delivery.setStatus(DeliveryStatus.PENDING);
+        delivery = deliveryService.save(delivery);
+
+        Notification notification = new Notification();
+        notification.setUserId(cart.getUserId());
+        notification.setOrderId(order.getId());
+        notification.setType("ORDER");
+        notification.setMessage("Order #" + order.getId() + " placed");
+        notification.setIsRead(false);
+        notification.setCreatedAt(now);
+        notification = notificationService.save(notification);
+
+        return new CheckoutResult(order, payment, delivery, notification, quote);
+    }
+
+    private void snapshotPrices(Integer cartId, List<CartQuoteLine> lines) {
+        jdbc.batchUpdate(
+                "update cart_item set price_at_time = ? where cart_id = ? and product_id = ?",
+                lines,
+                lines.size(),
+                (ps, line) -> {
+                    ps.setDouble(1, line.unitPrice());
+                    ps.setInt(2, cartId);
+                    ps.setInt(3, line.productId());
+                });
+    }
+}
@@ -12,8 +12,13 @@ public class DeliveryAgentService {
     @Autowired
     private DeliveryAgentRepository repo;
 
+    @Autowired
+    private DispatchService dispatch;
+
     public DeliveryAgent save(DeliveryAgent da) {
-        return repo.save(da);
+        DeliveryAgent saved = repo.save(da);
+        dispatch.reloadAgents();
+        return saved;
     }
 
     public List<DeliveryAgent> getAll() {
@@ -27,6 +32,7 @@ public class DeliveryAgentService {
     public String delete(Integer id) {
         if (repo.existsById(id)) {
             repo.deleteById(id);
+            dispatch.reloadAgents();
             return "Delivery Agent deleted";
         }
         return "Delivery Agent not found";
@@ -4,6 +4,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import com.system.grocery.entity.Delivery;
+import com.system.grocery.exception.StatusChangeException;
 import com.system.grocery.repository.DeliveryRepository;
 
 @Service
@@ -13,6 +14,15 @@ public class DeliveryService {
     private DeliveryRepository repo;
 
     public Delivery save(Delivery d) {
+        if (d.getId() != null) {
+            repo.findStatusById(d.getId()).ifPresent(current -> {
+                if (d.getStatus() == null) {
+                    d.setStatus(current);
+                } else if (d.getStatus() != current) {
+                    throw new StatusChangeException("Delivery status changes go through PUT /deliveries/" + d.getId() + "/status");
+                }
+            });
+        }
         return repo.save(d);
     }
 
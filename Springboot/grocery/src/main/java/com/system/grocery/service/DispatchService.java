@@ -0,0 +1,371 @@
+package com.system.grocery.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.AgentLoad;
+import com.system.grocery.dto.AgentOpenCount;
+import com.system.grocery.dto.DispatchStatus;
+import com.system.grocery.dto.GeoPoint;
+import com.system.grocery.dto.OpenDelivery;
+import com.system.grocery.dto.RouteStop;
+import com.system.grocery.dto.TripPlan;
+import com.system.grocery.entity.Delivery;
+import com.system.grocery.entity.DeliveryAgent;
+import com.system.grocery.entity.DeliveryTrip;
+import com.system.grocery.repository.DeliveryAgentRepository;
+import com.system.grocery.repository.DeliveryRepository;
+import com.system.grocery.repository.DeliveryTripRepository;
+import com.system.grocery.repository.StoreRepository;
+
+/**
+ * Assigns pending deliveries to the least-loaded agent of their store.
+ *
+ * Open deliveries of a store are batched into trips by {@link RouteBatcher}
+ * using coordinates from the {@link AddressResolver}. A trip is handed out
+ * once it is full or its oldest order has waited for the batching window;
+ * the agent's load grows by the number of stops. A store's trips and their
+ * assignments are written in one transaction, so a failed batch leaves no
+ * trip rows behind, and trips that lose every stop to a concurrent
+ * assignment are deleted.
+ *
+ * Agent rosters and open-delivery counts live in memory. The counts grow as
+ * this service assigns work and are resynchronised from one grouped query
+ * on a slower schedule, which also picks up deliveries closed elsewhere.
+ * Agents without a store are eligible for every store.
+ */
+@Service
+public class DispatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchService.class);
+
+    private static final String ASSIGN_SQL =
+            "update delivery set agent_id = ?, trip_id = ?, stop_seq = ?, status = 'ASSIGNED', version = version + 1 " +
+            "where id = ? and agent_id is null and status = 'PENDING'";
+
+    @Autowired
+    private DeliveryRepository deliveryRepo;
+
+    @Autowired
+    private DeliveryAgentRepository agentRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private DeliveryTripRepository tripRepo;
+
+    @Autowired
+    private StoreRepository storeRepo;
+
+    @Autowired
+    private AddressResolver resolver;
+
+    @Autowired
+    private RouteBatcher batcher;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Value("${grocery.dispatch.batch-size:500}")
+    private int batchSize;
+
+    @Value("${grocery.dispatch.window-seconds:120}")
+    private long windowSeconds;
+
+    @Value("${grocery.dispatch.max-stops:6}")
+    private int maxStops;
+
+    @Value("${grocery.dispatch.radius-km:3}")
+    private double radiusKm;
+
+    private final Map<Integer, AtomicInteger> loadByAgent = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> storeByAgent = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> agentsByStore = new ConcurrentHashMap<>();
+    private final Set<Integer> floatingAgents = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Optional<GeoPoint>> depotByStore = new ConcurrentHashMap<>();
+    private volatile Map<Integer, Integer> unassignedByStore = Map.of();
+    private volatile Map<Integer, Integer> heldByStore = Map.of();
+    private final AtomicLong assignedTotal = new AtomicLong();
+    private final AtomicLong tripsTotal = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reloadAgents();
+        resyncLoad();
+    }
+
+    public synchronized void reloadAgents() {
+        Map<Integer, Set<Integer>> byStore = new HashMap<>();
+        Set<Integer> floating = new HashSet<>();
+        Map<Integer, Integer> stores = new HashMap<>();
+
+        for (DeliveryAgent a : agentRepo.findAll()) {
+            if (a.getStoreId() == null) {
+                floating.add(a.getId());
+            } else {
+                byStore.computeIfAbsent(a.getStoreId(), k -> ConcurrentHashMap.newKeySet()).add(a.getId());
+                stores.put(a.getId(), a.getStoreId());
+            }
+            loadByAgent.computeIfAbsent(a.getId(), k -> new AtomicInteger());
+        }
+
+        agentsByStore.keySet().retainAll(byStore.keySet());
+        agentsByStore.putAll(byStore);
+        floatingAgents.retainAll(floating);
+        floatingAgents.addAll(floating);
+        storeByAgent.keySet().retainAll(stores.keySet());
+        storeByAgent.putAll(stores);
+        loadByAgent.keySet().removeIf(id -> !floating.contains(id) && !stores.containsKey(id));
+        depotByStore.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${grocery.dispatch.resync-ms:60000}",
+               initialDelayString = "${grocery.dispatch.resync-ms:60000}")
+    public synchronized void resyncLoad() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (AgentOpenCount c : deliveryRepo.countOpenByAgent()) {
+            counts.put(c.agentId(), c.openDeliveries().intValue());
+        }
+        loadByAgent.forEach((agentId, load) -> load.set(counts.getOrDefault(agentId, 0)));
+    }
+
+    @Scheduled(fixedDelayString = "${grocery.dispatch.interval-ms:5000}")
+    public synchronized int dispatchPending() {
+        Map<Integer, List<OpenDelivery>> byStore = new HashMap<>();
+        int after = 0;
+
+        while (true) {
+            List<OpenDelivery> page = deliveryRepo.findUnassigned(after, Limit.of(batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            for (OpenDelivery d : page) {
+                byStore.computeIfAbsent(d.storeId() == null ? 0 : d.storeId(), k -> new ArrayList<>()).add(d);
+            }
+            after = page.get(page.size() - 1).deliveryId();
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+
+        Map<Integer, Integer> backlog = new HashMap<>();
+        Map<Integer, Integer> held = new HashMap<>();
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(windowSeconds);
+        int assigned = 0;
+        int trips = 0;
+
+        for (Map.Entry<Integer, List<OpenDelivery>> e : byStore.entrySet()) {
+            Integer storeId = e.getKey() == 0 ? null : e.getKey();
+            List<RouteStop> stops = new ArrayList<>(e.getValue().size());
+            for (OpenDelivery d : e.getValue()) {
+                stops.add(new RouteStop(d.deliveryId(),
+                        resolver.resolve(d.address()).orElse(null), d.orderTime()));
+            }
+
+            List<TripPlan> ready = new ArrayList<>();
+            List<Integer> agents = new ArrayList<>();
+            for (TripPlan plan : batcher.plan(depotOf(storeId), stops, maxStops, radiusKm)) {
+                if (plan.stops().size() < maxStops && !windowElapsed(plan, cutoff)) {
+                    // Not full yet and nobody has waited long enough: hold it for the next run.
+                    held.merge(e.getKey(), plan.stops().size(), Integer::sum);
+                    continue;
+                }
+                Integer agentId = leastLoadedAgent(storeId);
+                if (agentId == null) {
+                    backlog.merge(e.getKey(), plan.stops().size(), Integer::sum);
+                    continue;
+                }
+                // Reserve the slots now so the next trip in this run sees them.
+                loadByAgent.get(agentId).addAndGet(plan.stops().size());
+                ready.add(plan);
+                agents.add(agentId);
+            }
+            if (ready.isEmpty()) {
+                continue;
+            }
+
+            Map<Integer, Integer> lostByAgent = new HashMap<>();
+            try {
+                int[] done = tx.execute(status -> createTrips(storeId, ready, agents, lostByAgent));
+                assigned += done[0];
+                trips += done[1];
+                lostByAgent.forEach((agentId, lost) -> loadByAgent.get(agentId).addAndGet(-lost));
+            } catch (RuntimeException ex) {
+                for (int i = 0; i < ready.size(); i++) {
+                    loadByAgent.get(agents.get(i)).addAndGet(-ready.get(i).stops().size());
+                }
+                log.warn("Dispatch for store {} failed, {} trips rolled back", storeId, ready.size(), ex);
+            }
+        }
+
+        unassignedByStore = Map.copyOf(backlog);
+        heldByStore = Map.copyOf(held);
+        assignedTotal.addAndGet(assigned);
+        tripsTotal.addAndGet(trips);
+        if (assigned > 0) {
+            log.info("Dispatched {} deliveries on {} trips, {} held for batching, {} left without an agent",
+                    assigned, trips, held.values().stream().mapToInt(Integer::intValue).sum(),
+                    backlog.values().stream().mapToInt(Integer::intValue).sum());
+        }
+        return assigned;
+    }
+
+    /**
+     * Frees one slot of {@code agentId} once a delivery leaves the agent's
+     * open work (handed back, delivered, failed or cancelled).
+     */
+    public void released(Integer agentId) {
+        AtomicInteger load = agentId == null ? null : loadByAgent.get(agentId);
+        if (load != null) {
+            load.updateAndGet(n -> Math.max(n - 1, 0));
+        }
+    }
+
+    public List<Delivery> tripStops(Integer tripId) {
+        return deliveryRepo.findByTripIdOrderByStopSeq(tripId);
+    }
+
+    public DispatchStatus status() {
+        List<AgentLoad> agents = new ArrayList<>();
+        loadByAgent.forEach((agentId, load) ->
+                agents.add(new AgentLoad(agentId, storeByAgent.get(agentId), load.get())));
+        agents.sort(Comparator.comparing(AgentLoad::agentId));
+        return new DispatchStatus(agents, unassignedByStore, heldByStore, assignedTotal.get(), tripsTotal.get());
+    }
+
+    private Integer leastLoadedAgent(Integer storeId) {
+        Integer best = null;
+        int bestLoad = Integer.MAX_VALUE;
+
+        Set<Integer> local = storeId == null ? null : agentsByStore.get(storeId);
+        if (local != null) {
+            for (Integer id : local) {
+                int load = loadOf(id);
+                if (load < bestLoad) {
+                    best = id;
+                    bestLoad = load;
+                }
+            }
+        }
+        for (Integer id : floatingAgents) {
+            int load = loadOf(id);
+            if (load < bestLoad) {
+                best = id;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private int loadOf(Integer agentId) {
+        AtomicInteger load = loadByAgent.get(agentId);
+        return load == null ? Integer.MAX_VALUE : load.get();
+    }
+
+    private static boolean windowElapsed(TripPlan plan, LocalDateTime cutoff) {
+        for (RouteStop s : plan.stops()) {
+            if (s.readySince() == null || !s.readySince().isAfter(cutoff)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private GeoPoint depotOf(Integer storeId) {
+        if (storeId == null) {
+            return null;
+        }
+        Optional<GeoPoint> depot = depotByStore.get(storeId);
+        if (depot == null) {
+            depot = storeRepo.findById(storeId)
+                    .flatMap(store -> resolver.resolve(store.getLocation()));
+            depotByStore.put(storeId, depot);
+        }
+        return depot.orElse(null);
+    }
+
+    /**
+     * Saves the trips and assigns their stops; returns the deliveries
+     * assigned and the trips kept. Stops lost to a concurrent assignment are
+     * counted per agent in {@code lostByAgent} for the caller to release once
+     * the transaction commits.
+     */
+    private int[] createTrips(Integer storeId, List<TripPlan> plans, List<Integer> agents,
+                              Map<Integer, Integer> lostByAgent) {
+        List<int[]> assignments = new ArrayList<>();
+        for (int i = 0; i < plans.size(); i++) {
+            TripPlan plan = plans.get(i);
+            Integer agentId = agents.get(i);
+
+            DeliveryTrip trip = new DeliveryTrip();
+            trip.setStoreId(storeId);
+            trip.setAgentId(agentId);
+            trip.setStopCount(plan.stops().size());
+            trip.setDistanceKm(plan.distanceKm());
+            trip = tripRepo.save(trip);
+
+            int seq = 1;
+            for (RouteStop stop : plan.stops()) {
+                assignments.add(new int[] { agentId, trip.getId(), seq++, stop.deliveryId() });
+            }
+        }
+        Map<Integer, Integer> lostByTrip = new HashMap<>();
+        int updated = persist(assignments, lostByTrip, lostByAgent);
+        int emptied = 0;
+        for (Map.Entry<Integer, Integer> lost : lostByTrip.entrySet()) {
+            tripRepo.dropStops(lost.getKey(), lost.getValue());
+            emptied += tripRepo.deleteIfEmpty(lost.getKey());
+        }
+        return new int[] { updated, plans.size() - emptied };
+    }
+
+    private int persist(List<int[]> assignments, Map<Integer, Integer> lostByTrip, Map<Integer, Integer> lostByAgent) {
+        if (assignments.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbc.batchUpdate(ASSIGN_SQL, assignments, assignments.size(),
+                (ps, a) -> {
+                    ps.setInt(1, a[0]);
+                    ps.setInt(2, a[1]);
+                    ps.setInt(3, a[2]);
+                    ps.setInt(4, a[3]);
+                });
+
+        int updated = 0;
+        int i = 0;
+        for (int[] batch : results) {
+            for (int rows : batch) {
+                int[] a = assignments.get(i++);
+                if (rows == 0) {
+                    // Someone else assigned it between our read and the update.
+                    lostByAgent.merge(a[0], 1, Integer::sum);
+                    lostByTrip.merge(a[1], 1, Integer::sum);
+                } else {
+                    updated++;
+                }
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,446 @@
+package com.system.grocery.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.CartProductQuantity;
+import com.system.grocery.dto.CartStore;
+import com.system.grocery.dto.FlashSaleStats;
+import com.system.grocery.entity.CartItem;
+import com.system.grocery.entity.FlashSale;
+import com.system.grocery.exception.FlashSaleBusyException;
+import com.system.grocery.exception.FlashSaleLimitException;
+import com.system.grocery.exception.FlashSalePendingException;
+import com.system.grocery.exception.InsufficientStockException;
+import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.CartRepository;
+import com.system.grocery.repository.FlashSaleRepository;
+import com.system.grocery.repository.ProductRepository;
+
+/**
+ * Flash-sale admission for a handful of hot products.
+ *
+ * While a sale runs its product is pinned in the product cache and its
+ * stock slots are pre-loaded. Cart adds for it go into a bounded queue
+ * instead of each taking a pooled connection. One writer thread drains the
+ * queue in batches: it resolves carts and per-cart limits with one query
+ * each, reserves stock in memory, and inserts all accepted lines in a single
+ * JDBC batch. A full queue, or a request still waiting at its deadline, is
+ * answered with 429 straight away. A request the writer already took gets
+ * one more wait for its result and then 202, since its line may yet land.
+ */
+@Service
+public class FlashSaleService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlashSaleService.class);
+
+    private static final String INSERT_SQL =
+            "insert into cart_item (cart_id, product_id, quantity, price_at_time) values (?, ?, ?, ?)";
+
+    private static final String TOUCH_SQL = "update cart set updated_at = ? where id = ?";
+
+    @Autowired
+    private FlashSaleRepository repo;
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private CartRepository cartRepo;
+
+    @Autowired
+    private CartItemRepository cartItemRepo;
+
+    @Autowired
+    private ProductLookupCache productCache;
+
+    @Autowired
+    private InventoryService inventory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Value("${grocery.flash-sale.batch-size:200}")
+    private int batchSize;
+
+    @Value("${grocery.flash-sale.wait-ms:2000}")
+    private long waitMs;
+
+    private final int queueCapacity;
+    private final BlockingQueue<Admission> queue;
+    private final Map<Integer, FlashSale> sales = new ConcurrentHashMap<>();
+    private final Set<Integer> warmed = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private volatile Thread writer;
+
+    public FlashSaleService(@Value("${grocery.flash-sale.queue-capacity:2000}") int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (FlashSale s : repo.findAll()) {
+            sales.put(s.getProductId(), s);
+        }
+        refresh();
+
+        Thread t = new Thread(this::drain, "flash-sale-writer");
+        t.setDaemon(true);
+        t.start();
+        writer = t;
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread t = writer;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    /**
+     * Pins products whose sale has started and releases those whose sale
+     * has ended, so scheduled sales warm up on their own.
+     */
+    @Scheduled(fixedDelayString = "${grocery.flash-sale.refresh-ms:30000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        for (FlashSale s : sales.values()) {
+            if (running(s, now)) {
+                if (warmed.add(s.getProductId())) {
+                    warm(s.getProductId());
+                }
+            } else if (warmed.remove(s.getProductId())) {
+                productCache.unpin(s.getProductId());
+            }
+        }
+    }
+
+    public boolean isRunning(Integer productId) {
+        FlashSale s = productId == null ? null : sales.get(productId);
+        return s != null && running(s, LocalDateTime.now());
+    }
+
+    public FlashSale save(FlashSale s) {
+        FlashSale saved = repo.save(s);
+        sales.values().removeIf(old -> old.getId().equals(saved.getId()));
+        sales.put(saved.getProductId(), saved);
+        warmed.remove(saved.getProductId());
+        productCache.unpin(saved.getProductId());
+        refresh();
+        return saved;
+    }
+
+    public List<FlashSale> getAll() {
+        return repo.findAll();
+    }
+
+    public FlashSale getById(Integer id) {
+        return repo.findById(id).orElse(null);
+    }
+
+    public String delete(Integer id) {
+        FlashSale s = repo.findById(id).orElse(null);
+        if (s != null) {
+            repo.delete(s);
+            sales.remove(s.getProductId());
+            warmed.remove(s.getProductId());
+            productCache.unpin(s.getProductId());
+            return "FlashSale deleted";
+        }
+        return "FlashSale not found";
+    }
+
+    public FlashSaleStats stats() {
+        Set<Integer> running = new TreeSet<>();
+        for (Integer productId : sales.keySet()) {
+            if (isRunning(productId)) {
+                running.add(productId);
+            }
+        }
+        return new FlashSaleStats(running, queue.size(), queueCapacity,
+                admitted.get(), shed.get(), rejected.get(), batches.get());
+    }
+
+    /**
+     * Queues a new cart line for a flash-sale product and waits for the
+     * writer to store it.
+     */
+    public CartItem addToCart(CartItem ci) {
+        Admission a = new Admission(ci, new CompletableFuture<>(),
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs));
+        if (!queue.offer(a)) {
+            shed.incrementAndGet();
+            throw new FlashSaleBusyException(ci.getProductId());
+        }
+        try {
+            return a.result.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (a.taken.compareAndSet(false, true)) {
+                shed.incrementAndGet();
+                throw new FlashSaleBusyException(ci.getProductId());
+            }
+            // The writer already claimed it; its result is moments away.
+            return outcome(a);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (a.taken.compareAndSet(false, true)) {
+                throw new FlashSaleBusyException(ci.getProductId());
+            }
+            return outcome(a);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private void warm(Integer productId) {
+        long stamp = productCache.stamp(productId);
+        productRepo.findById(productId).ifPresent(p -> productCache.pin(p, stamp));
+        int stores = inventory.warm(productId);
+        log.info("Flash sale for product {} warmed: {} store stock rows", productId, stores);
+    }
+
+    private void drain() {
+        List<Admission> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                process(batch);
+            } catch (RuntimeException e) {
+                log.warn("Flash sale batch of {} failed", batch.size(), e);
+                for (Admission a : batch) {
+                    a.result.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+        }
+        for (Admission a : queue) {
+            a.result.completeExceptionally(new FlashSaleBusyException(a.item.getProductId()));
+        }
+    }
+
+    private void process(List<Admission> batch) {
+        long now = System.nanoTime();
+        List<Admission> live = new ArrayList<>(batch.size());
+        for (Admission a : batch) {
+            if (!a.taken.compareAndSet(false, true)) {
+                // The caller gave up waiting.
+                continue;
+            }
+            if (a.deadline - now <= 0) {
+                shed.incrementAndGet();
+                a.result.completeExceptionally(new FlashSaleBusyException(a.item.getProductId()));
+                continue;
+            }
+            live.add(a);
+        }
+        if (live.isEmpty()) {
+            return;
+        }
+        batches.incrementAndGet();
+
+        Set<Integer> cartIds = new HashSet<>();
+        Set<Integer> limitedProducts = new HashSet<>();
+        for (Admission a : live) {
+            if (a.item.getCartId() != null) {
+                cartIds.add(a.item.getCartId());
+            }
+            FlashSale s = sales.get(a.item.getProductId());
+            if (s != null && s.getMaxPerCart() != null) {
+                limitedProducts.add(a.item.getProductId());
+            }
+        }
+
+        Map<Integer, Integer> storeByCart = new HashMap<>();
+        Map<CartProduct, Long> held = new HashMap<>();
+        if (!cartIds.isEmpty()) {
+            for (CartStore c : cartRepo.findStores(cartIds)) {
+                storeByCart.put(c.cartId(), c.storeId());
+            }
+            if (!limitedProducts.isEmpty()) {
+                for (CartProductQuantity q : cartItemRepo.sumQuantities(cartIds, limitedProducts)) {
+                    held.put(new CartProduct(q.cartId(), q.productId()), q.quantity());
+                }
+            }
+        }
+
+        List<Admission> accepted = new ArrayList<>(live.size());
+        for (Admission a : live) {
+            CartItem ci = a.item;
+            int quantity = ci.getQuantity() == null ? 0 : Math.max(ci.getQuantity(), 0);
+            Integer storeId = storeByCart.get(ci.getCartId());
+
+            FlashSale s = sales.get(ci.getProductId());
+            if (s != null && s.getMaxPerCart() != null) {
+                CartProduct key = new CartProduct(ci.getCartId(), ci.getProductId());
+                long total = held.getOrDefault(key, 0L) + quantity;
+                if (total > s.getMaxPerCart()) {
+                    rejected.incrementAndGet();
+                    a.result.completeExceptionally(new FlashSaleLimitException(ci.getProductId(), s.getMaxPerCart()));
+                    continue;
+                }
+                held.put(key, total);
+            }
+            if (!inventory.reserve(storeId, ci.getProductId(), quantity)) {
+                rejected.incrementAndGet();
+                a.result.completeExceptionally(new InsufficientStockException(storeId, ci.getProductId()));
+                continue;
+            }
+            a.storeId = storeId;
+            accepted.add(a);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            tx.executeWithoutResult(status -> {
+                jdbc.batchUpdate(con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                        new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                CartItem ci = accepted.get(i).item;
+                                ps.setObject(1, ci.getCartId());
+                                ps.setObject(2, ci.getProductId());
+                                ps.setObject(3, ci.getQuantity());
+                                ps.setObject(4, ci.getPriceAtTime());
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return accepted.size();
+                            }
+                        }, keys);
+
+                LocalDateTime touched = LocalDateTime.now();
+                Set<Integer> touchedCarts = new TreeSet<>();
+                for (Admission a : accepted) {
+                    if (a.item.getCartId() != null) {
+                        touchedCarts.add(a.item.getCartId());
+                    }
+                }
+                List<Object[]> touches = new ArrayList<>();
+                for (Integer cartId : touchedCarts) {
+                    touches.add(new Object[] { touched, cartId });
+                }
+                jdbc.batchUpdate(TOUCH_SQL, touches);
+            });
+        } catch (RuntimeException e) {
+            for (Admission a : accepted) {
+                inventory.release(a.storeId, a.item.getProductId(), a.item.getQuantity() == null ? 0 : a.item.getQuantity());
+            }
+            throw e;
+        }
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < accepted.size(); i++) {
+            Admission a = accepted.get(i);
+            if (i < generated.size()) {
+                a.item.setId(((Number) generated.get(i).values().iterator().next()).intValue());
+            }
+            admitted.incrementAndGet();
+            a.result.complete(a.item);
+        }
+    }
+
+    private static boolean running(FlashSale s, LocalDateTime now) {
+        return Boolean.TRUE.equals(s.getActive())
+                && (s.getStartsAt() == null || !now.isBefore(s.getStartsAt()))
+                && (s.getEndsAt() == null || now.isBefore(s.getEndsAt()));
+    }
+
+    /**
+     * Waits up to another {@code waitMs} for an admission the writer has
+     * claimed; a batch stuck on the database answers as pending rather than
+     * holding the request thread.
+     */
+    private CartItem outcome(Admission a) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return a.result.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (TimeoutException e) {
+            throw new FlashSalePendingException(a.item.getProductId());
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+    }
+
+    private static final class Admission {
+        final CartItem item;
+        final CompletableFuture<CartItem> result;
+        final long deadline;
+        final AtomicBoolean taken = new AtomicBoolean();
+        Integer storeId;
+
+        Admission(CartItem item, CompletableFuture<CartItem> result, long deadline) {
+            this.item = item;
+            this.result = result;
+            this.deadline = deadline;
+        }
+    }
+
+    private record CartProduct(Integer cartId, Integer productId) {
+    }
+}
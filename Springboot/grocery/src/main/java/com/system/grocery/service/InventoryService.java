@@ -0,0 +1,279 @@
+package com.system.grocery.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.system.grocery.dto.StockLevel;
+import com.system.grocery.entity.CartItem;
+import com.system.grocery.repository.StoreStockRepository;
+
+/**
+ * Per-store stock ledger with reservations taken in memory.
+ *
+ * Each (store, product) pair has a slot holding the units still available
+ * and the reserved units not yet written to store_stock. Both change
+ * together under the slot's own monitor, so a reservation is never counted
+ * in one and missing from the other, and hot SKUs never wait on a row lock.
+ * Pending units are flushed to store_stock in one JDBC batch whose
+ * conditional UPDATE can never drive a quantity below zero; the flush takes
+ * each slot's pending count and zeroes it in one step. Slots are reloaded in
+ * place, never replaced, and only under the flush lock, so a reload sees no
+ * delta in flight and subtracts every reservation the database has not seen
+ * yet. Products without a store_stock row are not stock tracked and always
+ * reserve successfully.
+ */
+@Service
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    private static final String APPLY_DELTA_SQL =
+            "update store_stock set quantity = quantity - ? " +
+            "where store_id = ? and product_id = ? and quantity - ? >= 0";
+
+    private static final String ADJUST_SQL =
+            "insert into store_stock (store_id, product_id, quantity) values (?, ?, greatest(?, 0)) " +
+            "on duplicate key update quantity = greatest(quantity + ?, 0)";
+
+    private static final String DELETE_SQL =
+            "delete from store_stock where store_id = ? and product_id = ?";
+
+    @Autowired
+    private StoreStockRepository repo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    private final Map<StockKey, Slot> slots = new ConcurrentHashMap<>();
+    private final Set<StockKey> dirty = ConcurrentHashMap.newKeySet();
+
+    public boolean reserve(Integer storeId, Integer productId, int quantity) {
+        if (storeId == null || productId == null || quantity <= 0) {
+            return true;
+        }
+        StockKey key = new StockKey(storeId, productId);
+        Slot slot = slot(key);
+        synchronized (slot) {
+            if (!slot.tracked) {
+                return true;
+            }
+            if (slot.available < quantity) {
+                return false;
+            }
+            slot.available -= quantity;
+            slot.pending += quantity;
+        }
+        dirty.add(key);
+        return true;
+    }
+
+    /**
+     * Returns units to stock once the surrounding transaction commits, so a
+     * rolled-back cancel or sweep does not hand out stock twice.
+     */
+    public void release(Integer storeId, Integer productId, int quantity) {
+        if (storeId == null || productId == null || quantity <= 0) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            StockKey key = new StockKey(storeId, productId);
+            Slot slot = slot(key);
+            synchronized (slot) {
+                if (!slot.tracked) {
+                    return;
+                }
+                slot.available += quantity;
+                slot.pending -= quantity;
+            }
+            dirty.add(key);
+        });
+    }
+
+    public void releaseAll(Integer storeId, List<CartItem> items) {
+        for (CartItem ci : items) {
+            release(storeId, ci.getProductId(), ci.getQuantity() == null ? 0 : ci.getQuantity());
+        }
+    }
+
+    /**
+     * Adds (or with a negative delta removes) units, creating the stock row
+     * if needed. The in-memory slot is reloaded from the new database value.
+     */
+    public StockLevel adjust(Integer storeId, Integer productId, int delta) {
+        StockKey key = new StockKey(storeId, productId);
+        jdbc.update(ADJUST_SQL, storeId, productId, delta, delta);
+        synchronized (this) {
+            Slot slot = slots.get(key);
+            if (slot != null) {
+                reload(slot, repo.findQuantity(storeId, productId));
+            }
+        }
+        searchIndex.stockedIn(storeId, productId);
+        return level(storeId, productId);
+    }
+
+    /**
+     * Deletes the stock row, which takes the product out of stock tracking
+     * for the store. Runs under the flush lock, so the deltas dropped with
+     * the slot are never written after the row is gone.
+     */
+    public StockLevel remove(Integer storeId, Integer productId) {
+        synchronized (this) {
+            jdbc.update(DELETE_SQL, storeId, productId);
+            Slot slot = slots.get(new StockKey(storeId, productId));
+            if (slot != null) {
+                reload(slot, Optional.empty());
+            }
+        }
+        searchIndex.unstocked(storeId, productId);
+        return level(storeId, productId);
+    }
+
+    /**
+     * Loads the slots of every store that stocks {@code productId}, so the
+     * first reservations of a hot product do not each go to the database.
+     */
+    public synchronized int warm(Integer productId) {
+        List<int[]> rows = jdbc.query("select store_id, quantity from store_stock where product_id = ?",
+                (rs, i) -> new int[] { rs.getInt(1), rs.getInt(2) }, productId);
+        for (int[] r : rows) {
+            slots.putIfAbsent(new StockKey(r[0], productId), new Slot(true, Math.max(r[1], 0)));
+        }
+        return rows.size();
+    }
+
+    public StockLevel level(Integer storeId, Integer productId) {
+        Slot slot = slot(new StockKey(storeId, productId));
+        synchronized (slot) {
+            return slot.tracked
+                    ? new StockLevel(storeId, productId, true, slot.available)
+                    : new StockLevel(storeId, productId, false, null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${grocery.inventory.flush-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        List<StockKey> keys = new ArrayList<>();
+        for (StockKey k : dirty) {
+            dirty.remove(k);
+            Slot slot = slots.get(k);
+            int delta;
+            synchronized (slot) {
+                delta = slot.pending;
+                slot.pending = 0;
+            }
+            if (delta != 0) {
+                rows.add(new Object[] { delta, k.storeId(), k.productId(), delta });
+                keys.add(k);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        int[] results;
+        try {
+            results = jdbc.batchUpdate(APPLY_DELTA_SQL, rows);
+        } catch (RuntimeException e) {
+            log.warn("Stock flush failed, keeping {} deltas for the next run", rows.size(), e);
+            for (int i = 0; i < rows.size(); i++) {
+                restore(keys.get(i), (Integer) rows.get(i)[0]);
+            }
+            return;
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == 0) {
+                reconcile(keys.get(i), (Integer) rows.get(i)[0]);
+            }
+        }
+    }
+
+    /**
+     * The row no longer holds enough units for reservations already handed
+     * out (it was lowered outside the ledger). The delta is kept so it lands
+     * once stock is added back, and the slot is reloaded as database minus
+     * outstanding deltas, which stops new reservations until then. A row
+     * that was deleted takes the product out of stock tracking, so its
+     * delta is dropped.
+     */
+    private void reconcile(StockKey key, int delta) {
+        Optional<Integer> quantity = repo.findQuantity(key.storeId(), key.productId());
+        if (quantity.isEmpty()) {
+            log.warn("Stock row for {} is gone, dropping a delta of {}", key, delta);
+            searchIndex.unstocked(key.storeId(), key.productId());
+        } else {
+            log.warn("Stock for {} is short of a delta of {}, holding it until restocked", key, delta);
+            restore(key, delta);
+        }
+        reload(slots.get(key), quantity);
+    }
+
+    private void restore(StockKey key, int delta) {
+        Slot slot = slots.get(key);
+        synchronized (slot) {
+            slot.pending += delta;
+        }
+        dirty.add(key);
+    }
+
+    /** Caller holds the flush lock, so every delta not in the row is still in {@code pending}. */
+    private static void reload(Slot slot, Optional<Integer> quantity) {
+        synchronized (slot) {
+            slot.tracked = quantity.isPresent();
+            if (slot.tracked) {
+                slot.available = Math.max(quantity.get() - slot.pending, 0);
+            } else {
+                slot.available = 0;
+                slot.pending = 0;
+            }
+        }
+    }
+
+    private Slot slot(StockKey key) {
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            return slot;
+        }
+        synchronized (this) {
+            slot = slots.get(key);
+            if (slot != null) {
+                return slot;
+            }
+            Slot loaded = repo.findQuantity(key.storeId(), key.productId())
+                    .map(q -> new Slot(true, Math.max(q, 0)))
+                    .orElseGet(() -> new Slot(false, 0));
+            slots.put(key, loaded);
+            return loaded;
+        }
+    }
+
+    private record StockKey(Integer storeId, Integer productId) {
+    }
+
+    /** Guarded by its own monitor. */
+    private static final class Slot {
+
+        private boolean tracked;
+        private int available;
+        private int pending;
+
+        Slot(boolean tracked, int available) {
+            this.tracked = tracked;
+            this.available = available;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.system.grocery.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+import com.system.grocery.dto.GeoPoint;
+
+/**
+ * Offline resolver that reads a "lat,lng" pair embedded in the address
+ * text, e.g. "12 Market St (12.9716, 77.5946)". Results are memoised.
+ * Plug in a real geocoder by registering another resolver as {@code @Primary}.
+ */
+@Component
+public class LocalAddressResolver implements AddressResolver {
+
+    private static final Pattern COORDINATES =
+            Pattern.compile("(-?\\d{1,2}(?:\\.\\d+)?)\\s*,\\s*(-?\\d{1,3}(?:\\.\\d+)?)");
+
+    private static final int MAX_CACHED = 100_000;
+
+    private final Map<String, Optional<GeoPoint>> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<GeoPoint> resolve(String address) {
+        if (address == null || address.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<GeoPoint> hit = cache.get(address);
+        if (hit != null) {
+            return hit;
+        }
+        Optional<GeoPoint> point = parse(address);
+        if (cache.size() < MAX_CACHED) {
+            cache.put(address, point);
+        }
+        return point;
+    }
+
+    private static Optional<GeoPoint> parse(String address) {
+        Matcher m = COORDINATES.matcher(address);
+        while (m.find()) {
+            double lat = Double.parseDouble(m.group(1));
+            double lng = Double.parseDouble(m.group(2));
+            if (Math.abs(lat) <= 90 && Math.abs(lng) <= 180) {
+                return Optional.of(new GeoPoint(lat, lng));
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -1,19 +1,81 @@
 package com.system.grocery.service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.system.grocery.dto.NotificationPage;
+import com.system.grocery.dto.UserUnreadCount;
 import com.system.grocery.entity.Notification;
 import com.system.grocery.repository.NotificationRepository;
 
 @Service
 public class NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private NotificationRepository repo;
 
+    @Autowired
+    private NotificationStreamService stream;
+
+    private final Map<Integer, AtomicInteger> unreadByUser = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildUnreadCounts() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (UserUnreadCount c : repo.countUnreadByUser()) {
+            counts.put(c.userId(), c.unread().intValue());
+        }
+        unreadByUser.keySet().retainAll(counts.keySet());
+        counts.forEach((userId, count) ->
+                unreadByUser.computeIfAbsent(userId, k -> new AtomicInteger()).set(count));
+    }
+
     public Notification save(Notification n) {
-        return repo.save(n);
+        if (n.getIsRead() == null) {
+            n.setIsRead(false);
+        }
+        Notification before = n.getId() == null ? null : repo.findById(n.getId()).orElse(null);
+        // With open-in-view, "before" is the managed instance that save merges
+        // into, so its state has to be read now rather than after the commit.
+        boolean created = before == null;
+        boolean wasUnread = isUnread(before);
+        Integer previousUserId = created ? null : before.getUserId();
+
+        Notification saved = repo.save(n);
+        boolean nowUnread = isUnread(saved);
+        Integer userId = saved.getUserId();
+
+        TransactionHooks.afterCommit(() -> {
+            if (wasUnread) {
+                adjustUnread(previousUserId, -1);
+            }
+            if (nowUnread) {
+                adjustUnread(userId, 1);
+            }
+            if (created) {
+                stream.publish(saved, unreadCount(userId));
+            } else {
+                if (previousUserId != null && !previousUserId.equals(userId)) {
+                    stream.publishUnread(previousUserId, unreadCount(previousUserId));
+                }
+                stream.publishUnread(userId, unreadCount(userId));
+            }
+        });
+        return saved;
     }
 
     public List<Notification> getAll() {
@@ -24,11 +86,60 @@ public class NotificationService {
         return repo.findById(id).orElse(null);
     }
 
+    public NotificationPage inbox(Integer userId, boolean unreadOnly, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        Slice<Notification> slice = unreadOnly
+                ? repo.findUnreadByUserId(userId, pageable)
+                : repo.findByUserIdOrderByIdDesc(userId, pageable);
+        return new NotificationPage(slice.getContent(), slice.getNumber(), slice.hasNext(), unreadCount(userId));
+    }
+
+    public int unreadCount(Integer userId) {
+        AtomicInteger count = unreadByUser.get(userId);
+        return count == null ? 0 : Math.max(count.get(), 0);
+    }
+
+    @Transactional
+    public int markRead(Integer userId, Collection<Integer> ids) {
+        int updated = ids == null || ids.isEmpty()
+                ? repo.markAllRead(userId)
+                : repo.markRead(userId, ids);
+        if (updated > 0) {
+            TransactionHooks.afterCommit(() -> {
+                adjustUnread(userId, -updated);
+                stream.publishUnread(userId, unreadCount(userId));
+            });
+        }
+        return updated;
+    }
+
+    public SseEmitter subscribe(Integer userId) {
+        return stream.subscribe(userId, unreadCount(userId));
+    }
+
     public String delete(Integer id) {
-        if (repo.existsById(id)) {
+        Notification existing = repo.findById(id).orElse(null);
+        if (existing != null) {
+            boolean wasUnread = isUnread(existing);
+            Integer userId = existing.getUserId();
             repo.deleteById(id);
+            TransactionHooks.afterCommit(() -> {
+                if (wasUnread) {
+                    adjustUnread(userId, -1);
+                    stream.publishUnread(userId, unreadCount(userId));
+                }
+            });
             return "Notification deleted";
         }
         return "Notification not found";
     }
+
+    /** Same rule as the repository queries: anything not marked read, NULL included. */
+    private static boolean isUnread(Notification n) {
+        return n != null && n.getUserId() != null && !Boolean.TRUE.equals(n.getIsRead());
+    }
+
+    private void adjustUnread(Integer userId, int delta) {
+        unreadByUser.computeIfAbsent(userId, k -> new AtomicInteger()).addAndGet(delta);
+    }
 }
@@ -0,0 +1,77 @@
+package com.system.grocery.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.system.grocery.entity.Notification;
+
+/**
+ * Keeps the open server-sent-event connections per user and pushes new
+ * notifications and unread counts to them.
+ */
+@Service
+public class NotificationStreamService {
+
+    @Value("${grocery.notifications.stream-timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Map<Integer, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Integer userId, int unreadCount) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> list = emitters.computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>());
+        list.add(emitter);
+
+        Runnable remove = () -> remove(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        send(userId, emitter, "unread", unreadCount);
+        return emitter;
+    }
+
+    public void publish(Notification n, int unreadCount) {
+        List<SseEmitter> list = emitters.get(n.getUserId());
+        if (list == null) {
+            return;
+        }
+        for (SseEmitter emitter : list) {
+            if (send(n.getUserId(), emitter, "notification", n)) {
+                send(n.getUserId(), emitter, "unread", unreadCount);
+            }
+        }
+    }
+
+    public void publishUnread(Integer userId, int unreadCount) {
+        List<SseEmitter> list = emitters.get(userId);
+        if (list == null) {
+            return;
+        }
+        for (SseEmitter emitter : list) {
+            send(userId, emitter, "unread", unreadCount);
+        }
+    }
+
+    private boolean send(Integer userId, SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            remove(userId, emitter);
+            return false;
+        }
+    }
+
+    private void remove(Integer userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (k, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
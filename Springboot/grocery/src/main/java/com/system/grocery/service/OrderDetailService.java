@@ -0,0 +1,123 @@
+package com.system.grocery.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.system.grocery.dto.DeliveryInfo;
+import com.system.grocery.dto.OrderDetail;
+import com.system.grocery.dto.OrderLine;
+import com.system.grocery.dto.PageResult;
+import com.system.grocery.dto.PaymentInfo;
+import com.system.grocery.dto.StoreInfo;
+import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.DeliveryRepository;
+import com.system.grocery.repository.OrderTblRepository;
+import com.system.grocery.repository.PaymentRepository;
+import com.system.grocery.repository.StoreRepository;
+
+/**
+ * Read-only order screens assembled from a fixed number of queries.
+ *
+ * However many orders are requested, the orders are loaded once and their
+ * lines (with product names), payments, deliveries (with agents) and stores
+ * are each fetched with a single IN query, then stitched together in memory.
+ */
+@Service
+public class OrderDetailService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    @Autowired
+    private OrderTblRepository orderRepo;
+
+    @Autowired
+    private CartItemRepository cartItemRepo;
+
+    @Autowired
+    private PaymentRepository paymentRepo;
+
+    @Autowired
+    private DeliveryRepository deliveryRepo;
+
+    @Autowired
+    private StoreRepository storeRepo;
+
+    @Transactional(readOnly = true)
+    public OrderDetail detail(Integer orderId) {
+        return orderRepo.findById(orderId)
+                .map(o -> assemble(List.of(o)).get(0))
+                .orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResult<OrderDetail> history(Integer userId, int page, int size) {
+        Slice<OrderTbl> slice = orderRepo.findByUserIdOrderByOrderTimeDescIdDesc(userId,
+                PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
+        return new PageResult<>(assemble(slice.getContent()), slice.getNumber(), slice.hasNext());
+    }
+
+    private List<OrderDetail> assemble(List<OrderTbl> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> orderIds = new HashSet<>();
+        Set<Integer> cartIds = new HashSet<>();
+        Set<Integer> storeIds = new HashSet<>();
+        for (OrderTbl o : orders) {
+            orderIds.add(o.getId());
+            if (o.getCartId() != null) {
+                cartIds.add(o.getCartId());
+            }
+            if (o.getStoreId() != null) {
+                storeIds.add(o.getStoreId());
+            }
+        }
+
+        Map<Integer, List<OrderLine>> linesByCart = new HashMap<>();
+        if (!cartIds.isEmpty()) {
+            for (OrderLine l : cartItemRepo.findLinesByCartIds(cartIds)) {
+                linesByCart.computeIfAbsent(l.cartId(), k -> new ArrayList<>()).add(l);
+            }
+        }
+        Map<Integer, List<PaymentInfo>> paymentsByOrder = new HashMap<>();
+        for (PaymentInfo p : paymentRepo.findInfoByOrderIds(orderIds)) {
+            paymentsByOrder.computeIfAbsent(p.orderId(), k -> new ArrayList<>()).add(p);
+        }
+        Map<Integer, List<DeliveryInfo>> deliveriesByOrder = new HashMap<>();
+        for (DeliveryInfo d : deliveryRepo.findInfoByOrderIds(orderIds)) {
+            deliveriesByOrder.computeIfAbsent(d.orderId(), k -> new ArrayList<>()).add(d);
+        }
+        Map<Integer, StoreInfo> stores = new HashMap<>();
+        if (!storeIds.isEmpty()) {
+            for (StoreInfo s : storeRepo.findInfoByIds(storeIds)) {
+                stores.put(s.id(), s);
+            }
+        }
+
+        List<OrderDetail> details = new ArrayList<>(orders.size());
+        for (OrderTbl o : orders) {
+            details.add(new OrderDetail(
+                    o.getId(),
+                    o.getUserId(),
+                    o.getCartId(),
+                    o.getStatus(),
+                    o.getTotalAmount(),
+                    o.getOrderTime(),
+                    o.getDeliveryAddress(),
+                    o.getStoreId() == null ? null : stores.get(o.getStoreId()),
+                    List.copyOf(linesByCart.getOrDefault(o.getCartId(), List.of())),
+                    List.copyOf(paymentsByOrder.getOrDefault(o.getId(), List.of())),
+                    List.copyOf(deliveriesByOrder.getOrDefault(o.getId(), List.of()))));
+        }
+        return details;
+    }
+}
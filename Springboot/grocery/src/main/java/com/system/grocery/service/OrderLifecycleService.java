@@ -0,0 +1,162 @@
+package com.system.grocery.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.system.grocery.dto.DeliveryAssignment;
+import com.system.grocery.dto.TransitionOutcome;
+import com.system.grocery.dto.TransitionResult;
+import com.system.grocery.entity.DeliveryStatus;
+import com.system.grocery.entity.OrderStatus;
+import com.system.grocery.entity.OrderStatusHistory;
+import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.entity.PaymentStatus;
+import com.system.grocery.entity.StatusLifecycle;
+import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.DeliveryRepository;
+import com.system.grocery.repository.DeliveryTripRepository;
+import com.system.grocery.repository.OrderStatusHistoryRepository;
+import com.system.grocery.repository.OrderTblRepository;
+import com.system.grocery.repository.PaymentRepository;
+
+/**
+ * Moves orders, payments and deliveries between statuses with a single
+ * conditional UPDATE ... WHERE status = ?, so concurrent writers cannot
+ * overwrite each other's transition. Order transitions are also appended
+ * to order_status_history. A delivery handed back to PENDING or cancelled
+ * loses its agent, trip and stop in the same UPDATE, so dispatch can pick it
+ * up again and the agent is free for other trips. Cancelling an order
+ * cancels its deliveries one by one through the same path.
+ */
+@Service
+public class OrderLifecycleService {
+
+    private static final EnumSet<DeliveryStatus> OPEN_DELIVERY = EnumSet.of(DeliveryStatus.ASSIGNED, DeliveryStatus.PICKED_UP);
+    private static final EnumSet<DeliveryStatus> UNASSIGNING = EnumSet.of(DeliveryStatus.PENDING, DeliveryStatus.CANCELLED);
+
+    @Autowired
+    private OrderTblRepository orderRepo;
+
+    @Autowired
+    private PaymentRepository paymentRepo;
+
+    @Autowired
+    private DeliveryRepository deliveryRepo;
+
+    @Autowired
+    private OrderStatusHistoryRepository historyRepo;
+
+    @Autowired
+    private SalesRollupService sales;
+
+    @Autowired
+    private InventoryService inventory;
+
+    @Autowired
+    private CartItemRepository cartItemRepo;
+
+    @Autowired
+    private DeliveryTripRepository tripRepo;
+
+    @Autowired
+    private DispatchService dispatch;
+
+    @Transactional
+    public TransitionResult<OrderStatus> transitionOrder(Integer orderId, OrderStatus expected, OrderStatus to) {
+        TransitionResult<OrderStatus> result = apply(orderId, expected, to,
+                orderRepo::findStatusById,
+                (id, from, next) -> orderRepo.updateStatus(id, from, next));
+
+        if (result.outcome() == TransitionOutcome.APPLIED) {
+            historyRepo.save(new OrderStatusHistory(orderId, result.from(), to, LocalDateTime.now()));
+            if (to == OrderStatus.CANCELLED) {
+                // A delivery picked up in the meantime loses the race and keeps going.
+                for (Integer deliveryId : deliveryRepo.findIdsByOrderIdAndStatusIn(orderId,
+                        EnumSet.of(DeliveryStatus.PENDING, DeliveryStatus.ASSIGNED))) {
+                    transitionDelivery(deliveryId, null, DeliveryStatus.CANCELLED);
+                }
+                OrderTbl order = orderRepo.findById(orderId).orElse(null);
+                sales.orderCancelled(order);
+                if (order != null && order.getCartId() != null) {
+                    inventory.releaseAll(order.getStoreId(), cartItemRepo.findByCartId(order.getCartId()));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Transactional
+    public TransitionResult<PaymentStatus> transitionPayment(Integer paymentId, PaymentStatus expected, PaymentStatus to) {
+        return apply(paymentId, expected, to,
+                paymentRepo::findStatusById,
+                (id, from, next) -> next == PaymentStatus.PAID
+                        ? paymentRepo.updateStatusAndPaidTime(id, from, next, LocalDateTime.now())
+                        : paymentRepo.updateStatus(id, from, next));
+    }
+
+    @Transactional
+    public TransitionResult<DeliveryStatus> transitionDelivery(Integer deliveryId, DeliveryStatus expected, DeliveryStatus to) {
+        DeliveryAssignment assignment = deliveryRepo.findAssignmentById(deliveryId).orElse(null);
+        TransitionResult<DeliveryStatus> result = apply(deliveryId, expected, to,
+                deliveryRepo::findStatusById,
+                (id, from, next) -> switch (next) {
+                    case DELIVERED -> deliveryRepo.updateStatusAndDeliveryTime(id, from, next, LocalDateTime.now());
+                    case PENDING, CANCELLED -> deliveryRepo.updateStatusAndUnassign(id, from, next);
+                    default -> deliveryRepo.updateStatus(id, from, next);
+                });
+
+        if (result.outcome() == TransitionOutcome.APPLIED && assignment != null
+                && OPEN_DELIVERY.contains(result.from()) && !OPEN_DELIVERY.contains(to)) {
+            if (UNASSIGNING.contains(to) && assignment.tripId() != null) {
+                tripRepo.dropStops(assignment.tripId(), 1);
+                tripRepo.deleteIfEmpty(assignment.tripId());
+            }
+            Integer agentId = assignment.agentId();
+            TransactionHooks.afterCommit(() -> dispatch.released(agentId));
+        }
+        return result;
+    }
+
+    public List<OrderStatusHistory> history(Integer orderId) {
+        return historyRepo.findByOrderIdOrderByIdAsc(orderId);
+    }
+
+    private <S extends Enum<S> & StatusLifecycle<S>> TransitionResult<S> apply(
+            Integer id, S expected, S to,
+            Function<Integer, Optional<S>> reader,
+            ConditionalUpdate<S> update) {
+
+        S from = expected;
+        if (from == null) {
+            Optional<S> current = reader.apply(id);
+            if (current.isEmpty()) {
+                return new TransitionResult<>(TransitionOutcome.NOT_FOUND, id, null, null);
+            }
+            from = current.get();
+        }
+
+        if (!from.canTransitionTo(to)) {
+            return new TransitionResult<>(TransitionOutcome.INVALID_TRANSITION, id, from, from);
+        }
+
+        if (update.apply(id, from, to) == 1) {
+            return new TransitionResult<>(TransitionOutcome.APPLIED, id, from, to);
+        }
+
+        Optional<S> actual = reader.apply(id);
+        if (actual.isEmpty()) {
+            return new TransitionResult<>(TransitionOutcome.NOT_FOUND, id, null, null);
+        }
+        return new TransitionResult<>(TransitionOutcome.CONFLICT, id, from, actual.get());
+    }
+
+    @FunctionalInterface
+    private interface ConditionalUpdate<S> {
+        int apply(Integer id, S from, S to);
+    }
+}
@@ -1,25 +1,102 @@
 package com.system.grocery.service;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import com.system.grocery.dto.OrderHistoryPage;
+import com.system.grocery.dto.OrderSummary;
+import com.system.grocery.dto.PageResult;
+import com.system.grocery.dto.StoreOrderCount;
+import com.system.grocery.entity.OrderStatus;
 import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.exception.InvalidCursorException;
+import com.system.grocery.exception.StatusChangeException;
 import com.system.grocery.repository.OrderTblRepository;
 
 @Service
 public class OrderTblService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_HISTORY_SIZE = 20;
+
     @Autowired
     private OrderTblRepository repo;
 
+    @Autowired
+    private SalesRollupService sales;
+
     public OrderTbl save(OrderTbl o) {
-        return repo.save(o);
+        boolean created = o.getId() == null;
+        if (!created) {
+            repo.findStatusById(o.getId()).ifPresent(current -> {
+                if (o.getStatus() == null) {
+                    o.setStatus(current);
+                } else if (o.getStatus() != current) {
+                    throw new StatusChangeException("Order status changes go through PUT /orders/" + o.getId() + "/status");
+                }
+            });
+        }
+        OrderTbl saved = repo.save(o);
+        if (created && saved.getStatus() != OrderStatus.CANCELLED) {
+            sales.orderPlaced(saved);
+        }
+        return saved;
     }
 
     public List<OrderTbl> getAll() {
         return repo.findAll();
     }
 
+    /** Orders placed in [from, to), oldest first; the same half-open window as countByStore and the rollups. */
+    public PageResult<OrderTbl> getByTimeRange(Integer storeId, LocalDateTime from, LocalDateTime to,
+                                               int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by("orderTime", "id"));
+        Slice<OrderTbl> slice = storeId == null
+                ? repo.findByOrderTimeGreaterThanEqualAndOrderTimeLessThan(from, to, pageable)
+                : repo.findByStoreIdAndOrderTimeGreaterThanEqualAndOrderTimeLessThan(storeId, from, to, pageable);
+        return new PageResult<>(slice.getContent(), slice.getNumber(), slice.hasNext());
+    }
+
+    /**
+     * Newest-first order history for one user, paged by an opaque
+     * "orderTime_id" cursor so every page is a range scan on idx_order_user_time.
+     */
+    public OrderHistoryPage history(Integer userId, OrderStatus status, String cursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_HISTORY_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        List<OrderSummary> items;
+        if (cursor == null || cursor.isBlank()) {
+            items = repo.findHistory(userId, status, Limit.of(pageSize));
+        } else {
+            int sep = cursor.lastIndexOf('_');
+            try {
+                items = repo.findHistoryBefore(userId,
+                        LocalDateTime.parse(cursor.substring(0, sep)),
+                        Integer.valueOf(cursor.substring(sep + 1)),
+                        status, Limit.of(pageSize));
+            } catch (DateTimeParseException | IndexOutOfBoundsException | NumberFormatException e) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+        }
+        String next = null;
+        if (items.size() == pageSize) {
+            OrderSummary last = items.get(items.size() - 1);
+            next = last.orderTime() + "_" + last.id();
+        }
+        return new OrderHistoryPage(items, next);
+    }
+
+    public List<StoreOrderCount> countByStore(LocalDateTime from, LocalDateTime to) {
+        return repo.countByStoreBetween(from, to);
+    }
+
     public OrderTbl getById(Integer id) {
         return repo.findById(id).orElse(null);
     }
@@ -0,0 +1,212 @@
+package com.system.grocery.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.IdempotencyRecord;
+import com.system.grocery.dto.PaymentResult;
+import com.system.grocery.entity.Payment;
+import com.system.grocery.exception.IdempotencyKeyException;
+import com.system.grocery.repository.PaymentIdempotencyKeyRepository;
+import com.system.grocery.repository.PaymentRepository;
+
+/**
+ * Makes POST /payments safe to retry. The first request for an
+ * (order, Idempotency-Key) pair creates the payment; later ones replay the
+ * payment created first instead of writing another row.
+ *
+ * Recent keys are answered from a bounded in-memory map. Older ones fall
+ * back to payment_idempotency_key. A first attempt claims its key with an
+ * upsert on the unique (order_id, idem_key) constraint, which takes over an
+ * expired row and makes concurrent attempts wait for the winner instead of
+ * failing. Key rows are only read through projections, so the request's
+ * persistence context never holds a stale copy. Keys expire after the
+ * configured TTL in both places.
+ */
+@Service
+public class PaymentIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentIdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int PURGE_BATCH = 1000;
+
+    @Autowired
+    private PaymentRepository paymentRepo;
+
+    @Autowired
+    private PaymentIdempotencyKeyRepository keyRepo;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    private final int maxEntries;
+    private final long ttlMinutes;
+    private final LinkedHashMap<String, Entry> recent;
+
+    public PaymentIdempotencyService(@Value("${grocery.idempotency.max-entries:10000}") int maxEntries,
+                                     @Value("${grocery.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        this.maxEntries = maxEntries;
+        this.ttlMinutes = ttlMinutes;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PaymentIdempotencyService.this.maxEntries;
+            }
+        };
+    }
+
+    public PaymentResult create(Payment p, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new PaymentResult(paymentRepo.save(p), false);
+        }
+        if (p.getOrderId() == null) {
+            throw new IdempotencyKeyException("orderId is required with an Idempotency-Key");
+        }
+        String key = idempotencyKey.trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = p.getOrderId() + ":" + key;
+        String hash = fingerprint(p);
+
+        Payment cached = cachedPayment(cacheKey, hash);
+        if (cached != null) {
+            return new PaymentResult(cached, true);
+        }
+
+        PaymentResult stored = replayFromStore(p.getOrderId(), key, cacheKey, hash);
+        if (stored != null) {
+            return stored;
+        }
+
+        Payment created = tx.execute(status -> {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            keyRepo.claim(p.getOrderId(), key, hash, now, now.minusMinutes(ttlMinutes));
+            IdempotencyRecord record = keyRepo.findRecord(p.getOrderId(), key).orElse(null);
+            if (!claimedBy(record, hash, now)) {
+                return null;
+            }
+            Payment saved = paymentRepo.save(p);
+            keyRepo.attachPayment(p.getOrderId(), key, saved.getId());
+            return saved;
+        });
+        if (created != null) {
+            remember(cacheKey, hash, created);
+            return new PaymentResult(created, false);
+        }
+
+        // A concurrent request with the same key committed first; the claim
+        // waited on its row lock, so its payment is visible now.
+        PaymentResult winner = replayFromStore(p.getOrderId(), key, cacheKey, hash);
+        if (winner == null) {
+            throw new IdempotencyKeyException("Idempotency-Key is held by a request that did not create a payment");
+        }
+        return winner;
+    }
+
+    @Scheduled(fixedDelayString = "${grocery.idempotency.purge-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ttlMinutes);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = keyRepo.deleteExpired(cutoff, PURGE_BATCH);
+            total += deleted;
+        } while (deleted == PURGE_BATCH);
+        if (total > 0) {
+            log.info("Purged {} expired payment idempotency keys", total);
+        }
+    }
+
+    private PaymentResult replayFromStore(Integer orderId, String key, String cacheKey, String hash) {
+        IdempotencyRecord record = keyRepo.findRecord(orderId, key).orElse(null);
+        if (record == null || record.createdAt().isBefore(LocalDateTime.now().minusMinutes(ttlMinutes))) {
+            return null;
+        }
+        if (!record.requestHash().equals(hash)) {
+            throw new IdempotencyKeyException("Idempotency-Key was already used with a different request");
+        }
+        Payment payment = record.paymentId() == null ? null : paymentRepo.findById(record.paymentId()).orElse(null);
+        if (payment == null) {
+            return null;
+        }
+        remember(cacheKey, hash, payment);
+        return new PaymentResult(payment, true);
+    }
+
+    /**
+     * The row is ours if the claim inserted or took it over: our hash and
+     * timestamp, and no payment yet. A live row left by another request
+     * already has its payment, because our claim waited for it to commit.
+     */
+    private static boolean claimedBy(IdempotencyRecord record, String hash, LocalDateTime claimedAt) {
+        return record != null
+                && record.paymentId() == null
+                && record.requestHash().equals(hash)
+                && record.createdAt().equals(claimedAt);
+    }
+
+    private Payment cachedPayment(String cacheKey, String hash) {
+        Entry e;
+        synchronized (recent) {
+            e = recent.get(cacheKey);
+            if (e != null && e.expiresAt().isBefore(LocalDateTime.now())) {
+                recent.remove(cacheKey);
+                e = null;
+            }
+        }
+        if (e == null) {
+            return null;
+        }
+        if (!e.hash().equals(hash)) {
+            throw new IdempotencyKeyException("Idempotency-Key was already used with a different request");
+        }
+        return e.payment();
+    }
+
+    private void remember(String cacheKey, String hash, Payment payment) {
+        Entry e = new Entry(hash, snapshot(payment), LocalDateTime.now().plusMinutes(ttlMinutes));
+        synchronized (recent) {
+            recent.put(cacheKey, e);
+        }
+    }
+
+    private static Payment snapshot(Payment p) {
+        Payment copy = new Payment();
+        copy.setId(p.getId());
+        copy.setOrderId(p.getOrderId());
+        copy.setMethod(p.getMethod());
+        copy.setAmount(p.getAmount());
+        copy.setStatus(p.getStatus());
+        copy.setVersion(p.getVersion());
+        copy.setPaidTime(p.getPaidTime());
+        return copy;
+    }
+
+    private static String fingerprint(Payment p) {
+        String canonical = p.getOrderId() + "|" + p.getMethod() + "|" + p.getAmount() + "|" + p.getStatus();
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(String hash, Payment payment, LocalDateTime expiresAt) {
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import com.system.grocery.entity.Payment;
+import com.system.grocery.exception.StatusChangeException;
 import com.system.grocery.repository.PaymentRepository;
 
 @Service
@@ -13,6 +14,15 @@ public class PaymentService {
     private PaymentRepository repo;
 
     public Payment save(Payment p) {
+        if (p.getId() != null) {
+            repo.findStatusById(p.getId()).ifPresent(current -> {
+                if (p.getStatus() == null) {
+                    p.setStatus(current);
+                } else if (p.getStatus() != current) {
+                    throw new StatusChangeException("Payment status changes go through PUT /payments/" + p.getId() + "/status");
+                }
+            });
+        }
         return repo.save(p);
     }
 
@@ -0,0 +1,289 @@
+package com.system.grocery.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.ImportError;
+import com.system.grocery.dto.ImportReport;
+import com.system.grocery.dto.ProductImportRow;
+import com.system.grocery.exception.ImportInProgressException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Streams a CSV or NDJSON product file line by line and inserts valid rows
+ * with JDBC batches, one transaction per batch. A failing batch is retried
+ * row by row so a single bad row only costs itself. One import runs at a
+ * time: progress and the post-import reindex are both tracked for a single
+ * run, so a second request is rejected while one is in flight.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private static final String INSERT_SQL =
+            "insert into product (name, price, available, category_id, created_at) values (?, ?, ?, ?, ?)";
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @Autowired
+    private JsonMapper json;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private CategoryTreeService categoryTree;
+
+    @Value("${grocery.import.batch-size:1000}")
+    private int defaultBatchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile ImportReport current = new ImportReport("IDLE", 0, 0, 0, List.of(), 0);
+
+    public ImportReport progress() {
+        return current;
+    }
+
+    public ImportReport importProducts(InputStream body, String contentType, Integer batchSize) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new ImportInProgressException("A product import is already running; check /products/import/progress");
+        }
+        try {
+            return runImport(body, contentType, batchSize);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ImportReport runImport(InputStream body, String contentType, Integer batchSize) throws IOException {
+        boolean ndjson = contentType != null && contentType.toLowerCase(Locale.ROOT).contains("ndjson");
+        int size = batchSize == null || batchSize <= 0 ? defaultBatchSize : batchSize;
+        Run run = new Run(System.currentTimeMillis());
+        Integer maxIdBefore = jdbc.queryForObject("select coalesce(max(id), 0) from product", Integer.class);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = null;
+            List<Row> batch = new ArrayList<>(size);
+            String line;
+            long lineNo = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (!ndjson && header == null) {
+                    try {
+                        header = parseHeader(line);
+                    } catch (IllegalArgumentException e) {
+                        run.fail(lineNo, e.getMessage());
+                        current = run.report("FAILED");
+                        return current;
+                    }
+                    continue;
+                }
+
+                run.read++;
+                try {
+                    ProductImportRow row = ndjson ? json.readValue(line, ProductImportRow.class) : parseCsv(line, header);
+                    batch.add(new Row(lineNo, validate(row)));
+                } catch (IllegalArgumentException | JacksonException e) {
+                    run.fail(lineNo, e.getMessage());
+                }
+
+                if (batch.size() >= size) {
+                    write(batch, run);
+                    batch.clear();
+                }
+            }
+            write(batch, run);
+        }
+
+        if (run.imported > 0) {
+            searchIndex.indexFrom(maxIdBefore == null ? 0 : maxIdBefore);
+            categoryTree.indexFrom(maxIdBefore == null ? 0 : maxIdBefore);
+        }
+        current = run.report("DONE");
+        log.info("Product import finished: {} read, {} imported, {} failed in {} ms",
+                current.rowsRead(), current.rowsImported(), current.rowsFailed(), current.elapsedMs());
+        return current;
+    }
+
+    private void write(List<Row> batch, Run run) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            tx.executeWithoutResult(status -> jdbc.batchUpdate(INSERT_SQL, batch, batch.size(),
+                    (ps, r) -> bind(ps, r.product, now)));
+            run.imported += batch.size();
+        } catch (RuntimeException batchFailure) {
+            for (Row r : batch) {
+                try {
+                    jdbc.update(INSERT_SQL, ps -> bind(ps, r.product, now));
+                    run.imported++;
+                } catch (RuntimeException e) {
+                    run.fail(r.line, rootMessage(e));
+                }
+            }
+        }
+        current = run.report("RUNNING");
+        log.info("Product import progress: {} read, {} imported, {} failed",
+                run.read, run.imported, run.failed);
+    }
+
+    private static void bind(PreparedStatement ps, ProductImportRow p, Timestamp now) throws SQLException {
+        ps.setString(1, p.name());
+        ps.setDouble(2, p.price());
+        ps.setBoolean(3, p.available() == null || p.available());
+        if (p.categoryId() == null) {
+            ps.setNull(4, Types.INTEGER);
+        } else {
+            ps.setInt(4, p.categoryId());
+        }
+        ps.setTimestamp(5, now);
+    }
+
+    private static ProductImportRow validate(ProductImportRow row) {
+        if (row == null || row.name() == null || row.name().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (row.price() == null || row.price() < 0) {
+            throw new IllegalArgumentException("price must be zero or more");
+        }
+        return new ProductImportRow(row.name().trim(), row.price(), row.available(), row.categoryId());
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> cols = splitCsv(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < cols.size(); i++) {
+            header.put(cols.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        if (!header.containsKey("name") || !header.containsKey("price")) {
+            throw new IllegalArgumentException("CSV header must contain name and price");
+        }
+        return header;
+    }
+
+    private static ProductImportRow parseCsv(String line, Map<String, Integer> header) {
+        List<String> cols = splitCsv(line);
+        String name = column(cols, header, "name");
+        String price = column(cols, header, "price");
+        String available = column(cols, header, "available");
+        String categoryId = column(cols, header, "categoryid");
+        try {
+            return new ProductImportRow(
+                    name,
+                    price == null ? null : Double.valueOf(price),
+                    available == null ? null : Boolean.valueOf(available),
+                    categoryId == null ? null : Integer.valueOf(categoryId));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid number: " + e.getMessage());
+        }
+    }
+
+    private static String column(List<String> cols, Map<String, Integer> header, String name) {
+        Integer i = header.get(name);
+        if (i == null || i >= cols.size()) {
+            return null;
+        }
+        String v = cols.get(i).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        out.add(field.toString());
+        return out;
+    }
+
+    private static String rootMessage(RuntimeException e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private record Row(long line, ProductImportRow product) {
+    }
+
+    private static final class Run {
+        final long startedAt;
+        long read;
+        long imported;
+        long failed;
+        final List<ImportError> errors = new ArrayList<>();
+
+        Run(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportError(line, message));
+            }
+        }
+
+        ImportReport report(String status) {
+            return new ImportReport(status, read, imported, failed,
+                    Collections.unmodifiableList(new ArrayList<>(errors)),
+                    System.currentTimeMillis() - startedAt);
+        }
+    }
+}
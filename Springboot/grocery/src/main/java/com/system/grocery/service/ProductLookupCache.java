@@ -0,0 +1,189 @@
+package com.system.grocery.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.system.grocery.dto.CacheStats;
+import com.system.grocery.entity.Product;
+
+/**
+ * Bounded LRU cache of products by id with a time-to-live per entry.
+ * ProductService reads through it and invalidates it on every write.
+ * Pinned products (flash-sale SKUs) bypass the LRU lock and never expire.
+ *
+ * Entries are private copies and every read returns a fresh copy, so callers
+ * can never change what other callers see. Loaders take a {@link #stamp} before
+ * reading the database; a put or pin whose stamp was overtaken by an
+ * invalidation is dropped instead of caching the row the write replaced.
+ */
+@Component
+public class ProductLookupCache {
+
+    private static final int STRIPES = 64;
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLongArray writes = new AtomicLongArray(STRIPES);
+
+    private final LinkedHashMap<Integer, Entry> entries;
+    private final Map<Integer, Product> pinned = new ConcurrentHashMap<>();
+
+    public ProductLookupCache(@Value("${grocery.product-cache.max-size:10000}") int maxSize,
+                              @Value("${grocery.product-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() > ProductLookupCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Product get(Integer id) {
+        Product hot = pinned.get(id);
+        if (hot != null) {
+            hits.incrementAndGet();
+            return copy(hot);
+        }
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry e = entries.get(id);
+            if (e != null && e.expiresAt - now > 0) {
+                hits.incrementAndGet();
+                return copy(e.product);
+            }
+            if (e != null) {
+                entries.remove(id);
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Returns the cached products among {@code ids}; ids that are absent
+     * or expired are simply left out of the result.
+     */
+    public Map<Integer, Product> getAll(Collection<Integer> ids) {
+        Map<Integer, Product> found = new HashMap<>();
+        for (Integer id : ids) {
+            Product p = get(id);
+            if (p != null) {
+                found.put(id, p);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Write counter for {@code id}'s stripe; take it before loading the
+     * product and hand it to {@link #put} or {@link #pin}.
+     */
+    public long stamp(Integer id) {
+        return writes.get(stripe(id));
+    }
+
+    public void put(Product p, long stamp) {
+        if (p == null || p.getId() == null) {
+            return;
+        }
+        Entry e = new Entry(copy(p), System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            if (writes.get(stripe(p.getId())) == stamp) {
+                entries.put(p.getId(), e);
+            }
+        }
+    }
+
+    public void pin(Product p, long stamp) {
+        if (p == null || p.getId() == null) {
+            return;
+        }
+        synchronized (entries) {
+            if (writes.get(stripe(p.getId())) == stamp) {
+                pinned.put(p.getId(), copy(p));
+            }
+        }
+    }
+
+    /**
+     * Replaces a pinned product after a write; products that are not pinned
+     * are left alone.
+     */
+    public void repin(Product p) {
+        if (p != null && p.getId() != null) {
+            pinned.replace(p.getId(), copy(p));
+        }
+    }
+
+    public void unpin(Integer id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (entries) {
+            writes.incrementAndGet(stripe(id));
+            pinned.remove(id);
+        }
+    }
+
+    public void invalidate(Integer id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (entries) {
+            writes.incrementAndGet(stripe(id));
+            entries.remove(id);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            for (int i = 0; i < STRIPES; i++) {
+                writes.incrementAndGet(i);
+            }
+            entries.clear();
+        }
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), size, maxSize);
+    }
+
+    private static int stripe(Integer id) {
+        return Math.floorMod(id.hashCode(), STRIPES);
+    }
+
+    private static Product copy(Product p) {
+        Product c = new Product();
+        c.setId(p.getId());
+        c.setName(p.getName());
+        c.setPrice(p.getPrice());
+        c.setAvailable(p.getAvailable());
+        c.setCategoryId(p.getCategoryId());
+        c.setCreatedAt(p.getCreatedAt());
+        return c;
+    }
+
+    private record Entry(Product product, long expiresAt) {
+    }
+}
@@ -0,0 +1,301 @@
+package com.system.grocery.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import com.system.grocery.dto.ProductSummary;
+import com.system.grocery.entity.Category;
+import com.system.grocery.entity.Product;
+import com.system.grocery.repository.CategoryRepository;
+import com.system.grocery.repository.ProductRepository;
+
+/**
+ * In-memory inverted index over product names and category names.
+ *
+ * Terms live in sorted maps so a prefix is a sub-map range, which serves
+ * both search-as-you-type and autocomplete. Every query term must match a
+ * name or category term, exactly or by prefix; exact and name matches score
+ * higher. Writes are serialised and incremental; reads never touch MySQL.
+ */
+@Service
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+    private static final int MAX_PREFIX_TERMS = 200;
+    private static final int MAX_LIMIT = 100;
+
+    private static final double NAME_EXACT = 3.0;
+    private static final double NAME_PREFIX = 1.5;
+    private static final double CATEGORY_EXACT = 1.0;
+    private static final double CATEGORY_PREFIX = 0.5;
+
+    @Autowired
+    private ProductRepository productRepo;
+
+    @Autowired
+    private CategoryRepository categoryRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final Map<Integer, Doc> docs = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Integer>> nameTerms = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Set<Integer>> categoryTerms = new ConcurrentSkipListMap<>();
+    private final Map<Integer, String> categoryNames = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> productsByCategory = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> storesByProduct = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        docs.clear();
+        nameTerms.clear();
+        categoryTerms.clear();
+        categoryNames.clear();
+        productsByCategory.clear();
+        storesByProduct.clear();
+
+        for (Category c : categoryRepo.findAll()) {
+            if (c.getName() != null) {
+                categoryNames.put(c.getId(), c.getName());
+            }
+        }
+
+        indexFrom(0);
+
+        jdbc.query("select store_id, product_id from store_stock", rs -> {
+            storesByProduct.computeIfAbsent(rs.getInt(2), k -> ConcurrentHashMap.newKeySet()).add(rs.getInt(1));
+        });
+
+        log.info("Product search index built: {} products, {} name terms in {} ms",
+                docs.size(), nameTerms.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Indexes every product with an id above {@code afterId}; used after a
+     * bulk import that bypassed ProductService.
+     */
+    public synchronized void indexFrom(int afterId) {
+        int after = afterId;
+        while (true) {
+            List<ProductSummary> page = productRepo.findCatalogPage(
+                    after, null, null, null, null, Limit.of(LOAD_PAGE_SIZE));
+            for (ProductSummary p : page) {
+                remove(p.id());
+                add(new Doc(p.id(), p.name(), p.price(), p.available(), p.categoryId()));
+            }
+            if (page.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            after = page.get(page.size() - 1).id();
+        }
+    }
+
+    public synchronized void upsert(Product p) {
+        if (p == null || p.getId() == null) {
+            return;
+        }
+        remove(p.getId());
+        add(new Doc(p.getId(), p.getName(), p.getPrice(), p.getAvailable(), p.getCategoryId()));
+    }
+
+    public synchronized void remove(Integer productId) {
+        Doc old = docs.remove(productId);
+        if (old == null) {
+            return;
+        }
+        unpost(nameTerms, tokens(old.name()), productId);
+        unpost(categoryTerms, tokens(categoryNames.get(old.categoryId())), productId);
+        if (old.categoryId() != null) {
+            productsByCategory.computeIfPresent(old.categoryId(), (k, ids) -> {
+                ids.remove(productId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public synchronized void categoryChanged(Integer categoryId, String name) {
+        Set<Integer> ids = productsByCategory.getOrDefault(categoryId, Set.of());
+        for (Integer id : ids) {
+            unpost(categoryTerms, tokens(categoryNames.get(categoryId)), id);
+        }
+        if (name == null) {
+            categoryNames.remove(categoryId);
+        } else {
+            categoryNames.put(categoryId, name);
+        }
+        for (Integer id : ids) {
+            post(categoryTerms, tokens(name), id);
+        }
+    }
+
+    /** Products of a deleted category move to its parent, or to no category, as in product.category_id. */
+    public synchronized void categoryRemoved(Integer categoryId, Integer parentId) {
+        for (Integer id : List.copyOf(productsByCategory.getOrDefault(categoryId, Set.of()))) {
+            Doc d = docs.get(id);
+            remove(id);
+            add(new Doc(d.id(), d.name(), d.price(), d.available(), parentId));
+        }
+        categoryNames.remove(categoryId);
+    }
+
+    public void stockedIn(Integer storeId, Integer productId) {
+        storesByProduct.compute(productId, (k, stores) -> {
+            Set<Integer> s = stores == null ? ConcurrentHashMap.newKeySet() : stores;
+            s.add(storeId);
+            return s;
+        });
+    }
+
+    /** The store's stock row is gone, so the product no longer matches its storeId filter. */
+    public void unstocked(Integer storeId, Integer productId) {
+        storesByProduct.computeIfPresent(productId, (k, stores) -> {
+            stores.remove(storeId);
+            return stores.isEmpty() ? null : stores;
+        });
+    }
+
+    public List<ProductSummary> search(String query, Integer storeId, Boolean available, int limit) {
+        List<String> terms = tokens(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Double> scores = null;
+        for (String term : terms) {
+            Map<Integer, Double> termScores = new HashMap<>();
+            collect(nameTerms, term, NAME_EXACT, NAME_PREFIX, termScores);
+            collect(categoryTerms, term, CATEGORY_EXACT, CATEGORY_PREFIX, termScores);
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+                    e.setValue(e.getValue() + termScores.get(e.getKey()));
+                }
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> hits = new ArrayList<>();
+        for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+            Doc d = docs.get(e.getKey());
+            if (d != null && matches(d, storeId, available)) {
+                hits.add(e);
+            }
+        }
+        hits.sort(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                .thenComparing(e -> nameLength(docs.get(e.getKey())))
+                .thenComparing(Map.Entry::getKey));
+
+        int n = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<ProductSummary> result = new ArrayList<>(Math.min(n, hits.size()));
+        for (int i = 0; i < hits.size() && result.size() < n; i++) {
+            Doc d = docs.get(hits.get(i).getKey());
+            if (d != null) {
+                result.add(new ProductSummary(d.id(), d.name(), d.price(), d.available(), d.categoryId()));
+            }
+        }
+        return result;
+    }
+
+    public List<String> autocomplete(String prefix, Integer storeId, int limit) {
+        Set<String> names = new LinkedHashSet<>();
+        for (ProductSummary p : search(prefix, storeId, true, MAX_LIMIT)) {
+            names.add(p.name());
+            if (names.size() >= Math.max(limit, 1)) {
+                break;
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    private boolean matches(Doc d, Integer storeId, Boolean available) {
+        if (available != null && !available.equals(Boolean.TRUE.equals(d.available()))) {
+            return false;
+        }
+        if (storeId != null) {
+            Set<Integer> stores = storesByProduct.get(d.id());
+            return stores != null && stores.contains(storeId);
+        }
+        return true;
+    }
+
+    private static void collect(NavigableMap<String, Set<Integer>> index, String term,
+                                double exactScore, double prefixScore, Map<Integer, Double> out) {
+        int expanded = 0;
+        for (Map.Entry<String, Set<Integer>> e : index.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            double score = e.getKey().equals(term) ? exactScore : prefixScore;
+            for (Integer id : e.getValue()) {
+                out.merge(id, score, Math::max);
+            }
+            if (++expanded >= MAX_PREFIX_TERMS) {
+                break;
+            }
+        }
+    }
+
+    private void add(Doc d) {
+        docs.put(d.id(), d);
+        post(nameTerms, tokens(d.name()), d.id());
+        if (d.categoryId() != null) {
+            post(categoryTerms, tokens(categoryNames.get(d.categoryId())), d.id());
+            productsByCategory.computeIfAbsent(d.categoryId(), k -> ConcurrentHashMap.newKeySet()).add(d.id());
+        }
+    }
+
+    private static void post(Map<String, Set<Integer>> index, List<String> terms, Integer id) {
+        for (String t : terms) {
+            index.computeIfAbsent(t, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private static void unpost(Map<String, Set<Integer>> index, List<String> terms, Integer id) {
+        for (String t : terms) {
+            index.computeIfPresent(t, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static int nameLength(Doc d) {
+        return d == null || d.name() == null ? Integer.MAX_VALUE : d.name().length();
+    }
+
+    private static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> out = new ArrayList<>();
+        for (String t : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!t.isEmpty() && !out.contains(t)) {
+                out.add(t);
+            }
+        }
+        return out;
+    }
+
+    private record Doc(Integer id, String name, Double price, Boolean available, Integer categoryId) {
+    }
+}
@@ -1,32 +1,106 @@
 package com.system.grocery.service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import com.system.grocery.dto.CacheStats;
+import com.system.grocery.dto.CatalogPage;
+import com.system.grocery.dto.ProductSummary;
 import com.system.grocery.entity.Product;
 import com.system.grocery.repository.ProductRepository;
 
 @Service
 public class ProductService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private ProductRepository repo;
 
+    @Autowired
+    private ProductLookupCache cache;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private CategoryTreeService categoryTree;
+
     public Product save(Product p) {
-        return repo.save(p);
+        Product saved = repo.save(p);
+        cache.invalidate(saved.getId());
+        cache.repin(saved);
+        searchIndex.upsert(saved);
+        categoryTree.productSaved(saved);
+        return saved;
     }
 
     public List<Product> getAll() {
         return repo.findAll();
     }
 
+    public CatalogPage catalog(Integer after, Integer categoryId, Boolean available,
+                               Double minPrice, Double maxPrice, Integer size) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        List<ProductSummary> items = repo.findCatalogPage(
+                after == null ? 0 : after, categoryId, available, minPrice, maxPrice, Limit.of(pageSize));
+        Integer next = items.size() < pageSize ? null : items.get(items.size() - 1).id();
+        return new CatalogPage(items, next);
+    }
+
     public Product getById(Integer id) {
-        return repo.findById(id).orElse(null);
+        Product p = cache.get(id);
+        if (p == null) {
+            long stamp = cache.stamp(id);
+            p = repo.findById(id).orElse(null);
+            cache.put(p, stamp);
+        }
+        return p;
+    }
+
+    public Map<Integer, Product> getByIds(Collection<Integer> ids) {
+        Map<Integer, Product> found = cache.getAll(ids);
+        Set<Integer> missing = new LinkedHashSet<>(ids);
+        missing.removeAll(found.keySet());
+        if (!missing.isEmpty()) {
+            Map<Integer, Long> stamps = new HashMap<>();
+            for (Integer id : missing) {
+                stamps.put(id, cache.stamp(id));
+            }
+            for (Product p : repo.findAllById(missing)) {
+                cache.put(p, stamps.get(p.getId()));
+                found.put(p.getId(), p);
+            }
+        }
+        return found;
+    }
+
+    public List<ProductSummary> search(String q, Integer storeId, Boolean available, int limit) {
+        return searchIndex.search(q, storeId, available, limit);
+    }
+
+    public List<String> autocomplete(String prefix, Integer storeId, int limit) {
+        return searchIndex.autocomplete(prefix, storeId, limit);
+    }
+
+    public CacheStats cacheStats() {
+        return cache.stats();
     }
 
     public String delete(Integer id) {
         if (repo.existsById(id)) {
             repo.deleteById(id);
+            cache.invalidate(id);
+            cache.unpin(id);
+            searchIndex.remove(id);
+            categoryTree.productRemoved(id);
             return "Product deleted";
         }
         return "Product not found";
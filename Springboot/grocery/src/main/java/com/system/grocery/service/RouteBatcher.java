@@ -0,0 +1,150 @@
+package com.system.grocery.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import com.system.grocery.dto.GeoPoint;
+import com.system.grocery.dto.RouteStop;
+import com.system.grocery.dto.TripPlan;
+
+/**
+ * Groups the open stops of one store into trips and orders each trip.
+ *
+ * Clustering is greedy: the oldest unplanned stop seeds a trip and pulls in
+ * its nearest neighbours within the radius until the trip is full. Each trip
+ * is then sequenced nearest-neighbour from the depot and improved with 2-opt
+ * on the open path (the agent does not return to the store). Stops without
+ * coordinates cannot be clustered and become single-stop trips.
+ */
+@Component
+public class RouteBatcher {
+
+    private static final int MAX_TWO_OPT_PASSES = 50;
+
+    public List<TripPlan> plan(GeoPoint depot, List<RouteStop> stops, int maxStops, double radiusKm) {
+        List<RouteStop> located = new ArrayList<>(stops.size());
+        List<TripPlan> trips = new ArrayList<>();
+        for (RouteStop s : stops) {
+            if (s.point() == null) {
+                trips.add(new TripPlan(List.of(s), 0));
+            } else {
+                located.add(s);
+            }
+        }
+        located.sort(Comparator.comparing(RouteStop::readySince,
+                Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())));
+
+        int n = located.size();
+        boolean[] planned = new boolean[n];
+        int limit = Math.max(1, maxStops);
+
+        for (int seed = 0; seed < n; seed++) {
+            if (planned[seed]) {
+                continue;
+            }
+            planned[seed] = true;
+            GeoPoint origin = located.get(seed).point();
+
+            List<Integer> nearby = new ArrayList<>();
+            for (int j = seed + 1; j < n; j++) {
+                if (!planned[j] && origin.distanceKm(located.get(j).point()) <= radiusKm) {
+                    nearby.add(j);
+                }
+            }
+            nearby.sort(Comparator.comparingDouble(j -> origin.distanceKm(located.get(j).point())));
+
+            List<RouteStop> group = new ArrayList<>(limit);
+            group.add(located.get(seed));
+            for (int j : nearby) {
+                if (group.size() >= limit) {
+                    break;
+                }
+                planned[j] = true;
+                group.add(located.get(j));
+            }
+
+            List<RouteStop> route = twoOpt(depot, nearestNeighbour(depot, group));
+            trips.add(new TripPlan(List.copyOf(route), length(depot, route)));
+        }
+        return trips;
+    }
+
+    public static double length(GeoPoint depot, List<RouteStop> route) {
+        double total = 0;
+        GeoPoint prev = depot;
+        for (RouteStop s : route) {
+            if (prev != null && s.point() != null) {
+                total += prev.distanceKm(s.point());
+            }
+            prev = s.point();
+        }
+        return total;
+    }
+
+    private static List<RouteStop> nearestNeighbour(GeoPoint depot, List<RouteStop> group) {
+        List<RouteStop> left = new ArrayList<>(group);
+        List<RouteStop> route = new ArrayList<>(group.size());
+        GeoPoint at = depot;
+        while (!left.isEmpty()) {
+            int best = 0;
+            if (at != null) {
+                double bestDist = Double.MAX_VALUE;
+                for (int i = 0; i < left.size(); i++) {
+                    double d = at.distanceKm(left.get(i).point());
+                    if (d < bestDist) {
+                        best = i;
+                        bestDist = d;
+                    }
+                }
+            }
+            RouteStop next = left.remove(best);
+            route.add(next);
+            at = next.point();
+        }
+        return route;
+    }
+
+    private static List<RouteStop> twoOpt(GeoPoint depot, List<RouteStop> route) {
+        int n = route.size();
+        if (n < 3) {
+            return route;
+        }
+        boolean improved = true;
+        for (int pass = 0; improved && pass < MAX_TWO_OPT_PASSES; pass++) {
+            improved = false;
+            for (int i = 0; i < n - 1; i++) {
+                GeoPoint before = i == 0 ? depot : route.get(i - 1).point();
+                GeoPoint first = route.get(i).point();
+                for (int k = i + 1; k < n; k++) {
+                    GeoPoint last = route.get(k).point();
+                    GeoPoint after = k == n - 1 ? null : route.get(k + 1).point();
+
+                    double delta = dist(before, last) + dist(first, after)
+                            - dist(before, first) - dist(last, after);
+                    if (delta < -1e-9) {
+                        reverse(route, i, k);
+                        first = route.get(i).point();
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return route;
+    }
+
+    private static double dist(GeoPoint a, GeoPoint b) {
+        return a == null || b == null ? 0 : a.distanceKm(b);
+    }
+
+    private static void reverse(List<RouteStop> route, int from, int to) {
+        while (from < to) {
+            RouteStop tmp = route.get(from);
+            route.set(from, route.get(to));
+            route.set(to, tmp);
+            from++;
+            to--;
+        }
+    }
+}
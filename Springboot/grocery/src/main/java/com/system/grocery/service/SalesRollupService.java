@@ -0,0 +1,170 @@
+package com.system.grocery.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.SalesBucket;
+import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.entity.StoreSalesHourly;
+import com.system.grocery.repository.StoreSalesHourlyRepository;
+
+/**
+ * Maintains per-store hourly sales counters in store_sales_hourly.
+ *
+ * Order events only add to in-memory deltas; a scheduled flush folds them
+ * into the table with one batched upsert, so checkouts never contend on the
+ * hot hourly row. Each bucket's delta is only touched inside the map's
+ * per-key compute, and the flush removes it before reading, so an add lands
+ * either in the flushed delta or in a fresh one. A nightly job recomputes
+ * the previous day from order_tbl to repair anything lost between flushes.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+
+    private static final String UPSERT_SQL =
+            "insert into store_sales_hourly (store_id, bucket_start, order_count, revenue) values (?, ?, ?, ?) " +
+            "on duplicate key update order_count = order_count + values(order_count), " +
+            "revenue = revenue + values(revenue)";
+
+    private static final String DELETE_RANGE_SQL =
+            "delete from store_sales_hourly where bucket_start >= ? and bucket_start < ?";
+
+    private static final String REBUILD_RANGE_SQL =
+            "insert into store_sales_hourly (store_id, bucket_start, order_count, revenue) " +
+            "select store_id, date_format(order_time, '%Y-%m-%d %H:00:00'), count(*), coalesce(sum(total_amount), 0) " +
+            "from order_tbl " +
+            "where store_id is not null and order_time >= ? and order_time < ? and (status is null or status <> 'CANCELLED') " +
+            "group by store_id, date_format(order_time, '%Y-%m-%d %H:00:00')";
+
+    @Autowired
+    private StoreSalesHourlyRepository repo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    private final Map<BucketKey, Delta> pending = new ConcurrentHashMap<>();
+
+    public void orderPlaced(OrderTbl o) {
+        record(o, 1);
+    }
+
+    public void orderCancelled(OrderTbl o) {
+        record(o, -1);
+    }
+
+    private void record(OrderTbl o, int sign) {
+        if (o == null || o.getStoreId() == null || o.getOrderTime() == null) {
+            return;
+        }
+        BucketKey key = new BucketKey(o.getStoreId(), o.getOrderTime().truncatedTo(ChronoUnit.HOURS));
+        double amount = o.getTotalAmount() == null ? 0 : o.getTotalAmount();
+        TransactionHooks.afterCommit(() -> add(key, sign, sign * amount));
+    }
+
+    private void add(BucketKey key, long orders, double revenue) {
+        pending.compute(key, (k, d) -> {
+            Delta delta = d == null ? new Delta() : d;
+            delta.orders += orders;
+            delta.revenue += revenue;
+            return delta;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${grocery.sales.flush-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        for (BucketKey key : pending.keySet()) {
+            Delta d = pending.remove(key);
+            if (d != null && (d.orders != 0 || d.revenue != 0)) {
+                rows.add(new Object[] { key.storeId(), Timestamp.valueOf(key.bucketStart()), d.orders, d.revenue });
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbc.batchUpdate(UPSERT_SQL, rows);
+        } catch (RuntimeException e) {
+            log.warn("Sales rollup flush failed, keeping {} deltas for the next run", rows.size(), e);
+            for (Object[] r : rows) {
+                add(new BucketKey((Integer) r[0], ((Timestamp) r[1]).toLocalDateTime()), (Long) r[2], (Double) r[3]);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${grocery.sales.reconcile-cron:0 15 2 * * *}")
+    public void reconcileYesterday() {
+        LocalDate today = LocalDate.now();
+        reconcile(today.minusDays(1).atStartOfDay(), today.atStartOfDay());
+    }
+
+    /**
+     * Rebuilds the buckets in [from, to) from order_tbl. The current hour is
+     * never rebuilt: its orders are still arriving as deltas, which would be
+     * added on top of the recount.
+     */
+    public synchronized void reconcile(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime until = to.truncatedTo(ChronoUnit.HOURS);
+        if (until.isAfter(currentHour)) {
+            until = currentHour;
+        }
+        if (!from.truncatedTo(ChronoUnit.HOURS).isBefore(until)) {
+            return;
+        }
+        flush();
+        Timestamp start = Timestamp.valueOf(from.truncatedTo(ChronoUnit.HOURS));
+        Timestamp end = Timestamp.valueOf(until);
+        Integer rebuilt = tx.execute(status -> {
+            jdbc.update(DELETE_RANGE_SQL, start, end);
+            return jdbc.update(REBUILD_RANGE_SQL, start, end);
+        });
+        log.info("Reconciled sales rollups for [{}, {}): {} buckets", start, end, rebuilt);
+    }
+
+    public List<SalesBucket> sales(Integer storeId, LocalDateTime from, LocalDateTime to, boolean daily) {
+        List<StoreSalesHourly> hours = repo
+                .findByStoreIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(storeId, from, to);
+
+        Map<LocalDateTime, long[]> counts = new LinkedHashMap<>();
+        Map<LocalDateTime, Double> revenue = new LinkedHashMap<>();
+        for (StoreSalesHourly h : hours) {
+            LocalDateTime start = daily ? h.getBucketStart().truncatedTo(ChronoUnit.DAYS) : h.getBucketStart();
+            counts.computeIfAbsent(start, k -> new long[1])[0] += h.getOrderCount();
+            revenue.merge(start, h.getRevenue(), Double::sum);
+        }
+
+        List<SalesBucket> result = new ArrayList<>(counts.size());
+        counts.forEach((start, c) -> {
+            double r = revenue.get(start);
+            result.add(new SalesBucket(start, c[0], r, c[0] == 0 ? 0 : r / c[0]));
+        });
+        return result;
+    }
+
+    private record BucketKey(Integer storeId, LocalDateTime bucketStart) {
+    }
+
+    private static final class Delta {
+        long orders;
+        double revenue;
+    }
+}
@@ -0,0 +1,59 @@
+-- One-off migration for databases created before the timestamp columns
+-- became LocalDateTime. ddl-auto=update never changes a column's type, so
+-- run this once (mysql grocery_db < convert-timestamps-to-datetime.sql)
+-- with the application stopped, then start it to let Hibernate add the
+-- indexes.
+--
+-- Values are accepted as 'yyyy-MM-dd HH:mm:ss', ISO 'yyyy-MM-ddTHH:mm:ss'
+-- (fractions and offsets are dropped) or a bare 'yyyy-MM-dd'. Anything else
+-- becomes NULL; run the checks below first and fix those rows by hand if
+-- they matter.
+
+-- Rows that will not convert:
+-- select 'product', id, created_at from product where created_at is not null and created_at not regexp '^[0-9]{4}-[0-9]{2}-[0-9]{2}';
+-- select 'order_tbl', id, order_time from order_tbl where order_time is not null and order_time not regexp '^[0-9]{4}-[0-9]{2}-[0-9]{2}';
+-- select 'payment', id, paid_time from payment where paid_time is not null and paid_time not regexp '^[0-9]{4}-[0-9]{2}-[0-9]{2}';
+-- select 'delivery', id, delivery_time from delivery where delivery_time is not null and delivery_time not regexp '^[0-9]{4}-[0-9]{2}-[0-9]{2}';
+-- select 'notification', id, created_at from notification where created_at is not null and created_at not regexp '^[0-9]{4}-[0-9]{2}-[0-9]{2}';
+-- select 'user', id, created_at from `user` where created_at is not null and created_at not regexp '^[0-9]{4}-[0-9]{2}-[0-9]{2}';
+-- select 'cart', id, created_at from cart where created_at is not null and created_at not regexp '^[0-9]{4}-[0-9]{2}-[0-9]{2}';
+
+set @saved_sql_mode = @@session.sql_mode;
+set session sql_mode = '';
+
+update product set created_at = coalesce(
+        str_to_date(left(replace(created_at, 'T', ' '), 19), '%Y-%m-%d %H:%i:%s'),
+        str_to_date(left(created_at, 10), '%Y-%m-%d'));
+alter table product modify created_at datetime(6) null;
+
+update order_tbl set order_time = coalesce(
+        str_to_date(left(replace(order_time, 'T', ' '), 19), '%Y-%m-%d %H:%i:%s'),
+        str_to_date(left(order_time, 10), '%Y-%m-%d'));
+alter table order_tbl modify order_time datetime(6) null;
+
+update payment set paid_time = coalesce(
+        str_to_date(left(replace(paid_time, 'T', ' '), 19), '%Y-%m-%d %H:%i:%s'),
+        str_to_date(left(paid_time, 10), '%Y-%m-%d'));
+alter table payment modify paid_time datetime(6) null;
+
+update delivery set delivery_time = coalesce(
+        str_to_date(left(replace(delivery_time, 'T', ' '), 19), '%Y-%m-%d %H:%i:%s'),
+        str_to_date(left(delivery_time, 10), '%Y-%m-%d'));
+alter table delivery modify delivery_time datetime(6) null;
+
+update notification set created_at = coalesce(
+        str_to_date(left(replace(created_at, 'T', ' '), 19), '%Y-%m-%d %H:%i:%s'),
+        str_to_date(left(created_at, 10), '%Y-%m-%d'));
+alter table notification modify created_at datetime(6) null;
+
+update `user` set created_at = coalesce(
+        str_to_date(left(replace(created_at, 'T', ' '), 19), '%Y-%m-%d %H:%i:%s'),
+        str_to_date(left(created_at, 10), '%Y-%m-%d'));
+alter table `user` modify created_at datetime(6) null;
+
+update cart set created_at = coalesce(
+        str_to_date(left(replace(created_at, 'T', ' '), 19), '%Y-%m-%d %H:%i:%s'),
+        str_to_date(left(created_at, 10), '%Y-%m-%d'));
+alter table cart modify created_at datetime(6) null;
+
+set session sql_mode = @saved_sql_mode;
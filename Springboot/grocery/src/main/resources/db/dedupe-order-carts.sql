@@ -0,0 +1,20 @@
+-- One-off cleanup for databases that picked up more than one order per cart
+-- before order_tbl.cart_id became unique (uk_order_cart). ddl-auto=update
+-- cannot add the constraint while duplicates exist, so run this once
+-- (mysql grocery_db < dedupe-order-carts.sql) with the application stopped.
+--
+-- The oldest order keeps the cart; later duplicates keep their payment and
+-- delivery but lose the cart link (cart_id becomes NULL, which the unique
+-- key allows any number of times). Nothing is deleted.
+
+-- Orders that will be unlinked:
+-- select o.id, o.cart_id, o.status, o.total_amount from order_tbl o
+--   join (select cart_id, min(id) keep_id from order_tbl where cart_id is not null
+--         group by cart_id having count(*) > 1) d
+--   on o.cart_id = d.cart_id and o.id <> d.keep_id;
+
+update order_tbl o
+  join (select cart_id, min(id) keep_id from order_tbl where cart_id is not null
+        group by cart_id having count(*) > 1) d
+  on o.cart_id = d.cart_id and o.id <> d.keep_id
+set o.cart_id = null;
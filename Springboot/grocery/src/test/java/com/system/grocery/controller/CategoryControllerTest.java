@@ -0,0 +1,49 @@
+package com.system.grocery.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import com.system.grocery.dto.CategoryNode;
+import com.system.grocery.dto.CategoryTree;
+import com.system.grocery.service.CategoryService;
+
+@WebMvcTest(CategoryController.class)
+class CategoryControllerTest {
+
+    private static final String ETAG = "\"k1-7\"";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private CategoryService service;
+
+    @Test
+    void treeIsServedWithItsEtagAndRevalidatedWithoutABody() throws Exception {
+        when(service.tree()).thenReturn(new CategoryTree(ETAG,
+                List.of(new CategoryNode(1, "Food", null, 2, 2, List.of()))));
+
+        mvc.perform(get("/categories/tree"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$[0].subtreeProductCount").value(2));
+
+        mvc.perform(get("/categories/tree").header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mvc.perform(get("/categories/tree").header("If-None-Match", "\"k1-6\""))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,76 @@
+package com.system.grocery.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import com.system.grocery.dto.OrderSummary;
+import com.system.grocery.entity.OrderStatus;
+import com.system.grocery.entity.OrderTbl;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderTblRepositoryTest {
+
+    private static final int USER = 4;
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Autowired
+    private OrderTblRepository repo;
+
+    private OrderTbl oldest;
+    private OrderTbl tiedLow;
+    private OrderTbl tiedHigh;
+    private OrderTbl newest;
+
+    @BeforeEach
+    void setUp() {
+        oldest = repo.save(order(USER, NOON.minusDays(2), OrderStatus.DELIVERED));
+        tiedLow = repo.save(order(USER, NOON, OrderStatus.PLACED));
+        tiedHigh = repo.save(order(USER, NOON, OrderStatus.DELIVERED));
+        newest = repo.save(order(USER, NOON.plusHours(1), OrderStatus.PLACED));
+        repo.save(order(USER + 1, NOON.plusDays(1), OrderStatus.PLACED));
+    }
+
+    @Test
+    void cursorPagesBreakTimeTiesById() {
+        List<OrderSummary> first = repo.findHistory(USER, null, Limit.of(2));
+        OrderSummary last = first.get(1);
+        List<OrderSummary> second = repo.findHistoryBefore(USER, last.orderTime(), last.id(), null, Limit.of(2));
+
+        assertThat(first).extracting(OrderSummary::id).containsExactly(newest.getId(), tiedHigh.getId());
+        assertThat(second).extracting(OrderSummary::id).containsExactly(tiedLow.getId(), oldest.getId());
+    }
+
+    @Test
+    void statusFilterAppliesOnEveryPage() {
+        List<OrderSummary> first = repo.findHistory(USER, OrderStatus.DELIVERED, Limit.of(1));
+        OrderSummary last = first.get(0);
+        List<OrderSummary> second = repo.findHistoryBefore(USER, last.orderTime(), last.id(),
+                OrderStatus.DELIVERED, Limit.of(1));
+
+        assertThat(first).extracting(OrderSummary::id).containsExactly(tiedHigh.getId());
+        assertThat(second).extracting(OrderSummary::id).containsExactly(oldest.getId());
+        assertThat(repo.findHistoryBefore(USER, oldest.getOrderTime(), oldest.getId(),
+                OrderStatus.DELIVERED, Limit.of(1))).isEmpty();
+        assertThat(repo.findHistory(USER, OrderStatus.CANCELLED, Limit.of(10))).isEmpty();
+    }
+
+    private static OrderTbl order(int userId, LocalDateTime time, OrderStatus status) {
+        OrderTbl o = new OrderTbl();
+        o.setUserId(userId);
+        o.setStoreId(1);
+        o.setStatus(status);
+        o.setTotalAmount(10.0);
+        o.setOrderTime(time);
+        return o;
+    }
+}
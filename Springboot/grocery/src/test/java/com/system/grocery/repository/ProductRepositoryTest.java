@@ -0,0 +1,69 @@
+package com.system.grocery.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import com.system.grocery.dto.ProductSummary;
+import com.system.grocery.entity.Product;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository repo;
+
+    private List<Integer> ids;
+
+    @BeforeEach
+    void setUp() {
+        ids = repo.saveAll(List.of(
+                product("Apple", 1.0, true, 1),
+                product("Bread", 2.5, true, 2),
+                product("Cheese", 8.0, false, 2),
+                product("Dates", 4.0, true, 1),
+                product("Eggs", 3.0, true, 2),
+                product("Flour", 6.0, true, 2))).stream().map(Product::getId).toList();
+    }
+
+    @Test
+    void pagesFollowTheAfterCursorInIdOrder() {
+        List<ProductSummary> first = repo.findCatalogPage(0, null, null, null, null, Limit.of(4));
+        List<ProductSummary> second = repo.findCatalogPage(first.get(3).id(), null, null, null, null, Limit.of(4));
+
+        assertThat(first).extracting(ProductSummary::id).containsExactlyElementsOf(ids.subList(0, 4));
+        assertThat(second).extracting(ProductSummary::id).containsExactlyElementsOf(ids.subList(4, 6));
+    }
+
+    @Test
+    void filtersCombineAndKeepTheCursor() {
+        // Category 2, in stock, 2.0 to 6.0: Bread, Eggs, Flour (Cheese is unavailable).
+        List<ProductSummary> first = repo.findCatalogPage(0, 2, true, 2.0, 6.0, Limit.of(2));
+        List<ProductSummary> second = repo.findCatalogPage(first.get(1).id(), 2, true, 2.0, 6.0, Limit.of(2));
+
+        assertThat(first).extracting(ProductSummary::name).containsExactly("Bread", "Eggs");
+        assertThat(second).extracting(ProductSummary::name).containsExactly("Flour");
+        assertThat(repo.findCatalogPage(0, null, false, null, null, Limit.of(10)))
+                .extracting(ProductSummary::name).containsExactly("Cheese");
+        assertThat(repo.findCatalogPage(0, 1, null, null, 3.0, Limit.of(10)))
+                .extracting(ProductSummary::name).containsExactly("Apple");
+        assertThat(repo.findCatalogPage(ids.get(5), null, null, null, null, Limit.of(10))).isEmpty();
+    }
+
+    private static Product product(String name, double price, boolean available, int categoryId) {
+        Product p = new Product();
+        p.setName(name);
+        p.setPrice(price);
+        p.setAvailable(available);
+        p.setCategoryId(categoryId);
+        return p;
+    }
+}
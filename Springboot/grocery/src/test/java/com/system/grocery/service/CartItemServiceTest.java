@@ -0,0 +1,137 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.system.grocery.entity.CartItem;
+import com.system.grocery.exception.FlashSaleLimitException;
+import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.CartRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CartItemServiceTest {
+
+    private static final int STORE = 7;
+
+    @Mock
+    private CartItemRepository repo;
+
+    @Mock
+    private CartRepository cartRepo;
+
+    @Mock
+    private InventoryService inventory;
+
+    @Mock
+    private FlashSaleService flashSale;
+
+    @InjectMocks
+    private CartItemService service;
+
+    @Test
+    void switchingProductReleasesTheOldLineAfterTheMerge() {
+        // Open-in-view: findById hands back the managed line and save merges
+        // the request into it, so it no longer shows the old product.
+        CartItem managed = line(5, 1, 10, 2);
+        CartItem update = line(5, 1, 11, 1);
+        when(repo.findById(5)).thenReturn(Optional.of(managed));
+        when(cartRepo.findStoreIdById(1)).thenReturn(Optional.of(STORE));
+        when(inventory.reserve(STORE, 11, 1)).thenReturn(true);
+        when(repo.save(update)).thenAnswer(inv -> {
+            managed.setProductId(11);
+            managed.setQuantity(1);
+            return managed;
+        });
+
+        service.save(update);
+
+        verify(inventory).release(STORE, 10, 2);
+    }
+
+    @Test
+    void loweringTheQuantityReleasesOnlyTheDifference() {
+        CartItem managed = line(6, 1, 10, 5);
+        CartItem update = line(6, 1, 10, 3);
+        when(repo.findById(6)).thenReturn(Optional.of(managed));
+        when(cartRepo.findStoreIdById(1)).thenReturn(Optional.of(STORE));
+        when(repo.save(update)).thenAnswer(inv -> {
+            managed.setQuantity(3);
+            return managed;
+        });
+
+        service.save(update);
+
+        verify(inventory, never()).reserve(any(), any(), anyInt());
+        verify(inventory).release(STORE, 10, 2);
+        verify(inventory, never()).release(STORE, 10, 5);
+    }
+
+    @Test
+    void raisingAFlashSaleLineOutsideTheQueueIsRejected() {
+        CartItem managed = line(8, 1, 20, 1);
+        CartItem update = line(8, 1, 20, 5);
+        when(flashSale.isRunning(20)).thenReturn(true);
+        when(repo.findById(8)).thenReturn(Optional.of(managed));
+        when(cartRepo.findStoreIdById(1)).thenReturn(Optional.of(STORE));
+
+        assertThatThrownBy(() -> service.save(update)).isInstanceOf(FlashSaleLimitException.class);
+
+        verify(inventory, never()).reserve(any(), any(), anyInt());
+        verify(repo, never()).save(any());
+    }
+
+    @Test
+    void movingALineOntoAFlashSaleProductIsRejected() {
+        CartItem managed = line(9, 1, 10, 2);
+        CartItem update = line(9, 1, 20, 2);
+        when(flashSale.isRunning(20)).thenReturn(true);
+        when(repo.findById(9)).thenReturn(Optional.of(managed));
+        when(cartRepo.findStoreIdById(1)).thenReturn(Optional.of(STORE));
+
+        assertThatThrownBy(() -> service.save(update)).isInstanceOf(FlashSaleLimitException.class);
+    }
+
+    @Test
+    void loweringAFlashSaleLineIsAllowed() {
+        CartItem managed = line(10, 1, 20, 3);
+        CartItem update = line(10, 1, 20, 1);
+        when(flashSale.isRunning(20)).thenReturn(true);
+        when(repo.findById(10)).thenReturn(Optional.of(managed));
+        when(cartRepo.findStoreIdById(1)).thenReturn(Optional.of(STORE));
+        when(repo.save(update)).thenReturn(update);
+
+        service.save(update);
+
+        verify(inventory).release(STORE, 20, 2);
+    }
+
+    @Test
+    void newFlashSaleLinesGoThroughTheQueue() {
+        CartItem add = line(null, 1, 20, 1);
+        when(flashSale.isRunning(20)).thenReturn(true);
+        when(flashSale.addToCart(add)).thenReturn(add);
+
+        service.save(add);
+
+        verify(repo, never()).save(any());
+    }
+
+    private static CartItem line(Integer id, Integer cartId, Integer productId, Integer quantity) {
+        CartItem ci = new CartItem();
+        ci.setId(id);
+        ci.setCartId(cartId);
+        ci.setProductId(productId);
+        ci.setQuantity(quantity);
+        return ci;
+    }
+}
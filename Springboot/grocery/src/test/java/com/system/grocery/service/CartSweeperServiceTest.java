@@ -0,0 +1,121 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.StaleCart;
+import com.system.grocery.entity.Cart;
+import com.system.grocery.entity.CartItem;
+import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.CartRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CartSweeperServiceTest {
+
+    private static final LocalDateTime OLD = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Mock
+    private CartRepository cartRepo;
+
+    @Mock
+    private CartItemRepository itemRepo;
+
+    @Mock
+    private InventoryService inventory;
+
+    @Mock
+    private TransactionTemplate tx;
+
+    @InjectMocks
+    private CartSweeperService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(service, "batchSize", 50);
+        ReflectionTestUtils.setField(service, "maxBatches", 10);
+        ReflectionTestUtils.setField(service, "pauseMs", 0L);
+    }
+
+    @Test
+    void cartsCheckedOutOrTouchedSinceTheScanAreLeftAlone() {
+        // Cart 2 was listed as stale but checked out before the batch locked
+        // it, so lockStale no longer returns it.
+        when(cartRepo.findStale(any(), any(), any(), any()))
+                .thenReturn(List.of(new StaleCart(1, 7, OLD), new StaleCart(2, 7, OLD)));
+        when(tx.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(cartRepo.lockStale(eq(List.of(1, 2)), any())).thenReturn(List.of(cart(1, 7)));
+        List<CartItem> held = List.of(item(100, 1, 10, 3));
+        when(itemRepo.findByCartIdIn(List.of(1))).thenReturn(held);
+        when(itemRepo.deleteByIdIn(List.of(100))).thenReturn(1);
+        when(cartRepo.deleteEmptyByIds(List.of(1))).thenReturn(1);
+
+        assertThat(service.sweep()).isEqualTo(1);
+
+        verify(inventory).releaseAll(7, held);
+        verify(cartRepo, never()).deleteEmptyByIds(List.of(1, 2));
+    }
+
+    @Test
+    void itemsAddedAfterTheReadAreNeitherDeletedNorLeaked() {
+        when(cartRepo.findStale(any(), any(), any(), any())).thenReturn(List.of(new StaleCart(4, 7, OLD)));
+        when(tx.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(cartRepo.lockStale(anyList(), any())).thenReturn(List.of(cart(4, 7)));
+        List<CartItem> held = List.of(item(200, 4, 10, 1), item(201, 4, 11, 2));
+        when(itemRepo.findByCartIdIn(List.of(4))).thenReturn(held);
+        when(itemRepo.deleteByIdIn(List.of(200, 201))).thenReturn(2);
+        // An item inserted after the read keeps the cart alive.
+        when(cartRepo.deleteEmptyByIds(List.of(4))).thenReturn(0);
+
+        assertThat(service.sweep()).isEqualTo(0);
+
+        verify(inventory).releaseAll(7, held);
+        verify(itemRepo, never()).deleteByIdIn(List.of(200, 201, 202));
+    }
+
+    @Test
+    void nothingIsReleasedWhenEveryCandidateMovedOn() {
+        when(cartRepo.findStale(any(), any(), any(), any())).thenReturn(List.of(new StaleCart(3, 7, OLD)));
+        when(tx.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(cartRepo.lockStale(anyList(), any())).thenReturn(List.of());
+
+        assertThat(service.sweep()).isEqualTo(0);
+
+        verify(inventory, never()).releaseAll(anyInt(), anyList());
+        verify(itemRepo, never()).deleteByIdIn(anyList());
+    }
+
+    private static Cart cart(Integer id, Integer storeId) {
+        Cart c = new Cart();
+        c.setId(id);
+        c.setStoreId(storeId);
+        c.setUpdatedAt(OLD);
+        return c;
+    }
+
+    private static CartItem item(Integer id, Integer cartId, Integer productId, Integer quantity) {
+        CartItem ci = new CartItem();
+        ci.setId(id);
+        ci.setCartId(cartId);
+        ci.setProductId(productId);
+        ci.setQuantity(quantity);
+        return ci;
+    }
+}
@@ -0,0 +1,70 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.system.grocery.entity.Category;
+import com.system.grocery.repository.CategoryRepository;
+import com.system.grocery.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryServiceTest {
+
+    @Mock
+    private CategoryRepository repo;
+
+    @Mock
+    private ProductRepository productRepo;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private ProductLookupCache productCache;
+
+    @Mock
+    private CategoryTreeService tree;
+
+    @InjectMocks
+    private CategoryService service;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deleteMovesChildrenAndProductsUpAndUpdatesMemoryAfterCommit() {
+        Category fruit = new Category();
+        fruit.setId(2);
+        fruit.setParentId(1);
+        when(repo.findById(2)).thenReturn(Optional.of(fruit));
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(service.delete(2)).isEqualTo("Category deleted");
+
+        verify(repo).reparentChildren(2, 1);
+        verify(productRepo).moveCategory(2, 1);
+        verify(repo).delete(fruit);
+        verifyNoInteractions(searchIndex, tree, productCache);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(searchIndex).categoryRemoved(2, 1);
+        verify(tree).categoryRemoved(2, 1);
+        verify(productCache).clear();
+    }
+}
@@ -0,0 +1,145 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import com.system.grocery.dto.CategoryNode;
+import com.system.grocery.dto.CategoryTree;
+import com.system.grocery.entity.Category;
+import com.system.grocery.entity.Product;
+import com.system.grocery.repository.CategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryTreeServiceTest {
+
+    private static final int FOOD = 1;
+    private static final int FRUIT = 2;
+    private static final int CITRUS = 3;
+    private static final int DRINKS = 4;
+
+    @Mock
+    private CategoryRepository categoryRepo;
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @InjectMocks
+    private CategoryTreeService service;
+
+    @BeforeEach
+    void setUp() {
+        service.categorySaved(category(FOOD, "Food", null));
+        service.categorySaved(category(FRUIT, "Fruit", FOOD));
+        service.categorySaved(category(CITRUS, "Citrus", FRUIT));
+        service.categorySaved(category(DRINKS, "Drinks", null));
+        service.productSaved(product(10, CITRUS, true));
+        service.productSaved(product(11, FRUIT, true));
+        service.productSaved(product(12, DRINKS, true));
+        service.productSaved(product(13, CITRUS, false));
+    }
+
+    @Test
+    void availableProductsRollUpToEveryAncestor() {
+        CategoryTree tree = service.tree();
+
+        assertThat(node(tree, FOOD)).extracting(CategoryNode::productCount, CategoryNode::subtreeProductCount)
+                .containsExactly(0, 2);
+        assertThat(node(tree, FRUIT)).extracting(CategoryNode::productCount, CategoryNode::subtreeProductCount)
+                .containsExactly(1, 2);
+        assertThat(node(tree, CITRUS).productCount()).isEqualTo(1);
+        assertThat(node(tree, DRINKS).productCount()).isEqualTo(1);
+    }
+
+    @Test
+    void theEtagOnlyChangesWhenTheTreeDoes() {
+        CategoryTree before = service.tree();
+
+        service.productSaved(product(10, CITRUS, true));
+        service.productSaved(product(13, CITRUS, false));
+
+        assertThat(service.tree()).isSameAs(before);
+
+        service.productSaved(product(10, DRINKS, true));
+        CategoryTree after = service.tree();
+
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(node(after, CITRUS).productCount()).isZero();
+        assertThat(node(after, FOOD).subtreeProductCount()).isEqualTo(1);
+        assertThat(node(after, DRINKS).productCount()).isEqualTo(2);
+    }
+
+    @Test
+    void deletingACategoryMovesItsChildrenAndProductsToItsParent() {
+        String before = service.tree().etag();
+
+        service.categoryRemoved(FRUIT, FOOD);
+        CategoryTree tree = service.tree();
+
+        assertThat(tree.etag()).isNotEqualTo(before);
+        assertThat(node(tree, FRUIT)).isNull();
+        assertThat(node(tree, CITRUS).parentId()).isEqualTo(FOOD);
+        assertThat(node(tree, FOOD)).extracting(CategoryNode::productCount, CategoryNode::subtreeProductCount)
+                .containsExactly(1, 2);
+
+        // Product 11 is already tracked under its new category.
+        service.productSaved(product(11, FOOD, true));
+        assertThat(service.tree()).isSameAs(tree);
+
+        service.productRemoved(11);
+        assertThat(node(service.tree(), FOOD)).extracting(CategoryNode::productCount, CategoryNode::subtreeProductCount)
+                .containsExactly(0, 1);
+    }
+
+    @Test
+    void deletingARootCategoryStopsCountingItsProducts() {
+        service.categoryRemoved(DRINKS, null);
+        service.productSaved(product(12, null, true));
+        service.productSaved(product(12, FOOD, true));
+
+        CategoryTree tree = service.tree();
+
+        assertThat(tree.roots()).extracting(CategoryNode::id).containsExactly(FOOD);
+        assertThat(node(tree, FOOD)).extracting(CategoryNode::productCount, CategoryNode::subtreeProductCount)
+                .containsExactly(1, 3);
+    }
+
+    private static CategoryNode node(CategoryTree tree, int id) {
+        return find(tree.roots(), id);
+    }
+
+    private static CategoryNode find(List<CategoryNode> nodes, int id) {
+        for (CategoryNode n : nodes) {
+            if (n.id() == id) {
+                return n;
+            }
+            CategoryNode child = find(n.children(), id);
+            if (child != null) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static Category category(int id, String name, Integer parentId) {
+        Category c = new Category();
+        c.setId(id);
+        c.setName(name);
+        c.setParentId(parentId);
+        return c;
+    }
+
+    private static Product product(int id, Integer categoryId, boolean available) {
+        Product p = new Product();
+        p.setId(id);
+        p.setCategoryId(categoryId);
+        p.setAvailable(available);
+        return p;
+    }
+}
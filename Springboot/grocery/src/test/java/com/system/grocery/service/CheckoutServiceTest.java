@@ -0,0 +1,52 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.system.grocery.entity.Cart;
+import com.system.grocery.exception.CartCheckedOutException;
+import com.system.grocery.repository.CartRepository;
+import com.system.grocery.repository.OrderTblRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutServiceTest {
+
+    @Mock
+    private CartRepository cartRepo;
+
+    @Mock
+    private OrderTblRepository orderRepo;
+
+    @Mock
+    private CartPricingService pricing;
+
+    @Mock
+    private OrderTblService orderService;
+
+    @InjectMocks
+    private CheckoutService service;
+
+    @Test
+    void secondCheckoutOfSameCartIsRejectedUnderTheCartLock() {
+        Cart cart = new Cart();
+        cart.setId(7);
+        when(cartRepo.lockById(7)).thenReturn(Optional.of(cart));
+        when(orderRepo.existsByCartId(7)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.checkout(7, 1, "UPI", "Flat 1"))
+                .isInstanceOf(CartCheckedOutException.class);
+
+        verify(cartRepo, never()).findById(any());
+        verify(pricing, never()).quote(any());
+        verify(orderService, never()).save(any());
+    }
+}
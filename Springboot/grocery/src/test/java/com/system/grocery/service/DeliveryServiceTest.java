@@ -0,0 +1,65 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.system.grocery.entity.Delivery;
+import com.system.grocery.entity.DeliveryStatus;
+import com.system.grocery.exception.StatusChangeException;
+import com.system.grocery.repository.DeliveryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryServiceTest {
+
+    @Mock
+    private DeliveryRepository repo;
+
+    @InjectMocks
+    private DeliveryService service;
+
+    @Test
+    void plainUpdatesCannotMoveTheStatus() {
+        when(repo.findStatusById(3)).thenReturn(Optional.of(DeliveryStatus.ASSIGNED));
+
+        assertThatThrownBy(() -> service.save(delivery(3, DeliveryStatus.DELIVERED)))
+                .isInstanceOf(StatusChangeException.class);
+        verify(repo, never()).save(any());
+    }
+
+    @Test
+    void updatesWithoutAStatusKeepTheStoredOne() {
+        Delivery d = delivery(4, null);
+        when(repo.findStatusById(4)).thenReturn(Optional.of(DeliveryStatus.PICKED_UP));
+        when(repo.save(d)).thenReturn(d);
+
+        service.save(d);
+
+        assertThat(d.getStatus()).isEqualTo(DeliveryStatus.PICKED_UP);
+    }
+
+    @Test
+    void newDeliveriesAreSavedAsGiven() {
+        Delivery d = delivery(null, DeliveryStatus.PENDING);
+        when(repo.save(d)).thenReturn(d);
+
+        assertThat(service.save(d)).isSameAs(d);
+        verify(repo, never()).findStatusById(any());
+    }
+
+    private static Delivery delivery(Integer id, DeliveryStatus status) {
+        Delivery d = new Delivery();
+        d.setId(id);
+        d.setStatus(status);
+        return d;
+    }
+}
@@ -0,0 +1,136 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.OpenDelivery;
+import com.system.grocery.dto.RouteStop;
+import com.system.grocery.dto.TripPlan;
+import com.system.grocery.entity.DeliveryAgent;
+import com.system.grocery.entity.DeliveryTrip;
+import com.system.grocery.repository.DeliveryAgentRepository;
+import com.system.grocery.repository.DeliveryRepository;
+import com.system.grocery.repository.DeliveryTripRepository;
+import com.system.grocery.repository.StoreRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DispatchServiceTest {
+
+    private static final int STORE = 1;
+    private static final int AGENT = 11;
+    private static final int TRIP = 70;
+    private static final LocalDateTime LONG_AGO = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @Mock
+    private DeliveryRepository deliveryRepo;
+
+    @Mock
+    private DeliveryAgentRepository agentRepo;
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @Mock
+    private DeliveryTripRepository tripRepo;
+
+    @Mock
+    private StoreRepository storeRepo;
+
+    @Mock
+    private AddressResolver resolver;
+
+    @Mock
+    private RouteBatcher batcher;
+
+    @Mock
+    private TransactionTemplate tx;
+
+    @InjectMocks
+    private DispatchService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "windowSeconds", 60L);
+        ReflectionTestUtils.setField(service, "maxStops", 2);
+        ReflectionTestUtils.setField(service, "radiusKm", 3.0);
+
+        DeliveryAgent agent = new DeliveryAgent();
+        agent.setId(AGENT);
+        agent.setStoreId(STORE);
+        when(agentRepo.findAll()).thenReturn(List.of(agent));
+        service.reloadAgents();
+
+        when(deliveryRepo.findUnassigned(any(), any())).thenReturn(List.of(
+                new OpenDelivery(100, STORE, "a", LONG_AGO),
+                new OpenDelivery(101, STORE, "b", LONG_AGO)));
+        lenient().when(resolver.resolve(any())).thenReturn(Optional.empty());
+        when(storeRepo.findById(STORE)).thenReturn(Optional.empty());
+        when(batcher.plan(any(), anyList(), anyInt(), anyDouble())).thenReturn(List.of(new TripPlan(List.of(
+                new RouteStop(100, null, LONG_AGO),
+                new RouteStop(101, null, LONG_AGO)), 1.5)));
+        when(tx.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(tripRepo.save(any())).thenAnswer(inv -> {
+            DeliveryTrip t = inv.getArgument(0);
+            t.setId(TRIP);
+            return t;
+        });
+    }
+
+    @Test
+    void assignedTripsCountTowardsTheAgentsLoad() {
+        when(jdbc.batchUpdate(anyString(), anyList(), anyInt(), any())).thenReturn(new int[][] { { 1, 1 } });
+
+        assertThat(service.dispatchPending()).isEqualTo(2);
+
+        assertThat(service.status().agents().get(0).openDeliveries()).isEqualTo(2);
+        assertThat(service.status().tripsTotal()).isEqualTo(1);
+        verify(tripRepo, never()).dropStops(anyInt(), anyInt());
+    }
+
+    @Test
+    void tripThatLostEveryStopIsDeleted() {
+        when(jdbc.batchUpdate(anyString(), anyList(), anyInt(), any())).thenReturn(new int[][] { { 0, 0 } });
+        when(tripRepo.deleteIfEmpty(TRIP)).thenReturn(1);
+
+        assertThat(service.dispatchPending()).isEqualTo(0);
+
+        verify(tripRepo).dropStops(TRIP, 2);
+        verify(tripRepo).deleteIfEmpty(TRIP);
+        assertThat(service.status().tripsTotal()).isEqualTo(0);
+        assertThat(service.status().agents().get(0).openDeliveries()).isEqualTo(0);
+    }
+
+    @Test
+    void failedBatchGivesTheReservedLoadBack() {
+        when(jdbc.batchUpdate(anyString(), anyList(), anyInt(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThat(service.dispatchPending()).isEqualTo(0);
+
+        assertThat(service.status().agents().get(0).openDeliveries()).isEqualTo(0);
+        assertThat(service.status().tripsTotal()).isEqualTo(0);
+    }
+}
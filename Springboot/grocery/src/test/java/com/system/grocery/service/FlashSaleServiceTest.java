@@ -0,0 +1,125 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.CartStore;
+import com.system.grocery.entity.CartItem;
+import com.system.grocery.exception.FlashSaleBusyException;
+import com.system.grocery.exception.FlashSalePendingException;
+import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.CartRepository;
+import com.system.grocery.repository.FlashSaleRepository;
+import com.system.grocery.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FlashSaleServiceTest {
+
+    private static final int CART = 7;
+    private static final int PRODUCT = 10;
+
+    @Mock
+    private FlashSaleRepository repo;
+
+    @Mock
+    private ProductRepository productRepo;
+
+    @Mock
+    private CartRepository cartRepo;
+
+    @Mock
+    private CartItemRepository cartItemRepo;
+
+    @Mock
+    private ProductLookupCache productCache;
+
+    @Mock
+    private InventoryService inventory;
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @Mock
+    private TransactionTemplate tx;
+
+    private FlashSaleService service;
+
+    private final CountDownLatch insertReleased = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        service = new FlashSaleService(10);
+        ReflectionTestUtils.setField(service, "repo", repo);
+        ReflectionTestUtils.setField(service, "productRepo", productRepo);
+        ReflectionTestUtils.setField(service, "cartRepo", cartRepo);
+        ReflectionTestUtils.setField(service, "cartItemRepo", cartItemRepo);
+        ReflectionTestUtils.setField(service, "productCache", productCache);
+        ReflectionTestUtils.setField(service, "inventory", inventory);
+        ReflectionTestUtils.setField(service, "jdbc", jdbc);
+        ReflectionTestUtils.setField(service, "tx", tx);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        ReflectionTestUtils.setField(service, "waitMs", 100L);
+        lenient().when(repo.findAll()).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        insertReleased.countDown();
+        service.stop();
+    }
+
+    @Test
+    void aClaimedAdmissionStuckInTheDatabaseAnswersPendingInsteadOfBlocking() {
+        CountDownLatch claimed = new CountDownLatch(1);
+        when(cartRepo.findStores(any())).thenReturn(List.of(new CartStore(CART, 1)));
+        when(inventory.reserve(1, PRODUCT, 1)).thenReturn(true);
+        doAnswer(inv -> {
+            claimed.countDown();
+            insertReleased.await();
+            return null;
+        }).when(tx).executeWithoutResult(any());
+        service.start();
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> service.addToCart(item()))
+                .isInstanceOf(FlashSalePendingException.class);
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(claimed.getCount()).isZero();
+        // One wait before the claim check and one after it, never unbounded.
+        assertThat(waitedMs).isBetween(200L, 5_000L);
+    }
+
+    @Test
+    void anAdmissionNoOneClaimedInTimeIsShedAsBusy() {
+        // No writer running: nothing ever takes the admission.
+        assertThatThrownBy(() -> service.addToCart(item()))
+                .isInstanceOf(FlashSaleBusyException.class);
+        assertThat(service.stats().shed()).isEqualTo(1);
+    }
+
+    private static CartItem item() {
+        CartItem ci = new CartItem();
+        ci.setCartId(CART);
+        ci.setProductId(PRODUCT);
+        ci.setQuantity(1);
+        ci.setPriceAtTime(2.0);
+        return ci;
+    }
+}
@@ -0,0 +1,226 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import com.system.grocery.repository.StoreStockRepository;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+
+    private static final int STORE = 1;
+    private static final int PRODUCT = 10;
+
+    @Mock
+    private StoreStockRepository repo;
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @InjectMocks
+    private InventoryService service;
+
+    @Test
+    void reservationsStopAtZeroAndFlushAsOneDelta() {
+        when(repo.findQuantity(STORE, PRODUCT)).thenReturn(Optional.of(3));
+        List<List<Object[]>> batches = captureBatches(1);
+
+        assertThat(service.reserve(STORE, PRODUCT, 2)).isTrue();
+        assertThat(service.reserve(STORE, PRODUCT, 2)).isFalse();
+        assertThat(service.reserve(STORE, PRODUCT, 1)).isTrue();
+        service.flush();
+        service.flush();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0).get(0)[0]).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentReservationsAreFlushedExactlyOnce() throws Exception {
+        when(repo.findQuantity(STORE, PRODUCT)).thenReturn(Optional.of(1_000_000));
+        AtomicLong flushed = new AtomicLong();
+        doAnswer(inv -> {
+            List<Object[]> rows = inv.getArgument(1);
+            rows.forEach(r -> flushed.addAndGet((Integer) r[0]));
+            int[] results = new int[rows.size()];
+            Arrays.fill(results, 1);
+            return results;
+        }).when(jdbc).batchUpdate(anyString(), anyList());
+
+        int writers = 4;
+        int perWriter = 20_000;
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch done = new CountDownLatch(writers);
+        for (int w = 0; w < writers; w++) {
+            pool.execute(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    if (service.reserve(STORE, PRODUCT, 1)) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            service.flush();
+        }
+        service.flush();
+        pool.shutdown();
+
+        assertThat(reserved.get()).isEqualTo(writers * perWriter);
+        assertThat(flushed.get()).isEqualTo((long) writers * perWriter);
+    }
+
+    @Test
+    void failedFlushKeepsTheDelta() {
+        when(repo.findQuantity(STORE, PRODUCT)).thenReturn(Optional.of(5));
+        doThrow(new QueryTimeoutException("timeout")).when(jdbc).batchUpdate(anyString(), anyList());
+
+        service.reserve(STORE, PRODUCT, 2);
+        service.flush();
+        List<List<Object[]>> batches = captureBatches(1);
+        service.reserve(STORE, PRODUCT, 1);
+        service.flush();
+
+        assertThat(batches.get(0).get(0)[0]).isEqualTo(3);
+    }
+
+    @Test
+    void shortRowKeepsTheDeltaAndStopsNewReservations() {
+        // Loaded with 5, then someone lowers the row to 2 outside the ledger.
+        when(repo.findQuantity(STORE, PRODUCT)).thenReturn(Optional.of(5), Optional.of(2));
+        captureBatches(0);
+
+        service.reserve(STORE, PRODUCT, 5);
+        service.flush();
+
+        assertThat(service.level(STORE, PRODUCT).available()).isEqualTo(0);
+        assertThat(service.reserve(STORE, PRODUCT, 1)).isFalse();
+
+        List<List<Object[]>> retried = captureBatches(1);
+        service.flush();
+        assertThat(retried.get(0).get(0)[0]).isEqualTo(5);
+    }
+
+    @Test
+    void deletedRowDropsTheDeltaAndStopsTracking() {
+        when(repo.findQuantity(STORE, PRODUCT)).thenReturn(Optional.of(5), Optional.empty());
+        List<List<Object[]>> batches = captureBatches(0);
+
+        service.reserve(STORE, PRODUCT, 2);
+        service.flush();
+        service.flush();
+
+        assertThat(batches).hasSize(1);
+        assertThat(service.level(STORE, PRODUCT).tracked()).isFalse();
+    }
+
+    @Test
+    void reloadsDuringReservationsNeverSellTheSameUnitTwice() throws Exception {
+        // store_stock as the conditional UPDATE would leave it.
+        AtomicInteger row = new AtomicInteger(10_000);
+        when(repo.findQuantity(STORE, PRODUCT)).thenAnswer(inv -> Optional.of(row.get()));
+        doAnswer(inv -> {
+            List<Object[]> rows = inv.getArgument(1);
+            int[] results = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                int delta = (Integer) rows.get(i)[0];
+                results[i] = row.get() - delta >= 0 ? 1 : 0;
+                if (results[i] == 1) {
+                    row.addAndGet(-delta);
+                }
+            }
+            return results;
+        }).when(jdbc).batchUpdate(anyString(), anyList());
+
+        int writers = 4;
+        AtomicInteger reserved = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch done = new CountDownLatch(writers);
+        for (int w = 0; w < writers; w++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    if (service.reserve(STORE, PRODUCT, 1)) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            service.adjust(STORE, PRODUCT, 0);
+            service.flush();
+        }
+        service.flush();
+        pool.shutdown();
+
+        assertThat(reserved.get()).isEqualTo(10_000);
+        assertThat(row.get()).isZero();
+        assertThat(service.level(STORE, PRODUCT).available()).isZero();
+    }
+
+    @Test
+    void adjustKeepsReservationsNotFlushedYet() {
+        when(repo.findQuantity(STORE, PRODUCT)).thenReturn(Optional.of(5), Optional.of(15));
+        List<List<Object[]>> batches = captureBatches(1);
+
+        service.reserve(STORE, PRODUCT, 2);
+        // The row now holds 15, but the 2 reserved units have not reached it.
+        assertThat(service.adjust(STORE, PRODUCT, 10).available()).isEqualTo(13);
+        service.flush();
+
+        assertThat(batches.get(0).get(0)[0]).isEqualTo(2);
+    }
+
+    @Test
+    void removingTheStockRowStopsTrackingAndLeavesTheSearchStoreFilter() {
+        when(repo.findQuantity(STORE, PRODUCT)).thenReturn(Optional.of(5));
+        service.reserve(STORE, PRODUCT, 2);
+
+        assertThat(service.remove(STORE, PRODUCT).tracked()).isFalse();
+        service.flush();
+
+        verify(jdbc).update("delete from store_stock where store_id = ? and product_id = ?", STORE, PRODUCT);
+        verify(searchIndex).unstocked(STORE, PRODUCT);
+        verify(jdbc, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private List<List<Object[]>> captureBatches(int rowsUpdated) {
+        List<List<Object[]>> batches = new ArrayList<>();
+        doAnswer(inv -> {
+            List<Object[]> rows = inv.getArgument(1);
+            batches.add(new ArrayList<>(rows));
+            int[] results = new int[rows.size()];
+            Arrays.fill(results, rowsUpdated);
+            return results;
+        }).when(jdbc).batchUpdate(anyString(), anyList());
+        return batches;
+    }
+}
@@ -0,0 +1,113 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.system.grocery.entity.Notification;
+import com.system.grocery.repository.NotificationRepository;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    private static final int USER = 42;
+
+    @Mock
+    private NotificationRepository repo;
+
+    @Mock
+    private NotificationStreamService stream;
+
+    @InjectMocks
+    private NotificationService service;
+
+    @Test
+    void markingReadThroughSaveReleasesTheUnreadCount() {
+        createUnread(5);
+
+        // Open-in-view: findById hands back the managed instance and save
+        // merges the update into it before the after-commit hook runs.
+        Notification managed = notification(5, false);
+        Notification update = notification(5, true);
+        when(repo.findById(5)).thenReturn(Optional.of(managed));
+        when(repo.save(update)).thenAnswer(inv -> {
+            managed.setIsRead(true);
+            return managed;
+        });
+
+        service.save(update);
+
+        assertThat(service.unreadCount(USER)).isEqualTo(0);
+    }
+
+    @Test
+    void editingAnUnreadNotificationKeepsTheCount() {
+        createUnread(6);
+
+        Notification managed = notification(6, false);
+        Notification update = notification(6, false);
+        update.setMessage("edited");
+        when(repo.findById(6)).thenReturn(Optional.of(managed));
+        when(repo.save(update)).thenAnswer(inv -> {
+            managed.setMessage("edited");
+            return managed;
+        });
+
+        service.save(update);
+
+        assertThat(service.unreadCount(USER)).isEqualTo(1);
+    }
+
+    @Test
+    void deletingAnUnreadNotificationDecrementsTheCount() {
+        createUnread(7);
+        when(repo.findById(7)).thenReturn(Optional.of(notification(7, false)));
+
+        service.delete(7);
+
+        assertThat(service.unreadCount(USER)).isEqualTo(0);
+    }
+
+    @Test
+    void notificationsSavedWithoutAReadFlagAreStoredUnreadAndCanBeMarkedRead() {
+        Notification created = notification(null, false);
+        created.setIsRead(null);
+        when(repo.save(created)).thenAnswer(inv -> {
+            created.setId(8);
+            return created;
+        });
+        when(repo.markAllRead(USER)).thenReturn(1);
+
+        service.save(created);
+        assertThat(created.getIsRead()).isFalse();
+        assertThat(service.unreadCount(USER)).isEqualTo(1);
+
+        service.markRead(USER, null);
+        assertThat(service.unreadCount(USER)).isEqualTo(0);
+    }
+
+    private void createUnread(int id) {
+        Notification created = notification(null, false);
+        when(repo.save(created)).thenAnswer(inv -> {
+            created.setId(id);
+            return created;
+        });
+        service.save(created);
+        assertThat(service.unreadCount(USER)).isEqualTo(1);
+    }
+
+    private static Notification notification(Integer id, boolean read) {
+        Notification n = new Notification();
+        n.setId(id);
+        n.setUserId(USER);
+        n.setType("ORDER");
+        n.setMessage("Order placed");
+        n.setIsRead(read);
+        return n;
+    }
+}
@@ -0,0 +1,123 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import com.system.grocery.dto.DeliveryInfo;
+import com.system.grocery.dto.OrderDetail;
+import com.system.grocery.dto.OrderLine;
+import com.system.grocery.dto.PageResult;
+import com.system.grocery.dto.PaymentInfo;
+import com.system.grocery.dto.StoreInfo;
+import com.system.grocery.entity.DeliveryStatus;
+import com.system.grocery.entity.OrderStatus;
+import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.entity.PaymentStatus;
+import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.DeliveryRepository;
+import com.system.grocery.repository.OrderTblRepository;
+import com.system.grocery.repository.PaymentRepository;
+import com.system.grocery.repository.StoreRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDetailServiceTest {
+
+    private static final int USER = 4;
+
+    @Mock
+    private OrderTblRepository orderRepo;
+
+    @Mock
+    private CartItemRepository cartItemRepo;
+
+    @Mock
+    private PaymentRepository paymentRepo;
+
+    @Mock
+    private DeliveryRepository deliveryRepo;
+
+    @Mock
+    private StoreRepository storeRepo;
+
+    @InjectMocks
+    private OrderDetailService service;
+
+    @Test
+    void historyLoadsEachRelationOnceForTheWholePage() {
+        List<OrderTbl> orders = List.of(order(3, 30, 1), order(2, 20, 1), order(1, null, 2));
+        when(orderRepo.findByUserIdOrderByOrderTimeDescIdDesc(eq(USER), any()))
+                .thenReturn(new SliceImpl<>(orders, PageRequest.of(0, 3), true));
+        when(cartItemRepo.findLinesByCartIds(Set.of(20, 30))).thenReturn(List.of(
+                new OrderLine(30, 100, "Milk", 2, 1.5),
+                new OrderLine(20, 101, "Bread", 1, 2.0),
+                new OrderLine(30, 102, "Eggs", 12, 0.3)));
+        when(paymentRepo.findInfoByOrderIds(Set.of(1, 2, 3))).thenReturn(List.of(
+                new PaymentInfo(50, 3, "UPI", 6.6, PaymentStatus.PAID, null)));
+        when(deliveryRepo.findInfoByOrderIds(Set.of(1, 2, 3))).thenReturn(List.of(
+                new DeliveryInfo(60, 2, DeliveryStatus.ASSIGNED, null, 7, 1, 9, "Asha", "555")));
+        when(storeRepo.findInfoByIds(Set.of(1, 2))).thenReturn(List.of(
+                new StoreInfo(1, "Central", "Main St", "111"),
+                new StoreInfo(2, "North", "Hill Rd", "222")));
+
+        PageResult<OrderDetail> page = service.history(USER, 0, 3);
+
+        verify(orderRepo).findByUserIdOrderByOrderTimeDescIdDesc(eq(USER), any());
+        verify(cartItemRepo).findLinesByCartIds(Set.of(20, 30));
+        verify(paymentRepo).findInfoByOrderIds(Set.of(1, 2, 3));
+        verify(deliveryRepo).findInfoByOrderIds(Set.of(1, 2, 3));
+        verify(storeRepo).findInfoByIds(Set.of(1, 2));
+        verifyNoMoreInteractions(orderRepo, cartItemRepo, paymentRepo, deliveryRepo, storeRepo);
+
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.items()).extracting(OrderDetail::orderId).containsExactly(3, 2, 1);
+        OrderDetail newest = page.items().get(0);
+        assertThat(newest.lines()).extracting(OrderLine::productName).containsExactly("Milk", "Eggs");
+        assertThat(newest.payments()).extracting(PaymentInfo::paymentId).containsExactly(50);
+        assertThat(newest.deliveries()).isEmpty();
+        assertThat(page.items().get(1).deliveries()).extracting(DeliveryInfo::agentName).containsExactly("Asha");
+        assertThat(page.items().get(2).lines()).isEmpty();
+        assertThat(page.items().get(2).store().name()).isEqualTo("North");
+    }
+
+    @Test
+    void anOrderWithoutCartOrStoreSkipsThoseQueries() {
+        when(orderRepo.findById(1)).thenReturn(Optional.of(order(1, null, null)));
+
+        OrderDetail detail = service.detail(1);
+
+        assertThat(detail.store()).isNull();
+        assertThat(detail.lines()).isEmpty();
+        verify(cartItemRepo, never()).findLinesByCartIds(any());
+        verify(storeRepo, never()).findInfoByIds(any());
+        verify(paymentRepo).findInfoByOrderIds(Set.of(1));
+        verify(deliveryRepo).findInfoByOrderIds(Set.of(1));
+    }
+
+    private static OrderTbl order(int id, Integer cartId, Integer storeId) {
+        OrderTbl o = new OrderTbl();
+        o.setId(id);
+        o.setUserId(USER);
+        o.setCartId(cartId);
+        o.setStoreId(storeId);
+        o.setStatus(OrderStatus.PLACED);
+        o.setTotalAmount(6.6);
+        o.setOrderTime(LocalDateTime.of(2026, 1, 1, 10, 0).plusHours(id));
+        return o;
+    }
+}
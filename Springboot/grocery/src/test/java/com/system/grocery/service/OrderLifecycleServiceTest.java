@@ -0,0 +1,166 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.system.grocery.dto.DeliveryAssignment;
+import com.system.grocery.dto.TransitionOutcome;
+import com.system.grocery.dto.TransitionResult;
+import com.system.grocery.entity.DeliveryStatus;
+import com.system.grocery.entity.OrderStatus;
+import com.system.grocery.entity.PaymentStatus;
+import com.system.grocery.repository.CartItemRepository;
+import com.system.grocery.repository.DeliveryRepository;
+import com.system.grocery.repository.DeliveryTripRepository;
+import com.system.grocery.repository.OrderStatusHistoryRepository;
+import com.system.grocery.repository.OrderTblRepository;
+import com.system.grocery.repository.PaymentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OrderLifecycleServiceTest {
+
+    @Mock
+    private OrderTblRepository orderRepo;
+
+    @Mock
+    private PaymentRepository paymentRepo;
+
+    @Mock
+    private DeliveryRepository deliveryRepo;
+
+    @Mock
+    private OrderStatusHistoryRepository historyRepo;
+
+    @Mock
+    private SalesRollupService sales;
+
+    @Mock
+    private InventoryService inventory;
+
+    @Mock
+    private CartItemRepository cartItemRepo;
+
+    @Mock
+    private DeliveryTripRepository tripRepo;
+
+    @Mock
+    private DispatchService dispatch;
+
+    @InjectMocks
+    private OrderLifecycleService service;
+
+    @Test
+    void handingAnAssignedDeliveryBackUnassignsItAndReleasesTheAgent() {
+        when(deliveryRepo.findAssignmentById(3)).thenReturn(Optional.of(new DeliveryAssignment(11, 70)));
+        when(deliveryRepo.updateStatusAndUnassign(3, DeliveryStatus.ASSIGNED, DeliveryStatus.PENDING)).thenReturn(1);
+
+        TransitionResult<DeliveryStatus> result =
+                service.transitionDelivery(3, DeliveryStatus.ASSIGNED, DeliveryStatus.PENDING);
+
+        assertThat(result.outcome()).isEqualTo(TransitionOutcome.APPLIED);
+        verify(deliveryRepo, never()).updateStatus(anyInt(), any(), any());
+        verify(tripRepo).dropStops(70, 1);
+        verify(tripRepo).deleteIfEmpty(70);
+        verify(dispatch).released(11);
+    }
+
+    @Test
+    void deliveringKeepsTheTripButReleasesTheAgent() {
+        when(deliveryRepo.findAssignmentById(4)).thenReturn(Optional.of(new DeliveryAssignment(12, 71)));
+        when(deliveryRepo.updateStatusAndDeliveryTime(anyInt(), any(), any(), any())).thenReturn(1);
+
+        TransitionResult<DeliveryStatus> result =
+                service.transitionDelivery(4, DeliveryStatus.PICKED_UP, DeliveryStatus.DELIVERED);
+
+        assertThat(result.outcome()).isEqualTo(TransitionOutcome.APPLIED);
+        verify(tripRepo, never()).dropStops(anyInt(), anyInt());
+        verify(dispatch).released(12);
+    }
+
+    @Test
+    void pickingUpDoesNotReleaseTheAgent() {
+        when(deliveryRepo.findAssignmentById(5)).thenReturn(Optional.of(new DeliveryAssignment(13, 72)));
+        when(deliveryRepo.updateStatus(5, DeliveryStatus.ASSIGNED, DeliveryStatus.PICKED_UP)).thenReturn(1);
+
+        service.transitionDelivery(5, DeliveryStatus.ASSIGNED, DeliveryStatus.PICKED_UP);
+
+        verify(dispatch, never()).released(anyInt());
+    }
+
+    @Test
+    void pickedUpDeliveriesCannotGoBackToPending() {
+        when(deliveryRepo.findAssignmentById(6)).thenReturn(Optional.of(new DeliveryAssignment(14, 73)));
+        when(deliveryRepo.findStatusById(6)).thenReturn(Optional.of(DeliveryStatus.PICKED_UP));
+
+        TransitionResult<DeliveryStatus> result = service.transitionDelivery(6, null, DeliveryStatus.PENDING);
+
+        assertThat(result.outcome()).isEqualTo(TransitionOutcome.INVALID_TRANSITION);
+        assertThat(result.status()).isEqualTo(DeliveryStatus.PICKED_UP);
+        verify(deliveryRepo, never()).updateStatusAndUnassign(anyInt(), any(), any());
+        verify(dispatch, never()).released(anyInt());
+    }
+
+    @Test
+    void aLostRaceReportsTheWinningStatus() {
+        when(deliveryRepo.findAssignmentById(7)).thenReturn(Optional.of(new DeliveryAssignment(15, 74)));
+        when(deliveryRepo.updateStatusAndUnassign(7, DeliveryStatus.ASSIGNED, DeliveryStatus.PENDING)).thenReturn(0);
+        when(deliveryRepo.findStatusById(7)).thenReturn(Optional.of(DeliveryStatus.PICKED_UP));
+
+        TransitionResult<DeliveryStatus> result =
+                service.transitionDelivery(7, DeliveryStatus.ASSIGNED, DeliveryStatus.PENDING);
+
+        assertThat(result.outcome()).isEqualTo(TransitionOutcome.CONFLICT);
+        assertThat(result.status()).isEqualTo(DeliveryStatus.PICKED_UP);
+        verify(tripRepo, never()).dropStops(anyInt(), anyInt());
+        verify(dispatch, never()).released(anyInt());
+    }
+
+    @Test
+    void cancellingAnOrderReleasesItsAssignedDelivery() {
+        when(orderRepo.findStatusById(8)).thenReturn(Optional.of(OrderStatus.PACKED));
+        when(orderRepo.updateStatus(8, OrderStatus.PACKED, OrderStatus.CANCELLED)).thenReturn(1);
+        when(orderRepo.findById(8)).thenReturn(Optional.empty());
+        when(deliveryRepo.findIdsByOrderIdAndStatusIn(eq(8), any())).thenReturn(List.of(20));
+        when(deliveryRepo.findAssignmentById(20)).thenReturn(Optional.of(new DeliveryAssignment(16, 75)));
+        when(deliveryRepo.findStatusById(20)).thenReturn(Optional.of(DeliveryStatus.ASSIGNED));
+        when(deliveryRepo.updateStatusAndUnassign(20, DeliveryStatus.ASSIGNED, DeliveryStatus.CANCELLED)).thenReturn(1);
+
+        TransitionResult<OrderStatus> result = service.transitionOrder(8, null, OrderStatus.CANCELLED);
+
+        assertThat(result.outcome()).isEqualTo(TransitionOutcome.APPLIED);
+        verify(tripRepo).dropStops(75, 1);
+        verify(tripRepo).deleteIfEmpty(75);
+        verify(dispatch).released(16);
+    }
+
+    @Test
+    void orderTransitionsFollowTheLifecycle() {
+        when(orderRepo.findStatusById(8)).thenReturn(Optional.of(OrderStatus.OUT_FOR_DELIVERY));
+
+        TransitionResult<OrderStatus> result = service.transitionOrder(8, null, OrderStatus.CANCELLED);
+
+        assertThat(result.outcome()).isEqualTo(TransitionOutcome.INVALID_TRANSITION);
+        verify(orderRepo, never()).updateStatus(anyInt(), any(), any());
+    }
+
+    @Test
+    void unknownPaymentsAreNotFound() {
+        when(paymentRepo.findStatusById(9)).thenReturn(Optional.empty());
+
+        TransitionResult<PaymentStatus> result = service.transitionPayment(9, null, PaymentStatus.PAID);
+
+        assertThat(result.outcome()).isEqualTo(TransitionOutcome.NOT_FOUND);
+    }
+}
@@ -0,0 +1,75 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import com.system.grocery.dto.OrderHistoryPage;
+import com.system.grocery.dto.OrderSummary;
+import com.system.grocery.entity.OrderStatus;
+import com.system.grocery.exception.InvalidCursorException;
+import com.system.grocery.repository.OrderTblRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OrderTblServiceTest {
+
+    private static final int USER = 4;
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 3, 1, 12, 0, 30, 500_000_000);
+
+    @Mock
+    private OrderTblRepository repo;
+
+    @Mock
+    private SalesRollupService sales;
+
+    @InjectMocks
+    private OrderTblService service;
+
+    @Test
+    void aFullPageHandsOutACursorThatResumesAfterItsLastOrder() {
+        when(repo.findHistory(USER, OrderStatus.PLACED, Limit.of(2)))
+                .thenReturn(List.of(summary(9, NOON.plusHours(1)), summary(7, NOON)));
+        when(repo.findHistoryBefore(USER, NOON, 7, OrderStatus.PLACED, Limit.of(2)))
+                .thenReturn(List.of(summary(3, NOON.minusDays(1))));
+
+        OrderHistoryPage first = service.history(USER, OrderStatus.PLACED, null, 2);
+        OrderHistoryPage second = service.history(USER, OrderStatus.PLACED, first.nextCursor(), 2);
+
+        assertThat(first.nextCursor()).isEqualTo(NOON + "_7");
+        assertThat(second.items()).extracting(OrderSummary::id).containsExactly(3);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void sizeIsDefaultedAndCapped() {
+        when(repo.findHistory(any(), any(), any())).thenReturn(List.of());
+
+        service.history(USER, null, "", null);
+        service.history(USER, null, null, 10_000);
+
+        verify(repo).findHistory(USER, null, Limit.of(20));
+        verify(repo).findHistory(USER, null, Limit.of(200));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String cursor : List.of("7", "yesterday_7", NOON + "_seven")) {
+            assertThatThrownBy(() -> service.history(USER, null, cursor, 2))
+                    .isInstanceOf(InvalidCursorException.class);
+        }
+    }
+
+    private static OrderSummary summary(int id, LocalDateTime time) {
+        return new OrderSummary(id, 1, OrderStatus.PLACED, 10.0, time);
+    }
+}
@@ -0,0 +1,138 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.IdempotencyRecord;
+import com.system.grocery.dto.PaymentResult;
+import com.system.grocery.entity.Payment;
+import com.system.grocery.exception.IdempotencyKeyException;
+import com.system.grocery.repository.PaymentIdempotencyKeyRepository;
+import com.system.grocery.repository.PaymentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentIdempotencyServiceTest {
+
+    private static final int ORDER = 3;
+    private static final String KEY = "retry-1";
+
+    @Mock
+    private PaymentRepository paymentRepo;
+
+    @Mock
+    private PaymentIdempotencyKeyRepository keyRepo;
+
+    @Mock
+    private TransactionTemplate tx;
+
+    private PaymentIdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PaymentIdempotencyService(100, 60);
+        ReflectionTestUtils.setField(service, "paymentRepo", paymentRepo);
+        ReflectionTestUtils.setField(service, "keyRepo", keyRepo);
+        ReflectionTestUtils.setField(service, "tx", tx);
+        lenient().when(tx.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void expiredButUnpurgedKeyIsTakenOver() {
+        // The stored row is older than the TTL; the claim overwrites it with
+        // this request's hash and timestamp.
+        AtomicReference<IdempotencyRecord> row = new AtomicReference<>(
+                new IdempotencyRecord("old-hash", 1, LocalDateTime.now().minusDays(2)));
+        when(keyRepo.findRecord(ORDER, KEY)).thenAnswer(inv -> Optional.of(row.get()));
+        doAnswer(inv -> {
+            row.set(new IdempotencyRecord(inv.getArgument(2), null, inv.getArgument(3)));
+            return 2;
+        }).when(keyRepo).claim(eq(ORDER), eq(KEY), anyString(), any(), any());
+        when(paymentRepo.save(any())).thenAnswer(inv -> withId(inv.getArgument(0), 50));
+
+        PaymentResult result = service.create(payment(), KEY);
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.payment().getId()).isEqualTo(50);
+        verify(keyRepo).attachPayment(ORDER, KEY, 50);
+    }
+
+    @Test
+    void requestThatLostTheClaimReplaysTheWinner() {
+        Payment request = payment();
+        AtomicReference<IdempotencyRecord> row = new AtomicReference<>();
+        when(keyRepo.findRecord(ORDER, KEY)).thenAnswer(inv -> Optional.ofNullable(row.get()));
+        doAnswer(inv -> {
+            // The winner committed while this claim waited on its row lock.
+            row.set(new IdempotencyRecord(inv.getArgument(2), 77, LocalDateTime.now().minusSeconds(1)));
+            return 1;
+        }).when(keyRepo).claim(eq(ORDER), eq(KEY), anyString(), any(), any());
+        when(paymentRepo.findById(77)).thenReturn(Optional.of(withId(payment(), 77)));
+
+        PaymentResult result = service.create(request, KEY);
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.payment().getId()).isEqualTo(77);
+        verify(paymentRepo, never()).save(any());
+        verify(keyRepo, never()).attachPayment(anyInt(), anyString(), anyInt());
+    }
+
+    @Test
+    void liveKeyWithADifferentRequestIsRejected() {
+        when(keyRepo.findRecord(ORDER, KEY))
+                .thenReturn(Optional.of(new IdempotencyRecord("other-hash", 9, LocalDateTime.now())));
+
+        assertThatThrownBy(() -> service.create(payment(), KEY))
+                .isInstanceOf(IdempotencyKeyException.class);
+        verify(paymentRepo, never()).save(any());
+    }
+
+    @Test
+    void repeatsAreAnsweredFromMemory() {
+        AtomicReference<IdempotencyRecord> row = new AtomicReference<>();
+        when(keyRepo.findRecord(ORDER, KEY)).thenAnswer(inv -> Optional.ofNullable(row.get()));
+        doAnswer(inv -> {
+            row.set(new IdempotencyRecord(inv.getArgument(2), null, inv.getArgument(3)));
+            return 1;
+        }).when(keyRepo).claim(eq(ORDER), eq(KEY), anyString(), any(), any());
+        when(paymentRepo.save(any())).thenAnswer(inv -> withId(inv.getArgument(0), 51));
+
+        service.create(payment(), KEY);
+        PaymentResult again = service.create(payment(), KEY);
+
+        assertThat(again.replayed()).isTrue();
+        assertThat(again.payment().getId()).isEqualTo(51);
+    }
+
+    private static Payment payment() {
+        Payment p = new Payment();
+        p.setOrderId(ORDER);
+        p.setMethod("CARD");
+        p.setAmount(25.0);
+        return p;
+    }
+
+    private static Payment withId(Payment p, Integer id) {
+        p.setId(id);
+        return p;
+    }
+}
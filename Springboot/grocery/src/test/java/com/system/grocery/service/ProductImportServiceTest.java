@@ -0,0 +1,77 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.dto.ImportReport;
+import com.system.grocery.exception.ImportInProgressException;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @Mock
+    private TransactionTemplate tx;
+
+    @Mock
+    private JsonMapper json;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private CategoryTreeService categoryTree;
+
+    @InjectMocks
+    private ProductImportService service;
+
+    @Test
+    void secondImportIsRejectedWhileOneIsRunning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbc.queryForObject(anyString(), eq(Integer.class))).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 0;
+        });
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<ImportReport> first = pool.submit(() -> service.importProducts(csv(), "text/csv", null));
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> service.importProducts(csv(), "text/csv", null))
+                .isInstanceOf(ImportInProgressException.class);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).status()).isEqualTo("DONE");
+        pool.shutdown();
+
+        // The guard is released once the run finishes.
+        assertThat(service.importProducts(csv(), "text/csv", null).status()).isEqualTo("DONE");
+    }
+
+    private static InputStream csv() {
+        return new ByteArrayInputStream("name,price\n".getBytes(StandardCharsets.UTF_8));
+    }
+}
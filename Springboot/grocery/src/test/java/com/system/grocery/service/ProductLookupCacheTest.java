@@ -0,0 +1,71 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import com.system.grocery.entity.Product;
+
+class ProductLookupCacheTest {
+
+    private final ProductLookupCache cache = new ProductLookupCache(100, 60);
+
+    @Test
+    void loadThatRacedAnInvalidationIsNotCached() {
+        long stamp = cache.stamp(1);
+        Product stale = product(1, 10.0);
+
+        // A save commits and invalidates while the stale row is in flight.
+        cache.invalidate(1);
+        cache.put(stale, stamp);
+
+        assertThat(cache.get(1)).isNull();
+    }
+
+    @Test
+    void loadWithCurrentStampIsCached() {
+        cache.put(product(1, 10.0), cache.stamp(1));
+
+        assertThat(cache.get(1).getPrice()).isEqualTo(10.0);
+    }
+
+    @Test
+    void stalePinAfterUnpinIsDropped() {
+        long stamp = cache.stamp(2);
+        cache.unpin(2);
+        cache.pin(product(2, 5.0), stamp);
+
+        assertThat(cache.get(2)).isNull();
+    }
+
+    @Test
+    void callersCannotMutateCachedProducts() {
+        Product loaded = product(3, 10.0);
+        cache.put(loaded, cache.stamp(3));
+        loaded.setPrice(1.0);
+
+        Product first = cache.get(3);
+        first.setPrice(2.0);
+
+        assertThat(cache.get(3).getPrice()).isEqualTo(10.0);
+        assertThat(cache.get(3)).isNotSameAs(cache.get(3));
+    }
+
+    @Test
+    void pinnedProductsAreCopiesToo() {
+        Product hot = product(4, 3.0);
+        cache.pin(hot, cache.stamp(4));
+        hot.setPrice(0.5);
+        cache.get(4).setPrice(0.1);
+
+        assertThat(cache.get(4).getPrice()).isEqualTo(3.0);
+    }
+
+    private static Product product(int id, double price) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName("Product " + id);
+        p.setPrice(price);
+        p.setAvailable(true);
+        return p;
+    }
+}
@@ -0,0 +1,146 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import com.system.grocery.dto.ProductSummary;
+import com.system.grocery.entity.Product;
+import com.system.grocery.repository.CategoryRepository;
+import com.system.grocery.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    private static final int FRUIT = 1;
+    private static final int GREENS = 2;
+
+    @Mock
+    private ProductRepository productRepo;
+
+    @Mock
+    private CategoryRepository categoryRepo;
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @InjectMocks
+    private ProductSearchIndex index;
+
+    @Test
+    void prefixesOnlyMatchTermsStartingWithThemAndExactTermsRankFirst() {
+        index.upsert(product(1, "Applesauce", true, null));
+        index.upsert(product(2, "Apple", true, null));
+        index.upsert(product(3, "Pineapple", true, null));
+        index.upsert(product(4, "Apricot", true, null));
+        index.upsert(product(5, "Apq", true, null));
+
+        assertThat(ids(index.search("app", null, null, 10))).containsExactly(2, 1);
+        assertThat(ids(index.search("apple", null, null, 10))).containsExactly(2, 1);
+        assertThat(ids(index.search("apples", null, null, 10))).containsExactly(1);
+        assertThat(index.search("appz", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void everyTermMustMatchAndTheirScoresAddUp() {
+        index.categoryChanged(FRUIT, "Fruit");
+        index.categoryChanged(GREENS, "Green Vegetables");
+        index.upsert(product(1, "Apple Juice", true, GREENS));
+        index.upsert(product(2, "Green Apple", true, FRUIT));
+        index.upsert(product(3, "Red Apple", true, FRUIT));
+
+        // Both terms in the name (3 + 3) beat one in the category (3 + 1).
+        assertThat(ids(index.search("green apple", null, null, 10))).containsExactly(2, 1);
+        assertThat(ids(index.search("fruit red", null, null, 10))).containsExactly(3);
+        assertThat(index.search("red juice", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void storeAndAvailabilityFiltersFollowStock() {
+        index.upsert(product(1, "Milk", true, null));
+        index.upsert(product(2, "Milk Powder", false, null));
+        index.stockedIn(5, 1);
+        index.stockedIn(6, 1);
+        index.stockedIn(5, 2);
+
+        assertThat(ids(index.search("milk", 5, null, 10))).containsExactly(1, 2);
+        assertThat(ids(index.search("milk", 6, null, 10))).containsExactly(1);
+        assertThat(ids(index.search("milk", null, true, 10))).containsExactly(1);
+        assertThat(ids(index.search("milk", null, false, 10))).containsExactly(2);
+
+        index.unstocked(5, 1);
+
+        assertThat(ids(index.search("milk", 5, null, 10))).containsExactly(2);
+        assertThat(ids(index.search("milk", 6, null, 10))).containsExactly(1);
+        assertThat(index.autocomplete("mil", 5, 10)).isEmpty();
+    }
+
+    @Test
+    void renamingACategoryRepostsItsProducts() {
+        index.categoryChanged(FRUIT, "Fruit");
+        index.upsert(product(1, "Banana", true, FRUIT));
+        index.upsert(product(2, "Cherry", true, FRUIT));
+
+        index.categoryChanged(FRUIT, "Produce");
+
+        assertThat(index.search("fruit", null, null, 10)).isEmpty();
+        assertThat(ids(index.search("produce", null, null, 10))).containsExactly(1, 2);
+
+        index.categoryChanged(FRUIT, null);
+
+        assertThat(index.search("produce", null, null, 10)).isEmpty();
+        assertThat(ids(index.search("banana", null, null, 10))).containsExactly(1);
+    }
+
+    @Test
+    void productsOfADeletedCategoryAreFoundUnderItsParent() {
+        index.categoryChanged(FRUIT, "Fruit");
+        index.categoryChanged(GREENS, "Green Vegetables");
+        index.upsert(product(1, "Kale", true, GREENS));
+
+        index.categoryRemoved(GREENS, FRUIT);
+
+        assertThat(index.search("green", null, null, 10)).isEmpty();
+        assertThat(index.search("fruit", null, null, 10))
+                .extracting(ProductSummary::categoryId).containsExactly(FRUIT);
+
+        index.categoryRemoved(FRUIT, null);
+
+        assertThat(index.search("fruit", null, null, 10)).isEmpty();
+        assertThat(index.search("kale", null, null, 10)).extracting(ProductSummary::categoryId).containsNull();
+    }
+
+    @Test
+    void removedProductsLeaveEveryPosting() {
+        index.categoryChanged(FRUIT, "Fruit");
+        index.upsert(product(1, "Kiwi", true, FRUIT));
+        index.upsert(product(2, "Kiwi Berry", true, FRUIT));
+
+        index.remove(1);
+        index.categoryChanged(FRUIT, "Tropical Fruit");
+
+        assertThat(ids(index.search("kiwi", null, null, 10))).containsExactly(2);
+        assertThat(ids(index.search("tropical", null, null, 10))).containsExactly(2);
+        index.remove(2);
+        assertThat(index.search("kiwi fruit", null, null, 10)).isEmpty();
+    }
+
+    private static List<Integer> ids(List<ProductSummary> hits) {
+        return hits.stream().map(ProductSummary::id).toList();
+    }
+
+    private static Product product(int id, String name, boolean available, Integer categoryId) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setPrice(1.0);
+        p.setAvailable(available);
+        p.setCategoryId(categoryId);
+        return p;
+    }
+}
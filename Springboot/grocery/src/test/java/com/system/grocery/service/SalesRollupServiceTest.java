@@ -0,0 +1,155 @@
+package com.system.grocery.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.system.grocery.entity.OrderTbl;
+import com.system.grocery.repository.StoreSalesHourlyRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupServiceTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+    @Mock
+    private StoreSalesHourlyRepository repo;
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @Mock
+    private TransactionTemplate tx;
+
+    @InjectMocks
+    private SalesRollupService service;
+
+    @Test
+    void flushFoldsEachBucketIntoOneRowAndClearsIt() {
+        List<List<Object[]>> batches = captureBatches();
+
+        service.orderPlaced(order(1, HOUR.plusMinutes(5), 10.0));
+        service.orderPlaced(order(1, HOUR.plusMinutes(40), 5.0));
+        service.orderCancelled(order(1, HOUR.plusMinutes(5), 10.0));
+        service.flush();
+        service.flush();
+
+        assertThat(batches).hasSize(1);
+        Object[] row = batches.get(0).get(0);
+        assertThat(row[0]).isEqualTo(1);
+        assertThat(row[1]).isEqualTo(Timestamp.valueOf(HOUR));
+        assertThat(row[2]).isEqualTo(1L);
+        assertThat(row[3]).isEqualTo(5.0);
+    }
+
+    @Test
+    void failedFlushKeepsTheDeltasForTheNextRun() {
+        doThrow(new QueryTimeoutException("timeout")).when(jdbc).batchUpdate(anyString(), anyList());
+
+        service.orderPlaced(order(2, HOUR, 7.0));
+        service.flush();
+        List<List<Object[]>> batches = captureBatches();
+        service.orderPlaced(order(2, HOUR.plusMinutes(1), 3.0));
+        service.flush();
+
+        Object[] row = batches.get(0).get(0);
+        assertThat(row[2]).isEqualTo(2L);
+        assertThat(row[3]).isEqualTo(10.0);
+    }
+
+    @Test
+    void concurrentOrdersAreFlushedExactlyOnce() throws Exception {
+        AtomicLong flushedOrders = new AtomicLong();
+        doAnswer(inv -> {
+            List<Object[]> rows = inv.getArgument(1);
+            rows.forEach(r -> flushedOrders.addAndGet((Long) r[2]));
+            return new int[rows.size()];
+        }).when(jdbc).batchUpdate(anyString(), anyList());
+
+        int writers = 4;
+        int perWriter = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch done = new CountDownLatch(writers);
+        for (int w = 0; w < writers; w++) {
+            pool.execute(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    service.orderPlaced(order(3, HOUR, 1.0));
+                }
+                done.countDown();
+            });
+        }
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            service.flush();
+        }
+        service.flush();
+        pool.shutdown();
+
+        assertThat(flushedOrders.get()).isEqualTo((long) writers * perWriter);
+    }
+
+    @Test
+    void reconcileStopsBeforeTheCurrentHour() {
+        when(tx.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime from = currentHour.minusHours(3);
+
+        service.reconcile(from, currentHour.plusHours(2));
+
+        verify(jdbc).update(startsWith("delete"), eq(Timestamp.valueOf(from)), eq(Timestamp.valueOf(currentHour)));
+        verify(jdbc).update(startsWith("insert"), eq(Timestamp.valueOf(from)), eq(Timestamp.valueOf(currentHour)));
+    }
+
+    @Test
+    void reconcilingOnlyTheCurrentHourIsANoOp() {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        service.reconcile(currentHour, currentHour.plusHours(1));
+
+        verify(tx, never()).execute(any());
+    }
+
+    private List<List<Object[]>> captureBatches() {
+        List<List<Object[]>> batches = new ArrayList<>();
+        doAnswer(inv -> {
+            List<Object[]> rows = inv.getArgument(1);
+            batches.add(new ArrayList<>(rows));
+            return new int[rows.size()];
+        }).when(jdbc).batchUpdate(anyString(), anyList());
+        return batches;
+    }
+
+    private static OrderTbl order(Integer storeId, LocalDateTime at, double amount) {
+        OrderTbl o = new OrderTbl();
+        o.setStoreId(storeId);
+        o.setOrderTime(at);
+        o.setTotalAmount(amount);
+        return o;
+    }
+}
@@ -0,0 +1,28 @@
+package com.system.library.controller;
+
+import com.system.library.dto.AvailabilityView;
+import com.system.library.service.BookAvailabilityService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/book-availability")
+public class BookAvailabilityController {
+
+    private final BookAvailabilityService service;
+
+    public BookAvailabilityController(BookAvailabilityService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public List<AvailabilityView> get(@RequestParam List<Integer> bookIds) {
+        return service.get(bookIds);
+    }
+
+    @PostMapping("/batch")
+    public List<AvailabilityView> batch(@RequestBody List<Integer> bookIds) {
+        return service.get(bookIds);
+    }
+}
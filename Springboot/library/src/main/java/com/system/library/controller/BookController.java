@@ -1,5 +1,6 @@
 package com.system.library.controller;
 
+import com.system.library.dto.BookSearchResult;
 import com.system.library.entity.Book;
 import com.system.library.service.BookService;
 import org.springframework.web.bind.annotation.*;
@@ -26,6 +27,14 @@ public class BookController {
         return service.getAll();
     }
 
+    @GetMapping("/search")
+    public BookSearchResult search(@RequestParam("q") String query,
+                                   @RequestParam(required = false) String subject,
+                                   @RequestParam(defaultValue = "0") int page,
+                                   @RequestParam(defaultValue = "20") int size) {
+        return service.search(query, subject, page, size);
+    }
+
     @GetMapping("/{id}")
     public Book getById(@PathVariable int id) {
         return service.getById(id);
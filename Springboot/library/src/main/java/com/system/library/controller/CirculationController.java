@@ -0,0 +1,29 @@
+package com.system.library.controller;
+
+import com.system.library.dto.CirculationResult;
+import com.system.library.service.CirculationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/circulation")
+public class CirculationController {
+
+    private final CirculationService service;
+
+    public CirculationController(CirculationService service) {
+        this.service = service;
+    }
+
+    @PostMapping("/checkout")
+    public ResponseEntity<CirculationResult> checkout(@RequestParam int copyId, @RequestParam int memberId) {
+        CirculationResult result = service.checkout(copyId, memberId);
+        return ResponseEntity.status(result.outcome().httpStatus()).body(result);
+    }
+
+    @PostMapping("/checkin")
+    public ResponseEntity<CirculationResult> checkin(@RequestParam int copyId) {
+        CirculationResult result = service.checkin(copyId);
+        return ResponseEntity.status(result.outcome().httpStatus()).body(result);
+    }
+}
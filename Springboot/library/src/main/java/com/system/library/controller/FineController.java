@@ -1,6 +1,8 @@
 package com.system.library.controller;
 
+import com.system.library.dto.AccrualReport;
 import com.system.library.entity.Fine;
+import com.system.library.service.FineAccrualService;
 import com.system.library.service.FineService;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,9 +13,11 @@ import java.util.List;
 public class FineController {
 
     private final FineService service;
+    private final FineAccrualService accrualService;
 
-    public FineController(FineService service) {
+    public FineController(FineService service, FineAccrualService accrualService) {
         this.service = service;
+        this.accrualService = accrualService;
     }
 
     @PostMapping
@@ -42,4 +46,14 @@ public class FineController {
         service.delete(id);
         return "Fine deleted successfully";
     }
+
+    @PostMapping("/accrual/run")
+    public AccrualReport runAccrual() {
+        return accrualService.run();
+    }
+
+    @GetMapping("/accrual")
+    public AccrualReport lastAccrual() {
+        return accrualService.lastReport();
+    }
 }
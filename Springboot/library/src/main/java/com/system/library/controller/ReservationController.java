@@ -26,6 +26,11 @@ public class ReservationController {
         return service.getAll();
     }
 
+    @GetMapping("/book/{bookId}/queue")
+    public List<Integer> queue(@PathVariable int bookId) {
+        return service.queue(bookId);
+    }
+
     @GetMapping("/{id}")
     public Reservation getById(@PathVariable int id) {
         return service.getById(id);
@@ -0,0 +1,12 @@
+package com.system.library.dto;
+
+import java.time.LocalDate;
+
+public record AccrualReport(
+        LocalDate previousMark,
+        LocalDate accruedThrough,
+        int openOverdue,
+        int lateReturns,
+        int finesWritten,
+        long elapsedMs) {
+}
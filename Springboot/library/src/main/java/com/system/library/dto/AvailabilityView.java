@@ -0,0 +1,13 @@
+package com.system.library.dto;
+
+public record AvailabilityView(
+        int bookId,
+        int total,
+        int available,
+        int onLoan,
+        int lost) {
+
+    public static AvailabilityView none(int bookId) {
+        return new AvailabilityView(bookId, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,9 @@
+package com.system.library.dto;
+
+public record BookHit(
+        int id,
+        String title,
+        String author,
+        String subject,
+        double score) {
+}
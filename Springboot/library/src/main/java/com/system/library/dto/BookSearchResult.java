@@ -0,0 +1,12 @@
+package com.system.library.dto;
+
+import java.util.List;
+
+public record BookSearchResult(
+        String query,
+        int total,
+        int page,
+        int size,
+        List<BookHit> hits,
+        List<SubjectFacet> subjects) {
+}
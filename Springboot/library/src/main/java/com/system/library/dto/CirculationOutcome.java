@@ -0,0 +1,21 @@
+package com.system.library.dto;
+
+public enum CirculationOutcome {
+
+    CHECKED_OUT(201),
+    RETURNED(200),
+    COPY_NOT_FOUND(404),
+    MEMBER_NOT_FOUND(404),
+    NOT_AVAILABLE(409),
+    NOT_ON_LOAN(409);
+
+    private final int httpStatus;
+
+    CirculationOutcome(int httpStatus) {
+        this.httpStatus = httpStatus;
+    }
+
+    public int httpStatus() {
+        return httpStatus;
+    }
+}
@@ -0,0 +1,12 @@
+package com.system.library.dto;
+
+public record CirculationResult(
+        CirculationOutcome outcome,
+        int copyId,
+        String copyStatus,
+        LoanView loan) {
+
+    public static CirculationResult of(CirculationOutcome outcome, int copyId, String copyStatus) {
+        return new CirculationResult(outcome, copyId, copyStatus, null);
+    }
+}
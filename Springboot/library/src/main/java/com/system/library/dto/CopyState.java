@@ -0,0 +1,6 @@
+package com.system.library.dto;
+
+public record CopyState(
+        Integer bookId,
+        String status) {
+}
@@ -0,0 +1,10 @@
+package com.system.library.dto;
+
+public record HoldNotice(
+        int reservationId,
+        int bookId,
+        String bookTitle,
+        int memberId,
+        String memberName,
+        String memberEmail) {
+}
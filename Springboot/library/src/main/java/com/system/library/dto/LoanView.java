@@ -0,0 +1,12 @@
+package com.system.library.dto;
+
+import java.time.LocalDate;
+
+public record LoanView(
+        int borrowId,
+        int copyId,
+        int memberId,
+        LocalDate issueDate,
+        LocalDate dueDate,
+        LocalDate returnDate) {
+}
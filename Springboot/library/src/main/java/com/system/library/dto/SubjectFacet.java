@@ -0,0 +1,6 @@
+package com.system.library.dto;
+
+public record SubjectFacet(
+        String subject,
+        int count) {
+}
@@ -0,0 +1,67 @@
+package com.system.library.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Copy counts per book, maintained by every write that creates, deletes or
+ * moves a copy between statuses. Copies whose status is none of the known
+ * values count towards {@code total} only.
+ */
+@Entity
+@Table(name = "book_availability")
+public class BookAvailability {
+
+    @Id
+    @Column(name = "book_id")
+    private int bookId;
+
+    private int total;
+    private int available;
+
+    @Column(name = "on_loan")
+    private int onLoan;
+
+    private int lost;
+
+    // Getters & Setters
+
+    public int getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(int bookId) {
+        this.bookId = bookId;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(int available) {
+        this.available = available;
+    }
+
+    public int getOnLoan() {
+        return onLoan;
+    }
+
+    public void setOnLoan(int onLoan) {
+        this.onLoan = onLoan;
+    }
+
+    public int getLost() {
+        return lost;
+    }
+
+    public void setLost(int lost) {
+        this.lost = lost;
+    }
+}
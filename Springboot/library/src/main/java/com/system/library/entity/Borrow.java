@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "borrow")
+@Table(name = "borrow", indexes = {
+        @Index(name = "idx_borrow_copy_return", columnList = "copy_id, return_date"),
+        @Index(name = "idx_borrow_return_due", columnList = "return_date, due_date")
+})
 public class Borrow {
 
     @Id
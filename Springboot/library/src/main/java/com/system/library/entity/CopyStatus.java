@@ -0,0 +1,15 @@
+package com.system.library.entity;
+
+/**
+ * Values stored in {@code book_copy.status}. The column stays a plain string
+ * so existing rows keep working; circulation only moves copies between these.
+ */
+public final class CopyStatus {
+
+    public static final String AVAILABLE = "AVAILABLE";
+    public static final String ON_LOAN = "ON_LOAN";
+    public static final String LOST = "LOST";
+
+    private CopyStatus() {
+    }
+}
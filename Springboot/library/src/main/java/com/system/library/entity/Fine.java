@@ -1,9 +1,12 @@
 package com.system.library.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDate;
 
 @Entity
-@Table(name = "fine")
+@Table(name = "fine", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_fine_borrow", columnNames = {"borrow_id"})
+})
 public class Fine {
 
     @Id
@@ -13,6 +16,9 @@ public class Fine {
     private double amount;
     private String status;
 
+    @Column(name = "accrued_through")
+    private LocalDate accruedThrough;
+
     @OneToOne
     @JoinColumn(name = "borrow_id")
     private Borrow borrow;
@@ -43,6 +49,14 @@ public class Fine {
         this.status = status;
     }
 
+    public LocalDate getAccruedThrough() {
+        return accruedThrough;
+    }
+
+    public void setAccruedThrough(LocalDate accruedThrough) {
+        this.accruedThrough = accruedThrough;
+    }
+
     public Borrow getBorrow() {
         return borrow;
     }
@@ -0,0 +1,46 @@
+package com.system.library.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_watermark")
+public class JobWatermark {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "mark_date")
+    private LocalDate markDate;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Getters & Setters
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public LocalDate getMarkDate() {
+        return markDate;
+    }
+
+    public void setMarkDate(LocalDate markDate) {
+        this.markDate = markDate;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -2,9 +2,12 @@ package com.system.library.entity;
 
 import jakarta.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservation")
+@Table(name = "reservation", indexes = {
+        @Index(name = "idx_reservation_book_status_date", columnList = "book_id, status, reserve_date")
+})
 public class Reservation {
 
     @Id
@@ -13,6 +16,7 @@ public class Reservation {
 
     private LocalDate reserveDate;
     private String status;
+    private LocalDateTime readyAt;
 
     @ManyToOne
     @JoinColumn(name = "member_id")
@@ -48,6 +52,14 @@ public class Reservation {
         this.status = status;
     }
 
+    public LocalDateTime getReadyAt() {
+        return readyAt;
+    }
+
+    public void setReadyAt(LocalDateTime readyAt) {
+        this.readyAt = readyAt;
+    }
+
     public Member getMember() {
         return member;
     }
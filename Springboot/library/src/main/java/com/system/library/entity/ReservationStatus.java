@@ -0,0 +1,17 @@
+package com.system.library.entity;
+
+/**
+ * Values stored in {@code reservation.status}. A hold waits in its book's
+ * queue, becomes READY when a copy comes back for it, and is FULFILLED when
+ * the member borrows that book.
+ */
+public final class ReservationStatus {
+
+    public static final String WAITING = "WAITING";
+    public static final String READY = "READY";
+    public static final String FULFILLED = "FULFILLED";
+    public static final String CANCELLED = "CANCELLED";
+
+    private ReservationStatus() {
+    }
+}
@@ -0,0 +1,7 @@
+package com.system.library.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.system.library.entity.BookAvailability;
+
+public interface BookAvailabilityRepository extends JpaRepository<BookAvailability, Integer> {
+}
@@ -1,7 +1,25 @@
 package com.system.library.repository;
 
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.library.dto.CopyState;
 import com.system.library.entity.BookCopy;
 
 public interface BookCopyRepository extends JpaRepository<BookCopy, Integer> {
+
+    @Query("select c.status from BookCopy c where c.id = :id")
+    Optional<String> findStatusById(@Param("id") int id);
+
+    @Query("select c.book.id from BookCopy c where c.id = :id")
+    Optional<Integer> findBookIdById(@Param("id") int id);
+
+    @Query("select new com.system.library.dto.CopyState(b.id, c.status) from BookCopy c left join c.book b where c.id = :id")
+    Optional<CopyState> findStateById(@Param("id") int id);
+
+    @Modifying
+    @Query("update BookCopy c set c.status = :to where c.id = :id and c.status = :from")
+    int transition(@Param("id") int id, @Param("from") String from, @Param("to") String to);
 }
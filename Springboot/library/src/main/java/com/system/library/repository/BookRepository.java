@@ -1,7 +1,14 @@
 package com.system.library.repository;
 
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.system.library.entity.Book;
 
 public interface BookRepository extends JpaRepository<Book, Integer> {
+
+    @Query("select b from Book b where b.id > :afterId order by b.id")
+    List<Book> findPage(@Param("afterId") int afterId, Limit limit);
 }
@@ -1,7 +1,21 @@
 package com.system.library.repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.library.dto.LoanView;
 import com.system.library.entity.Borrow;
 
 public interface BorrowRepository extends JpaRepository<Borrow, Integer> {
+
+    @Query("select new com.system.library.dto.LoanView(b.id, b.bookCopy.id, b.member.id, b.issueDate, b.dueDate, b.returnDate) " +
+           "from Borrow b where b.bookCopy.id = :copyId and b.returnDate is null order by b.id desc")
+    List<LoanView> findOpenLoans(@Param("copyId") int copyId);
+
+    @Modifying
+    @Query("update Borrow b set b.returnDate = :returnDate where b.id = :id and b.returnDate is null")
+    int close(@Param("id") int id, @Param("returnDate") LocalDate returnDate);
 }
@@ -0,0 +1,7 @@
+package com.system.library.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.system.library.entity.JobWatermark;
+
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+}
@@ -1,7 +1,36 @@
 package com.system.library.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.system.library.dto.HoldNotice;
 import com.system.library.entity.Reservation;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Integer> {
+
+    @Query("select r.id from Reservation r where r.book.id = :bookId and r.status = :status " +
+           "order by r.reserveDate, r.id")
+    List<Integer> findQueue(@Param("bookId") int bookId, @Param("status") String status);
+
+    @Query("select r.book.id from Reservation r where r.id = :id")
+    Optional<Integer> findBookIdById(@Param("id") int id);
+
+    @Modifying
+    @Query("update Reservation r set r.status = :to, r.readyAt = :readyAt where r.id = :id and r.status = :from")
+    int promote(@Param("id") int id, @Param("from") String from, @Param("to") String to,
+                @Param("readyAt") LocalDateTime readyAt);
+
+    @Modifying
+    @Query("update Reservation r set r.status = :to where r.member.id = :memberId and r.book.id = :bookId " +
+           "and r.status = :from")
+    int transitionFor(@Param("memberId") int memberId, @Param("bookId") int bookId,
+                      @Param("from") String from, @Param("to") String to);
+
+    @Query("select new com.system.library.dto.HoldNotice(r.id, b.id, b.title, m.id, m.name, m.email) " +
+           "from Reservation r join r.book b join r.member m where r.id = :id")
+    Optional<HoldNotice> findNotice(@Param("id") int id);
 }
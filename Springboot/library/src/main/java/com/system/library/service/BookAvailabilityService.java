@@ -0,0 +1,174 @@
+package com.system.library.service;
+
+import com.system.library.dto.AvailabilityView;
+import com.system.library.entity.BookAvailability;
+import com.system.library.entity.CopyStatus;
+import com.system.library.repository.BookAvailabilityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-book copy counts backed by the book_availability table.
+ *
+ * Copy writes apply a +1/-1 delta to the counter row inside the caller's
+ * transaction, so the counts commit or roll back with the copy itself. Reads
+ * are served from an in-memory cache; a book's entry is evicted once the
+ * transaction that changed it completes. Loads that raced with an eviction
+ * are not cached.
+ */
+@Service
+public class BookAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookAvailabilityService.class);
+
+    private static final int MAX_BATCH = 200;
+
+    private static final String DELTA_SQL =
+            "insert into book_availability (book_id, total, available, on_loan, lost) values (?, ?, ?, ?, ?) " +
+            "on duplicate key update total = total + values(total), available = available + values(available), " +
+            "on_loan = on_loan + values(on_loan), lost = lost + values(lost)";
+
+    private final BookAvailabilityRepository repo;
+    private final JdbcTemplate jdbc;
+    private final Map<Integer, AvailabilityView> cache = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BookAvailabilityService(BookAvailabilityRepository repo, JdbcTemplate jdbc) {
+        this.repo = repo;
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Recounts every book from book_copy, repairing any drift from writes that
+     * bypassed the services (imports, manual SQL). Runs at startup only: it
+     * rewrites the whole table, so it is not exposed over HTTP.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        jdbc.update("delete from book_availability");
+        int books = jdbc.update(
+                "insert into book_availability (book_id, total, available, on_loan, lost) " +
+                "select book_id, count(*), " +
+                "sum(case when status = ? then 1 else 0 end), " +
+                "sum(case when status = ? then 1 else 0 end), " +
+                "sum(case when status = ? then 1 else 0 end) " +
+                "from book_copy where book_id is not null group by book_id",
+                CopyStatus.AVAILABLE, CopyStatus.ON_LOAN, CopyStatus.LOST);
+        evictAfterCompletion(null);
+        log.info("Book availability rebuilt: {} books in {} ms", books, System.currentTimeMillis() - started);
+    }
+
+    public void copyAdded(Integer bookId, String status) {
+        apply(bookId, status, 1, true);
+    }
+
+    public void copyRemoved(Integer bookId, String status) {
+        apply(bookId, status, -1, true);
+    }
+
+    public void copyMoved(int bookId, String from, String to) {
+        apply(bookId, from, -1, false);
+        apply(bookId, to, 1, false);
+    }
+
+    /**
+     * Counts for the given books in request order, duplicates dropped. Books
+     * without copies come back as zeros.
+     */
+    public List<AvailabilityView> get(List<Integer> bookIds) {
+        Set<Integer> ids = new LinkedHashSet<>(bookIds);
+        if (ids.size() > MAX_BATCH) {
+            throw new RuntimeException("At most " + MAX_BATCH + " book ids per request");
+        }
+
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            if (!cache.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        Map<Integer, AvailabilityView> loaded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            long seen = evictions.get();
+            for (BookAvailability a : repo.findAllById(missing)) {
+                loaded.put(a.getBookId(), view(a));
+            }
+            for (Integer id : missing) {
+                loaded.putIfAbsent(id, AvailabilityView.none(id));
+            }
+            if (evictions.get() == seen) {
+                loaded.forEach(cache::putIfAbsent);
+            }
+        }
+
+        List<AvailabilityView> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            AvailabilityView v = loaded.get(id);
+            if (v == null) {
+                v = cache.get(id);
+            }
+            if (v == null) {
+                // Evicted by a concurrent write since the cache was checked.
+                v = repo.findById(id).map(BookAvailabilityService::view).orElse(AvailabilityView.none(id));
+            }
+            result.add(v);
+        }
+        return result;
+    }
+
+    private void apply(Integer bookId, String status, int sign, boolean countTotal) {
+        if (bookId == null) {
+            return;
+        }
+        jdbc.update(DELTA_SQL, bookId,
+                countTotal ? sign : 0,
+                CopyStatus.AVAILABLE.equals(status) ? sign : 0,
+                CopyStatus.ON_LOAN.equals(status) ? sign : 0,
+                CopyStatus.LOST.equals(status) ? sign : 0);
+        evictAfterCompletion(bookId);
+    }
+
+    private static AvailabilityView view(BookAvailability a) {
+        return new AvailabilityView(a.getBookId(), a.getTotal(), a.getAvailable(), a.getOnLoan(), a.getLost());
+    }
+
+    /** Evicts now and again once the surrounding transaction ends; null evicts every book. */
+    private void evictAfterCompletion(Integer bookId) {
+        evict(bookId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(bookId);
+                }
+            });
+        }
+    }
+
+    private void evict(Integer bookId) {
+        evictions.incrementAndGet();
+        if (bookId == null) {
+            cache.clear();
+        } else {
+            cache.remove(bookId);
+        }
+    }
+}
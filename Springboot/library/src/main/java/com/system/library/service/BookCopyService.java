@@ -1,8 +1,10 @@
 package com.system.library.service;
 
+import com.system.library.dto.CopyState;
 import com.system.library.entity.BookCopy;
 import com.system.library.repository.BookCopyRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -10,13 +12,22 @@ import java.util.List;
 public class BookCopyService {
 
     private final BookCopyRepository repo;
+    private final BookAvailabilityService availability;
 
-    public BookCopyService(BookCopyRepository repo) {
+    public BookCopyService(BookCopyRepository repo, BookAvailabilityService availability) {
         this.repo = repo;
+        this.availability = availability;
     }
 
+    @Transactional
     public BookCopy save(BookCopy copy) {
-        return repo.save(copy);
+        CopyState before = copy.getId() == 0 ? null : repo.findStateById(copy.getId()).orElse(null);
+        BookCopy saved = repo.save(copy);
+        if (before != null) {
+            availability.copyRemoved(before.bookId(), before.status());
+        }
+        availability.copyAdded(saved.getBook() == null ? null : saved.getBook().getId(), saved.getStatus());
+        return saved;
     }
 
     public List<BookCopy> getAll() {
@@ -28,10 +39,11 @@ public class BookCopyService {
                 .orElseThrow(() -> new RuntimeException("BookCopy not found"));
     }
 
+    @Transactional
     public void delete(int id) {
-        if (!repo.existsById(id)) {
-            throw new RuntimeException("BookCopy not found");
-        }
+        CopyState before = repo.findStateById(id)
+                .orElseThrow(() -> new RuntimeException("BookCopy not found"));
         repo.deleteById(id);
+        availability.copyRemoved(before.bookId(), before.status());
     }
 }
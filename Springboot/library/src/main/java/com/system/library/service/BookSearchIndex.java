@@ -0,0 +1,518 @@
+package com.system.library.service;
+
+import com.system.library.dto.BookHit;
+import com.system.library.dto.BookSearchResult;
+import com.system.library.dto.SubjectFacet;
+import com.system.library.entity.Book;
+import com.system.library.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over book title, author and subject.
+ *
+ * Each term maps to a sorted array of book ids with a bit per field the term
+ * occurs in, which keeps a catalog of a few million titles to compact
+ * postings. Every query term must match (the last unquoted term, or any term
+ * ending in {@code *}, also by prefix once it has {@value #MIN_PREFIX_LENGTH}
+ * characters); quoted phrases are then checked against the stored text.
+ * Terms are evaluated rarest first so common words only probe the surviving
+ * candidates. Scores weigh title over author over subject, scaled by how rare
+ * the term is.
+ */
+@Service
+public class BookSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_PREFIX_TERMS = 200;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_FACETS = 20;
+
+    private static final byte TITLE = 1;
+    private static final byte AUTHOR = 2;
+    private static final byte SUBJECT = 4;
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double AUTHOR_WEIGHT = 2.0;
+    private static final double SUBJECT_WEIGHT = 1.0;
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private static final Pattern QUERY_PART = Pattern.compile("\"([^\"]*)\"?|(\\S+)");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final BookRepository repo;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+
+    public BookSearchIndex(BookRepository repo) {
+        this.repo = repo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            terms.clear();
+            int after = 0;
+            while (true) {
+                List<Book> page = repo.findPage(after, Limit.of(LOAD_PAGE_SIZE));
+                for (Book b : page) {
+                    add(b);
+                }
+                if (page.size() < LOAD_PAGE_SIZE) {
+                    break;
+                }
+                after = page.get(page.size() - 1).getId();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Book search index built: {} books, {} terms in {} ms",
+                docs.size(), terms.size(), System.currentTimeMillis() - started);
+    }
+
+    public void upsert(Book b) {
+        lock.writeLock().lock();
+        try {
+            remove0(b.getId());
+            add(b);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int bookId) {
+        lock.writeLock().lock();
+        try {
+            remove0(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BookSearchResult search(String query, String subject, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int pageNo = Math.max(page, 0);
+        Query q = parse(query);
+        if (q.clauses().isEmpty()) {
+            return new BookSearchResult(query, 0, pageNo, pageSize, List.of(), List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            Scores scores = match(q.clauses());
+            if (!q.phrases().isEmpty()) {
+                scores.retain(id -> containsPhrases(docs.get(id), q.phrases()));
+            }
+
+            Map<String, Integer> facetCounts = new HashMap<>();
+            for (int i = 0; i < scores.size; i++) {
+                String s = docs.get(scores.ids[i]).subject();
+                if (s != null && !s.isBlank()) {
+                    facetCounts.merge(s.trim(), 1, Integer::sum);
+                }
+            }
+            if (subject != null && !subject.isBlank()) {
+                String wanted = subject.trim();
+                scores.retain(id -> {
+                    String s = docs.get(id).subject();
+                    return s != null && s.trim().equalsIgnoreCase(wanted);
+                });
+            }
+
+            List<BookHit> hits = topHits(scores, (long) pageNo * pageSize, pageSize);
+            return new BookSearchResult(query, scores.size, pageNo, pageSize, hits, facets(facetCounts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Scores match(List<Clause> clauses) {
+        List<List<Map.Entry<String, Postings>>> expanded = new ArrayList<>(clauses.size());
+        for (Clause c : clauses) {
+            List<Map.Entry<String, Postings>> lists = expand(c);
+            if (lists.isEmpty()) {
+                return new Scores(0);
+            }
+            expanded.add(lists);
+        }
+
+        Integer[] order = new Integer[clauses.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> postingCount(expanded.get(i))));
+
+        Scores scores = seed(clauses.get(order[0]), expanded.get(order[0]));
+        for (int k = 1; k < order.length && scores.size > 0; k++) {
+            Clause clause = clauses.get(order[k]);
+            List<Map.Entry<String, Postings>> lists = expanded.get(order[k]);
+            int kept = 0;
+            for (int i = 0; i < scores.size; i++) {
+                double best = 0;
+                for (Map.Entry<String, Postings> e : lists) {
+                    byte fields = e.getValue().fieldsOf(scores.ids[i]);
+                    if (fields != 0) {
+                        best = Math.max(best, termScore(clause, e) * fieldWeight(fields));
+                    }
+                }
+                if (best > 0) {
+                    scores.ids[kept] = scores.ids[i];
+                    scores.values[kept] = scores.values[i] + best;
+                    kept++;
+                }
+            }
+            scores.size = kept;
+        }
+        return scores;
+    }
+
+    /**
+     * Candidates of the rarest clause with their best score. Postings of a
+     * prefix are packed as id, term index and fields into one long each and
+     * sorted, so a book matched by several terms collapses without a map.
+     */
+    private Scores seed(Clause c, List<Map.Entry<String, Postings>> lists) {
+        double[] base = new double[lists.size()];
+        long[] keys = new long[Math.toIntExact(postingCount(lists))];
+        int n = 0;
+        for (int t = 0; t < lists.size(); t++) {
+            base[t] = termScore(c, lists.get(t));
+            Postings p = lists.get(t).getValue();
+            for (int i = 0; i < p.size; i++) {
+                keys[n++] = (long) p.ids[i] << 32 | (long) t << 8 | (p.fields[i] & 0xff);
+            }
+        }
+        if (lists.size() > 1) {
+            Arrays.sort(keys);
+        }
+
+        Scores scores = new Scores(n);
+        for (long key : keys) {
+            int id = (int) (key >>> 32);
+            double score = base[(int) (key >>> 8) & 0xffffff] * fieldWeight((byte) key);
+            int last = scores.size - 1;
+            if (last >= 0 && scores.ids[last] == id) {
+                scores.values[last] = Math.max(scores.values[last], score);
+            } else {
+                scores.ids[scores.size] = id;
+                scores.values[scores.size] = score;
+                scores.size++;
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Postings a clause matches. Prefixes shorter than the minimum only match
+     * the term itself; longer ones keep the exact term plus the most common
+     * completions, up to the cap.
+     */
+    private List<Map.Entry<String, Postings>> expand(Clause c) {
+        Postings exact = terms.get(c.term());
+        if (!c.prefix() || c.term().length() < MIN_PREFIX_LENGTH) {
+            return exact == null ? List.of() : List.of(Map.entry(c.term(), exact));
+        }
+
+        // Min-heap on document frequency; the rarest completion is evicted first.
+        PriorityQueue<Map.Entry<String, Postings>> common = new PriorityQueue<>(MAX_PREFIX_TERMS,
+                Comparator.comparingInt((Map.Entry<String, Postings> e) -> e.getValue().size));
+        int room = exact == null ? MAX_PREFIX_TERMS : MAX_PREFIX_TERMS - 1;
+        for (Map.Entry<String, Postings> e : terms.subMap(c.term(), false, c.term() + Character.MAX_VALUE, false).entrySet()) {
+            common.add(e);
+            if (common.size() > room) {
+                common.poll();
+            }
+        }
+        List<Map.Entry<String, Postings>> lists = new ArrayList<>(common.size() + 1);
+        if (exact != null) {
+            lists.add(Map.entry(c.term(), exact));
+        }
+        lists.addAll(common);
+        return lists;
+    }
+
+    private double termScore(Clause c, Map.Entry<String, Postings> e) {
+        double idf = Math.log(1 + (double) docs.size() / e.getValue().size);
+        return e.getKey().equals(c.term()) ? idf : idf * PREFIX_FACTOR;
+    }
+
+    private static long postingCount(List<Map.Entry<String, Postings>> lists) {
+        long n = 0;
+        for (Map.Entry<String, Postings> e : lists) {
+            n += e.getValue().size;
+        }
+        return n;
+    }
+
+    private static double fieldWeight(byte fields) {
+        double w = 0;
+        if ((fields & TITLE) != 0) {
+            w += TITLE_WEIGHT;
+        }
+        if ((fields & AUTHOR) != 0) {
+            w += AUTHOR_WEIGHT;
+        }
+        if ((fields & SUBJECT) != 0) {
+            w += SUBJECT_WEIGHT;
+        }
+        return w;
+    }
+
+    private List<BookHit> topHits(Scores scores, long offset, int size) {
+        if (offset >= scores.size) {
+            return List.of();
+        }
+        Comparator<Integer> better = Comparator.<Integer>comparingDouble(i -> scores.values[i])
+                .thenComparing(i -> -titleLength(docs.get(scores.ids[i])))
+                .thenComparing(i -> -scores.ids[i]);
+        int keep = (int) Math.min(offset + size, scores.size);
+
+        // Min-heap of the best offset + size candidates; the worst is evicted first.
+        PriorityQueue<Integer> heap = new PriorityQueue<>(keep + 1, better);
+        for (int i = 0; i < scores.size; i++) {
+            heap.add(i);
+            if (heap.size() > keep) {
+                heap.poll();
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(heap);
+        ranked.sort(better.reversed());
+
+        List<BookHit> hits = new ArrayList<>(size);
+        for (int r = (int) offset; r < ranked.size(); r++) {
+            int i = ranked.get(r);
+            Doc d = docs.get(scores.ids[i]);
+            hits.add(new BookHit(d.id(), d.title(), d.author(), d.subject(),
+                    Math.round(scores.values[i] * 1000) / 1000.0));
+        }
+        return hits;
+    }
+
+    private static List<SubjectFacet> facets(Map<String, Integer> counts) {
+        List<SubjectFacet> facets = new ArrayList<>(counts.size());
+        counts.forEach((s, n) -> facets.add(new SubjectFacet(s, n)));
+        facets.sort(Comparator.comparingInt(SubjectFacet::count).reversed()
+                .thenComparing(SubjectFacet::subject));
+        return facets.size() > MAX_FACETS ? List.copyOf(facets.subList(0, MAX_FACETS)) : facets;
+    }
+
+    private static boolean containsPhrases(Doc d, List<List<String>> phrases) {
+        List<String> title = tokens(d.title());
+        List<String> author = tokens(d.author());
+        List<String> subject = tokens(d.subject());
+        for (List<String> phrase : phrases) {
+            if (Collections.indexOfSubList(title, phrase) < 0
+                    && Collections.indexOfSubList(author, phrase) < 0
+                    && Collections.indexOfSubList(subject, phrase) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int titleLength(Doc d) {
+        return d.title() == null ? Integer.MAX_VALUE : d.title().length();
+    }
+
+    private void add(Book b) {
+        Doc d = new Doc(b.getId(), b.getTitle(), b.getAuthor(), b.getSubject());
+        docs.put(d.id(), d);
+        post(d.title(), d.id(), TITLE);
+        post(d.author(), d.id(), AUTHOR);
+        post(d.subject(), d.id(), SUBJECT);
+    }
+
+    private void remove0(int bookId) {
+        Doc old = docs.remove(bookId);
+        if (old == null) {
+            return;
+        }
+        unpost(old.title(), bookId);
+        unpost(old.author(), bookId);
+        unpost(old.subject(), bookId);
+    }
+
+    private void post(String text, int id, byte field) {
+        for (String t : tokens(text)) {
+            terms.computeIfAbsent(t, k -> new Postings()).add(id, field);
+        }
+    }
+
+    private void unpost(String text, int id) {
+        for (String t : tokens(text)) {
+            Postings p = terms.get(t);
+            if (p != null && p.remove(id) && p.size == 0) {
+                terms.remove(t);
+            }
+        }
+    }
+
+    private static Query parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        List<List<String>> phrases = new ArrayList<>();
+        if (query == null) {
+            return new Query(clauses, phrases);
+        }
+
+        boolean endsUnquoted = false;
+        Matcher m = QUERY_PART.matcher(query);
+        while (m.find()) {
+            if (m.group(1) != null) {
+                List<String> phrase = tokens(m.group(1));
+                for (String t : phrase) {
+                    addClause(clauses, new Clause(t, false));
+                }
+                if (phrase.size() > 1) {
+                    phrases.add(phrase);
+                }
+                endsUnquoted = false;
+            } else {
+                String word = m.group(2);
+                List<String> parts = tokens(word);
+                for (int i = 0; i < parts.size(); i++) {
+                    boolean last = i == parts.size() - 1;
+                    addClause(clauses, new Clause(parts.get(i), last && word.endsWith("*")));
+                }
+                endsUnquoted = !parts.isEmpty();
+            }
+        }
+
+        // Search-as-you-type: the word still being typed matches by prefix.
+        if (endsUnquoted && !Character.isWhitespace(query.charAt(query.length() - 1))) {
+            Clause last = clauses.get(clauses.size() - 1);
+            clauses.set(clauses.size() - 1, new Clause(last.term(), true));
+        }
+        return new Query(clauses, phrases);
+    }
+
+    private static void addClause(List<Clause> clauses, Clause c) {
+        for (int i = 0; i < clauses.size(); i++) {
+            if (clauses.get(i).term().equals(c.term())) {
+                if (!c.prefix()) {
+                    clauses.set(i, c);
+                }
+                return;
+            }
+        }
+        clauses.add(c);
+    }
+
+    private static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> out = new ArrayList<>();
+        for (String t : folded.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!t.isEmpty()) {
+                out.add(t);
+            }
+        }
+        return out;
+    }
+
+    private record Doc(int id, String title, String author, String subject) {
+    }
+
+    private record Clause(String term, boolean prefix) {
+    }
+
+    private record Query(List<Clause> clauses, List<List<String>> phrases) {
+    }
+
+    /** Matching book ids in ascending order with their scores, held in plain arrays. */
+    private static final class Scores {
+
+        private final int[] ids;
+        private final double[] values;
+        private int size;
+
+        Scores(int capacity) {
+            ids = new int[capacity];
+            values = new double[capacity];
+        }
+
+        void retain(IntPredicate keep) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (keep.test(ids[i])) {
+                    ids[kept] = ids[i];
+                    values[kept] = values[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    /** Sorted book ids with a field bitmask per id. Ids mostly arrive in ascending order. */
+    private static final class Postings {
+
+        private int[] ids = new int[2];
+        private byte[] fields = new byte[2];
+        private int size;
+
+        void add(int id, byte field) {
+            int i = size > 0 && ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                fields[i] |= field;
+                return;
+            }
+            i = -i - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            System.arraycopy(fields, i, fields, i + 1, size - i);
+            ids[i] = id;
+            fields[i] = field;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+            System.arraycopy(fields, i + 1, fields, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        byte fieldsOf(int id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            return i < 0 ? 0 : fields[i];
+        }
+    }
+}
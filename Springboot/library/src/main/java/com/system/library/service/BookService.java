@@ -1,5 +1,6 @@
 package com.system.library.service;
 
+import com.system.library.dto.BookSearchResult;
 import com.system.library.entity.Book;
 import com.system.library.repository.BookRepository;
 import org.springframework.stereotype.Service;
@@ -10,13 +11,21 @@ import java.util.List;
 public class BookService {
 
     private final BookRepository repo;
+    private final BookSearchIndex searchIndex;
 
-    public BookService(BookRepository repo) {
+    public BookService(BookRepository repo, BookSearchIndex searchIndex) {
         this.repo = repo;
+        this.searchIndex = searchIndex;
     }
 
     public Book save(Book book) {
-        return repo.save(book);
+        Book saved = repo.save(book);
+        searchIndex.upsert(saved);
+        return saved;
+    }
+
+    public BookSearchResult search(String query, String subject, int page, int size) {
+        return searchIndex.search(query, subject, page, size);
     }
 
     public List<Book> getAll() {
@@ -33,5 +42,6 @@ public class BookService {
             throw new RuntimeException("Book not found");
         }
         repo.deleteById(id);
+        searchIndex.remove(id);
     }
 }
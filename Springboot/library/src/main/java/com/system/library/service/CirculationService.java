@@ -0,0 +1,108 @@
+package com.system.library.service;
+
+import com.system.library.dto.CirculationOutcome;
+import com.system.library.dto.CirculationResult;
+import com.system.library.dto.LoanView;
+import com.system.library.entity.Borrow;
+import com.system.library.entity.CopyStatus;
+import com.system.library.entity.ReservationStatus;
+import com.system.library.repository.BookCopyRepository;
+import com.system.library.repository.BorrowRepository;
+import com.system.library.repository.MemberRepository;
+import com.system.library.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Lends and returns copies. Each operation claims the copy with one
+ * conditional UPDATE on book_copy, so two desks racing for the same copy
+ * cannot both win: the loser sees zero rows and gets NOT_AVAILABLE instead
+ * of a second loan. The Borrow row is written in the same transaction.
+ * A check-in also hands the book to the next waiting hold, if any.
+ */
+@Service
+public class CirculationService {
+
+    private final BookCopyRepository copyRepo;
+    private final BorrowRepository borrowRepo;
+    private final MemberRepository memberRepo;
+    private final ReservationRepository reservationRepo;
+    private final HoldQueueService holdQueue;
+    private final BookAvailabilityService availability;
+    private final int loanDays;
+
+    public CirculationService(BookCopyRepository copyRepo,
+                              BorrowRepository borrowRepo,
+                              MemberRepository memberRepo,
+                              ReservationRepository reservationRepo,
+                              HoldQueueService holdQueue,
+                              BookAvailabilityService availability,
+                              @Value("${library.circulation.loan-days:14}") int loanDays) {
+        this.copyRepo = copyRepo;
+        this.borrowRepo = borrowRepo;
+        this.memberRepo = memberRepo;
+        this.reservationRepo = reservationRepo;
+        this.holdQueue = holdQueue;
+        this.availability = availability;
+        this.loanDays = loanDays;
+    }
+
+    @Transactional
+    public CirculationResult checkout(int copyId, int memberId) {
+        if (!memberRepo.existsById(memberId)) {
+            return CirculationResult.of(CirculationOutcome.MEMBER_NOT_FOUND, copyId, null);
+        }
+        if (copyRepo.transition(copyId, CopyStatus.AVAILABLE, CopyStatus.ON_LOAN) == 0) {
+            return copyRepo.findStatusById(copyId)
+                    .map(status -> CirculationResult.of(CirculationOutcome.NOT_AVAILABLE, copyId, status))
+                    .orElseGet(() -> CirculationResult.of(CirculationOutcome.COPY_NOT_FOUND, copyId, null));
+        }
+
+        LocalDate today = LocalDate.now();
+        Borrow borrow = new Borrow();
+        borrow.setIssueDate(today);
+        borrow.setDueDate(today.plusDays(loanDays));
+        borrow.setBookCopy(copyRepo.getReferenceById(copyId));
+        borrow.setMember(memberRepo.getReferenceById(memberId));
+        borrow = borrowRepo.save(borrow);
+
+        copyRepo.findBookIdById(copyId).ifPresent(bookId -> {
+            availability.copyMoved(bookId, CopyStatus.AVAILABLE, CopyStatus.ON_LOAN);
+            // A member collecting a ready hold closes it.
+            reservationRepo.transitionFor(memberId, bookId, ReservationStatus.READY, ReservationStatus.FULFILLED);
+        });
+
+        LoanView loan = new LoanView(borrow.getId(), copyId, memberId,
+                borrow.getIssueDate(), borrow.getDueDate(), null);
+        return new CirculationResult(CirculationOutcome.CHECKED_OUT, copyId, CopyStatus.ON_LOAN, loan);
+    }
+
+    @Transactional
+    public CirculationResult checkin(int copyId) {
+        if (copyRepo.transition(copyId, CopyStatus.ON_LOAN, CopyStatus.AVAILABLE) == 0) {
+            return copyRepo.findStatusById(copyId)
+                    .map(status -> CirculationResult.of(CirculationOutcome.NOT_ON_LOAN, copyId, status))
+                    .orElseGet(() -> CirculationResult.of(CirculationOutcome.COPY_NOT_FOUND, copyId, null));
+        }
+
+        // The copy row is now locked by this transaction, so no other
+        // check-in can close the same loan concurrently.
+        LocalDate today = LocalDate.now();
+        LoanView loan = null;
+        List<LoanView> open = borrowRepo.findOpenLoans(copyId);
+        for (LoanView l : open) {
+            if (borrowRepo.close(l.borrowId(), today) == 1 && loan == null) {
+                loan = new LoanView(l.borrowId(), l.copyId(), l.memberId(), l.issueDate(), l.dueDate(), today);
+            }
+        }
+        copyRepo.findBookIdById(copyId).ifPresent(bookId -> {
+            availability.copyMoved(bookId, CopyStatus.ON_LOAN, CopyStatus.AVAILABLE);
+            holdQueue.promoteNext(bookId);
+        });
+        return new CirculationResult(CirculationOutcome.RETURNED, copyId, CopyStatus.AVAILABLE, loan);
+    }
+}
@@ -0,0 +1,177 @@
+package com.system.library.service;
+
+import com.system.library.dto.AccrualReport;
+import com.system.library.entity.JobWatermark;
+import com.system.library.repository.JobWatermarkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nightly overdue-fine accrual.
+ *
+ * Both scans are range reads on idx_borrow_return_due (return_date, due_date):
+ * open loans are the {@code return_date is null} prefix with {@code due_date}
+ * before today, walked in keyset pages; loans returned late since the last
+ * run are a {@code return_date} range starting at the stored watermark. Each
+ * page becomes one batched upsert into fine, keyed by borrow_id, which only
+ * ever rewrites UNPAID fines.
+ */
+@Service
+public class FineAccrualService {
+
+    private static final Logger log = LoggerFactory.getLogger(FineAccrualService.class);
+
+    private static final String JOB = "fine-accrual";
+
+    private static final String OPEN_SQL =
+            "select id, due_date from borrow " +
+            "where return_date is null and due_date < ? " +
+            "and (due_date > ? or (due_date = ? and id > ?)) " +
+            "order by due_date, id limit ?";
+
+    private static final String LATE_SQL =
+            "select id, due_date, return_date from borrow " +
+            "where return_date >= ? and return_date > due_date and id > ? " +
+            "order by id limit ?";
+
+    private static final String UPSERT_SQL =
+            "insert into fine (borrow_id, amount, status, accrued_through) values (?, ?, 'UNPAID', ?) " +
+            "on duplicate key update " +
+            "amount = if(status = 'UNPAID', values(amount), amount), " +
+            "accrued_through = if(status = 'UNPAID', values(accrued_through), accrued_through)";
+
+    private final JdbcTemplate jdbc;
+    private final JobWatermarkRepository watermarkRepo;
+    private final double dailyRate;
+    private final double maxAmount;
+    private final int batchSize;
+    private final int initialLookbackDays;
+
+    private volatile AccrualReport last;
+
+    public FineAccrualService(JdbcTemplate jdbc,
+                              JobWatermarkRepository watermarkRepo,
+                              @Value("${library.fines.daily-rate:1.0}") double dailyRate,
+                              @Value("${library.fines.max-amount:0}") double maxAmount,
+                              @Value("${library.fines.batch-size:2000}") int batchSize,
+                              @Value("${library.fines.initial-lookback-days:30}") int initialLookbackDays) {
+        this.jdbc = jdbc;
+        this.watermarkRepo = watermarkRepo;
+        this.dailyRate = dailyRate;
+        this.maxAmount = maxAmount;
+        this.batchSize = batchSize;
+        this.initialLookbackDays = initialLookbackDays;
+    }
+
+    @Scheduled(cron = "${library.fines.accrual-cron:0 30 1 * * *}")
+    public synchronized AccrualReport run() {
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        JobWatermark mark = watermarkRepo.findById(JOB).orElse(null);
+        LocalDate previous = mark == null ? null : mark.getMarkDate();
+
+        int[] written = { 0 };
+        int open = accrueOpen(today, written);
+        LocalDate returnedFrom = previous != null ? previous : today.minusDays(initialLookbackDays);
+        int late = accrueLateReturns(returnedFrom, written);
+
+        if (mark == null) {
+            mark = new JobWatermark();
+            mark.setJobName(JOB);
+        }
+        mark.setMarkDate(today);
+        mark.setUpdatedAt(LocalDateTime.now());
+        watermarkRepo.save(mark);
+
+        last = new AccrualReport(previous, today, open, late, written[0], System.currentTimeMillis() - started);
+        log.info("Fine accrual through {}: {} open overdue, {} late returns, {} fines written in {} ms",
+                today, open, late, written[0], last.elapsedMs());
+        return last;
+    }
+
+    public AccrualReport lastReport() {
+        return last;
+    }
+
+    private int accrueOpen(LocalDate today, int[] written) {
+        Date through = Date.valueOf(today);
+        Date afterDue = Date.valueOf(LocalDate.of(1, 1, 1));
+        int afterId = 0;
+        int total = 0;
+
+        while (true) {
+            List<Object[]> page = jdbc.query(OPEN_SQL,
+                    (rs, i) -> new Object[] { rs.getInt(1), rs.getDate(2) },
+                    through, afterDue, afterDue, afterId, batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Object[]> rows = new ArrayList<>(page.size());
+            for (Object[] r : page) {
+                LocalDate due = ((Date) r[1]).toLocalDate();
+                rows.add(new Object[] { r[0], amount(due, today), through });
+            }
+            written[0] += upsert(rows);
+            total += page.size();
+
+            Object[] lastRow = page.get(page.size() - 1);
+            afterId = (Integer) lastRow[0];
+            afterDue = (Date) lastRow[1];
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int accrueLateReturns(LocalDate returnedFrom, int[] written) {
+        Date from = Date.valueOf(returnedFrom);
+        int afterId = 0;
+        int total = 0;
+
+        while (true) {
+            List<Object[]> page = jdbc.query(LATE_SQL,
+                    (rs, i) -> new Object[] { rs.getInt(1), rs.getDate(2), rs.getDate(3) },
+                    from, afterId, batchSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Object[]> rows = new ArrayList<>(page.size());
+            for (Object[] r : page) {
+                LocalDate due = ((Date) r[1]).toLocalDate();
+                LocalDate returned = ((Date) r[2]).toLocalDate();
+                rows.add(new Object[] { r[0], amount(due, returned), r[2] });
+            }
+            written[0] += upsert(rows);
+            total += page.size();
+
+            afterId = (Integer) page.get(page.size() - 1)[0];
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int upsert(List<Object[]> rows) {
+        jdbc.batchUpdate(UPSERT_SQL, rows);
+        return rows.size();
+    }
+
+    private double amount(LocalDate due, LocalDate through) {
+        long days = Math.max(ChronoUnit.DAYS.between(due, through), 0);
+        double amount = Math.round(days * dailyRate * 100) / 100.0;
+        return maxAmount > 0 ? Math.min(amount, maxAmount) : amount;
+    }
+}
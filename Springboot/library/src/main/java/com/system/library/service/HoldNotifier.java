@@ -0,0 +1,12 @@
+package com.system.library.service;
+
+import com.system.library.dto.HoldNotice;
+
+/**
+ * Tells a member that a reserved book is waiting for them. Called once per
+ * promoted hold, after the promotion has committed.
+ */
+public interface HoldNotifier {
+
+    void holdReady(HoldNotice notice);
+}
@@ -0,0 +1,138 @@
+package com.system.library.service;
+
+import com.system.library.entity.ReservationStatus;
+import com.system.library.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FIFO queue of WAITING reservation ids per book, kept in memory.
+ *
+ * A book's queue is loaded on first use with one range read on
+ * idx_reservation_book_status_date and dropped whenever one of its
+ * reservations is written elsewhere, so a return only touches the head of
+ * one queue. Promotion is a conditional UPDATE (WAITING to READY): a hold
+ * cancelled since the queue was loaded simply matches no row and the next
+ * one is tried. A queue loaded while an invalidation ran is used once but
+ * not cached, so it cannot outlive the write that invalidated it.
+ */
+@Service
+public class HoldQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldQueueService.class);
+
+    private final ReservationRepository repo;
+    private final HoldNotifier notifier;
+    private final Map<Integer, Deque<Integer>> queues = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public HoldQueueService(ReservationRepository repo, HoldNotifier notifier) {
+        this.repo = repo;
+        this.notifier = notifier;
+    }
+
+    /**
+     * Marks the oldest waiting hold on the book READY and returns its id, or
+     * null when nobody is waiting. Must run inside the check-in transaction;
+     * the member is notified only once it commits.
+     */
+    public Integer promoteNext(int bookId) {
+        Deque<Integer> queue = queue(bookId);
+        synchronized (queue) {
+            Integer id;
+            while ((id = queue.pollFirst()) != null) {
+                if (repo.promote(id, ReservationStatus.WAITING, ReservationStatus.READY, LocalDateTime.now()) == 1) {
+                    afterCompletion(bookId, id);
+                    return id;
+                }
+            }
+        }
+        return null;
+    }
+
+    public List<Integer> waiting(int bookId) {
+        Deque<Integer> queue = queue(bookId);
+        synchronized (queue) {
+            return List.copyOf(queue);
+        }
+    }
+
+    /** Drops the book's queue now and again once the surrounding transaction ends. */
+    public void invalidate(Integer bookId) {
+        if (bookId == null) {
+            return;
+        }
+        evict(bookId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(bookId);
+                }
+            });
+        }
+    }
+
+    private void evict(int bookId) {
+        invalidations.incrementAndGet();
+        queues.remove(bookId);
+    }
+
+    private Deque<Integer> queue(int bookId) {
+        Deque<Integer> queue = queues.get(bookId);
+        if (queue != null) {
+            return queue;
+        }
+        long seen = invalidations.get();
+        Deque<Integer> loaded = new ArrayDeque<>(repo.findQueue(bookId, ReservationStatus.WAITING));
+        if (invalidations.get() != seen) {
+            return loaded;
+        }
+        queue = queues.putIfAbsent(bookId, loaded);
+        if (queue != null) {
+            return queue;
+        }
+        if (invalidations.get() != seen) {
+            // Invalidated between the check and the put.
+            queues.remove(bookId, loaded);
+        }
+        return loaded;
+    }
+
+    private void afterCompletion(int bookId, int reservationId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyReady(reservationId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    notifyReady(reservationId);
+                } else {
+                    // The head was popped but the promotion rolled back.
+                    evict(bookId);
+                }
+            }
+        });
+    }
+
+    private void notifyReady(int reservationId) {
+        try {
+            repo.findNotice(reservationId).ifPresent(notifier::holdReady);
+        } catch (RuntimeException e) {
+            log.warn("Could not notify member for hold {}", reservationId, e);
+        }
+    }
+}
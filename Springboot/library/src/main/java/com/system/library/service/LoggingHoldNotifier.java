@@ -0,0 +1,24 @@
+package com.system.library.service;
+
+import com.system.library.dto.HoldNotice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default notifier: the library has no mail or SMS integration yet, so ready
+ * holds are written to the log. Declare a {@code @Primary} HoldNotifier bean
+ * to deliver them for real.
+ */
+@Component
+public class LoggingHoldNotifier implements HoldNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingHoldNotifier.class);
+
+    @Override
+    public void holdReady(HoldNotice notice) {
+        log.info("Hold {} ready: '{}' for member {} ({} <{}>)",
+                notice.reservationId(), notice.bookTitle(), notice.memberId(),
+                notice.memberName(), notice.memberEmail());
+    }
+}
@@ -1,22 +1,45 @@
 package com.system.library.service;
 
 import com.system.library.entity.Reservation;
+import com.system.library.entity.ReservationStatus;
 import com.system.library.repository.ReservationRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
 public class ReservationService {
 
     private final ReservationRepository repo;
+    private final HoldQueueService holdQueue;
 
-    public ReservationService(ReservationRepository repo) {
+    public ReservationService(ReservationRepository repo, HoldQueueService holdQueue) {
         this.repo = repo;
+        this.holdQueue = holdQueue;
     }
 
     public Reservation save(Reservation reservation) {
-        return repo.save(reservation);
+        if (reservation.getReserveDate() == null) {
+            reservation.setReserveDate(LocalDate.now());
+        }
+        if (reservation.getStatus() == null) {
+            reservation.setStatus(ReservationStatus.WAITING);
+        }
+        Integer previousBookId = reservation.getId() == 0
+                ? null
+                : repo.findBookIdById(reservation.getId()).orElse(null);
+
+        Reservation saved = repo.save(reservation);
+        holdQueue.invalidate(previousBookId);
+        if (saved.getBook() != null) {
+            holdQueue.invalidate(saved.getBook().getId());
+        }
+        return saved;
+    }
+
+    public List<Integer> queue(int bookId) {
+        return holdQueue.waiting(bookId);
     }
 
     public List<Reservation> getAll() {
@@ -32,6 +55,8 @@ public class ReservationService {
         if (!repo.existsById(id)) {
             throw new RuntimeException("Reservation not found");
         }
+        Integer bookId = repo.findBookIdById(id).orElse(null);
         repo.deleteById(id);
+        holdQueue.invalidate(bookId);
     }
 }
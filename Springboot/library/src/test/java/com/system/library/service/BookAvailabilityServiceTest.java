@@ -0,0 +1,132 @@
+package com.system.library.service;
+
+import com.system.library.dto.AvailabilityView;
+import com.system.library.entity.BookAvailability;
+import com.system.library.entity.CopyStatus;
+import com.system.library.repository.BookAvailabilityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookAvailabilityServiceTest {
+
+    private static final String DELTA = "insert into book_availability";
+    private static final int BOOK = 9;
+
+    @Mock
+    private BookAvailabilityRepository repo;
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    private BookAvailabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookAvailabilityService(repo, jdbc);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void copyWritesApplyDeltasToTheMatchingColumns() {
+        service.copyAdded(BOOK, CopyStatus.AVAILABLE);
+        service.copyRemoved(BOOK, CopyStatus.LOST);
+        service.copyMoved(BOOK, CopyStatus.AVAILABLE, CopyStatus.ON_LOAN);
+
+        // book_id, total, available, on_loan, lost
+        verify(jdbc).update(startsWith(DELTA), eq(BOOK), eq(1), eq(1), eq(0), eq(0));
+        verify(jdbc).update(startsWith(DELTA), eq(BOOK), eq(-1), eq(0), eq(0), eq(-1));
+        verify(jdbc).update(startsWith(DELTA), eq(BOOK), eq(0), eq(-1), eq(0), eq(0));
+        verify(jdbc).update(startsWith(DELTA), eq(BOOK), eq(0), eq(0), eq(1), eq(0));
+    }
+
+    @Test
+    void countsAreCachedUntilACopyOfTheBookChanges() {
+        when(repo.findAllById(List.of(BOOK, 4))).thenReturn(List.of(row(BOOK, 3, 2, 1, 0)));
+        when(repo.findAllById(List.of(BOOK))).thenReturn(List.of(row(BOOK, 4, 3, 1, 0)));
+
+        List<AvailabilityView> first = service.get(List.of(BOOK, 4, BOOK));
+        List<AvailabilityView> cached = service.get(List.of(4, BOOK));
+        service.copyAdded(BOOK, CopyStatus.AVAILABLE);
+        List<AvailabilityView> reloaded = service.get(List.of(BOOK, 4));
+
+        assertThat(first).containsExactly(new AvailabilityView(BOOK, 3, 2, 1, 0), AvailabilityView.none(4));
+        assertThat(cached).containsExactly(AvailabilityView.none(4), new AvailabilityView(BOOK, 3, 2, 1, 0));
+        assertThat(reloaded).containsExactly(new AvailabilityView(BOOK, 4, 3, 1, 0), AvailabilityView.none(4));
+        verify(repo).findAllById(List.of(BOOK, 4));
+        verify(repo).findAllById(List.of(BOOK));
+    }
+
+    @Test
+    void aLoadThatRacedAnEvictionIsServedButNotCached() {
+        when(repo.findAllById(List.of(BOOK))).thenAnswer(inv -> {
+            // A checkout commits between the read and the cache fill.
+            service.copyMoved(BOOK, CopyStatus.AVAILABLE, CopyStatus.ON_LOAN);
+            return List.of(row(BOOK, 1, 1, 0, 0));
+        }).thenReturn(List.of(row(BOOK, 1, 0, 1, 0)));
+
+        assertThat(service.get(List.of(BOOK))).containsExactly(new AvailabilityView(BOOK, 1, 1, 0, 0));
+        assertThat(service.get(List.of(BOOK))).containsExactly(new AvailabilityView(BOOK, 1, 0, 1, 0));
+        assertThat(service.get(List.of(BOOK))).containsExactly(new AvailabilityView(BOOK, 1, 0, 1, 0));
+        verify(repo, times(2)).findAllById(List.of(BOOK));
+    }
+
+    @Test
+    void aBookReadInsideTheWritingTransactionIsEvictedWhenItEnds() {
+        when(repo.findAllById(List.of(BOOK)))
+                .thenReturn(List.of(row(BOOK, 1, 1, 0, 0)), List.of(row(BOOK, 0, 0, 0, 0)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.copyAdded(BOOK, CopyStatus.AVAILABLE);
+        service.get(List.of(BOOK));
+        // Rolled back: the counter row never held the added copy.
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(service.get(List.of(BOOK))).containsExactly(AvailabilityView.none(BOOK));
+        verify(repo, times(2)).findAllById(List.of(BOOK));
+    }
+
+    @Test
+    void batchesAreCapped() {
+        List<Integer> ids = IntStream.rangeClosed(1, 201).boxed().toList();
+
+        assertThatThrownBy(() -> service.get(ids)).hasMessageContaining("At most 200");
+        verify(repo, times(0)).findAllById(anyList());
+    }
+
+    private static BookAvailability row(int bookId, int total, int available, int onLoan, int lost) {
+        BookAvailability a = new BookAvailability();
+        a.setBookId(bookId);
+        a.setTotal(total);
+        a.setAvailable(available);
+        a.setOnLoan(onLoan);
+        a.setLost(lost);
+        return a;
+    }
+}
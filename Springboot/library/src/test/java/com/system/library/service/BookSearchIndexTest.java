@@ -0,0 +1,85 @@
+package com.system.library.service;
+
+import com.system.library.dto.BookHit;
+import com.system.library.dto.BookSearchResult;
+import com.system.library.entity.Book;
+import com.system.library.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository repo;
+
+    @InjectMocks
+    private BookSearchIndex index;
+
+    @Test
+    void shortPrefixesOnlyMatchTheWholeTerm() {
+        index.upsert(book(1, "Go", "Kerouac", "Fiction"));
+        index.upsert(book(2, "Gone with the Wind", "Mitchell", "Fiction"));
+        index.upsert(book(3, "Gothic Tales", "Gaskell", "Fiction"));
+
+        assertThat(ids(index.search("go", null, 0, 10))).containsExactly(1);
+        assertThat(ids(index.search("gon", null, 0, 10))).containsExactly(2);
+    }
+
+    @Test
+    void cappedPrefixesKeepTheMostCommonCompletions() {
+        int id = 1;
+        for (int i = 0; i < 200; i++) {
+            index.upsert(book(id++, "zeta" + String.format("%03d", i), "Anon", "Reference"));
+        }
+        // Sorts after every rare completion but is in the most books.
+        for (int i = 0; i < 5; i++) {
+            index.upsert(book(id++, "zetaz volume " + i, "Anon", "Reference"));
+        }
+
+        assertThat(index.search("zeta", null, 0, 10).total()).isEqualTo(199 + 5);
+        assertThat(index.search("volume zeta", null, 0, 10).total()).isEqualTo(5);
+    }
+
+    @Test
+    void booksMatchedByTwoCompletionsCountOnceAtTheirBestScore() {
+        index.upsert(book(1, "Harry Harrison", "Someone", "Biography"));
+        index.upsert(book(2, "Collected Essays", "Harrison", "Essays"));
+
+        BookSearchResult result = index.search("harr", null, 0, 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(ids(result)).containsExactly(1, 2);
+    }
+
+    @Test
+    void everyTermAndTheSubjectFilterMustMatch() {
+        index.upsert(book(1, "The Hobbit", "Tolkien", "Fantasy"));
+        index.upsert(book(2, "The Silmarillion", "Tolkien", "Fantasy"));
+        index.upsert(book(3, "Tolkien: A Biography", "Carpenter", "Biography"));
+
+        BookSearchResult result = index.search("tolkien the ", "fantasy", 0, 10);
+
+        assertThat(ids(result)).containsExactlyInAnyOrder(1, 2);
+        assertThat(result.subjects()).extracting(f -> f.subject() + "=" + f.count())
+                .containsExactly("Fantasy=2");
+    }
+
+    private static int[] ids(BookSearchResult result) {
+        return result.hits().stream().mapToInt(BookHit::id).toArray();
+    }
+
+    private static Book book(int id, String title, String author, String subject) {
+        Book b = new Book();
+        b.setId(id);
+        b.setTitle(title);
+        b.setAuthor(author);
+        b.setSubject(subject);
+        return b;
+    }
+}
@@ -0,0 +1,146 @@
+package com.system.library.service;
+
+import com.system.library.dto.CirculationOutcome;
+import com.system.library.dto.CirculationResult;
+import com.system.library.dto.LoanView;
+import com.system.library.entity.Borrow;
+import com.system.library.entity.CopyStatus;
+import com.system.library.entity.ReservationStatus;
+import com.system.library.repository.BookCopyRepository;
+import com.system.library.repository.BorrowRepository;
+import com.system.library.repository.MemberRepository;
+import com.system.library.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CirculationServiceTest {
+
+    private static final int COPY = 3;
+    private static final int MEMBER = 7;
+    private static final int BOOK = 9;
+
+    @Mock
+    private BookCopyRepository copyRepo;
+
+    @Mock
+    private BorrowRepository borrowRepo;
+
+    @Mock
+    private MemberRepository memberRepo;
+
+    @Mock
+    private ReservationRepository reservationRepo;
+
+    @Mock
+    private HoldQueueService holdQueue;
+
+    @Mock
+    private BookAvailabilityService availability;
+
+    private CirculationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CirculationService(copyRepo, borrowRepo, memberRepo, reservationRepo,
+                holdQueue, availability, 14);
+    }
+
+    @Test
+    void checkoutLendsTheCopyAndClosesTheMembersReadyHold() {
+        when(memberRepo.existsById(MEMBER)).thenReturn(true);
+        when(copyRepo.transition(COPY, CopyStatus.AVAILABLE, CopyStatus.ON_LOAN)).thenReturn(1);
+        when(borrowRepo.save(any(Borrow.class))).thenAnswer(inv -> {
+            Borrow b = inv.getArgument(0);
+            b.setId(40);
+            return b;
+        });
+        when(copyRepo.findBookIdById(COPY)).thenReturn(Optional.of(BOOK));
+
+        CirculationResult result = service.checkout(COPY, MEMBER);
+
+        assertThat(result.outcome()).isEqualTo(CirculationOutcome.CHECKED_OUT);
+        assertThat(result.copyStatus()).isEqualTo(CopyStatus.ON_LOAN);
+        assertThat(result.loan().borrowId()).isEqualTo(40);
+        assertThat(result.loan().dueDate()).isEqualTo(result.loan().issueDate().plusDays(14));
+        verify(availability).copyMoved(BOOK, CopyStatus.AVAILABLE, CopyStatus.ON_LOAN);
+        verify(reservationRepo).transitionFor(MEMBER, BOOK, ReservationStatus.READY, ReservationStatus.FULFILLED);
+    }
+
+    @Test
+    void aCopyAlreadyOnLoanIsNotLentTwice() {
+        when(memberRepo.existsById(MEMBER)).thenReturn(true);
+        when(copyRepo.transition(COPY, CopyStatus.AVAILABLE, CopyStatus.ON_LOAN)).thenReturn(0);
+        when(copyRepo.findStatusById(COPY)).thenReturn(Optional.of(CopyStatus.ON_LOAN));
+
+        CirculationResult result = service.checkout(COPY, MEMBER);
+
+        assertThat(result.outcome()).isEqualTo(CirculationOutcome.NOT_AVAILABLE);
+        assertThat(result.copyStatus()).isEqualTo(CopyStatus.ON_LOAN);
+        verify(borrowRepo, never()).save(any());
+        verify(availability, never()).copyMoved(anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void unknownMembersCannotBorrow() {
+        when(memberRepo.existsById(MEMBER)).thenReturn(false);
+
+        CirculationResult result = service.checkout(COPY, MEMBER);
+
+        assertThat(result.outcome()).isEqualTo(CirculationOutcome.MEMBER_NOT_FOUND);
+        verify(copyRepo, never()).transition(anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void checkinClosesTheOpenLoanAndPromotesTheNextHold() {
+        LocalDate issued = LocalDate.now().minusDays(10);
+        when(copyRepo.transition(COPY, CopyStatus.ON_LOAN, CopyStatus.AVAILABLE)).thenReturn(1);
+        when(borrowRepo.findOpenLoans(COPY))
+                .thenReturn(List.of(new LoanView(40, COPY, MEMBER, issued, issued.plusDays(14), null)));
+        when(borrowRepo.close(40, LocalDate.now())).thenReturn(1);
+        when(copyRepo.findBookIdById(COPY)).thenReturn(Optional.of(BOOK));
+
+        CirculationResult result = service.checkin(COPY);
+
+        assertThat(result.outcome()).isEqualTo(CirculationOutcome.RETURNED);
+        assertThat(result.loan().borrowId()).isEqualTo(40);
+        assertThat(result.loan().returnDate()).isEqualTo(LocalDate.now());
+        verify(availability).copyMoved(BOOK, CopyStatus.ON_LOAN, CopyStatus.AVAILABLE);
+        verify(holdQueue).promoteNext(BOOK);
+    }
+
+    @Test
+    void checkingInACopyNotOnLoanChangesNothing() {
+        when(copyRepo.transition(COPY, CopyStatus.ON_LOAN, CopyStatus.AVAILABLE)).thenReturn(0);
+        when(copyRepo.findStatusById(COPY)).thenReturn(Optional.of(CopyStatus.AVAILABLE));
+
+        CirculationResult result = service.checkin(COPY);
+
+        assertThat(result.outcome()).isEqualTo(CirculationOutcome.NOT_ON_LOAN);
+        verify(borrowRepo, never()).close(anyInt(), any());
+        verify(holdQueue, never()).promoteNext(anyInt());
+    }
+
+    @Test
+    void unknownCopiesAreNotFound() {
+        when(copyRepo.transition(COPY, CopyStatus.ON_LOAN, CopyStatus.AVAILABLE)).thenReturn(0);
+        when(copyRepo.findStatusById(COPY)).thenReturn(Optional.empty());
+
+        assertThat(service.checkin(COPY).outcome()).isEqualTo(CirculationOutcome.COPY_NOT_FOUND);
+    }
+}
@@ -0,0 +1,129 @@
+package com.system.library.service;
+
+import com.system.library.dto.AccrualReport;
+import com.system.library.entity.JobWatermark;
+import com.system.library.repository.JobWatermarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FineAccrualServiceTest {
+
+    private static final String OPEN = "select id, due_date from";
+    private static final String LATE = "select id, due_date, return_date from";
+
+    private final LocalDate today = LocalDate.now();
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @Mock
+    private JobWatermarkRepository watermarkRepo;
+
+    private FineAccrualService service;
+
+    private final List<Object[]> written = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 0.25 a day, capped at 5.00, two loans per page, a week of lookback on the first run.
+        service = new FineAccrualService(jdbc, watermarkRepo, 0.25, 5.0, 2, 7);
+        lenient().doAnswer(inv -> {
+            List<Object[]> rows = inv.getArgument(1);
+            written.addAll(rows);
+            return new int[rows.size()];
+        }).when(jdbc).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void openLoansAccrueThroughTodayPageByPage() {
+        when(watermarkRepo.findById("fine-accrual")).thenReturn(Optional.of(mark(today.minusDays(1))));
+        when(jdbc.query(startsWith(OPEN), this.<Object[]>mapper(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(open(2, 40), open(1, 4)), List.<Object[]>of(open(3, 1)));
+        when(jdbc.query(startsWith(LATE), this.<Object[]>mapper(), any(), any(), any())).thenReturn(List.of());
+
+        AccrualReport report = service.run();
+
+        assertThat(report.openOverdue()).isEqualTo(3);
+        assertThat(report.finesWritten()).isEqualTo(3);
+        assertThat(written).extracting(r -> r[1]).containsExactly(5.0, 1.0, 0.25);
+        assertThat(written).extracting(r -> r[2]).containsOnly(Date.valueOf(today));
+        // The second page resumes after the last (due_date, id) of the first.
+        Date afterDue = Date.valueOf(today.minusDays(4));
+        verify(jdbc).query(startsWith(OPEN), this.<Object[]>mapper(),
+                eq(Date.valueOf(today)), eq(afterDue), eq(afterDue), eq(1), eq(2));
+    }
+
+    @Test
+    void lateReturnsAreReadFromTheWatermarkAndAccrueUpToTheReturnDate() {
+        LocalDate previous = today.minusDays(3);
+        when(watermarkRepo.findById("fine-accrual")).thenReturn(Optional.of(mark(previous)));
+        when(jdbc.query(startsWith(OPEN), this.<Object[]>mapper(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+        Date returned = Date.valueOf(today.minusDays(2));
+        when(jdbc.query(startsWith(LATE), this.<Object[]>mapper(), eq(Date.valueOf(previous)), eq(0), eq(2)))
+                .thenReturn(List.<Object[]>of(new Object[] { 5, Date.valueOf(today.minusDays(5)), returned }));
+
+        AccrualReport report = service.run();
+
+        assertThat(report.previousMark()).isEqualTo(previous);
+        assertThat(report.lateReturns()).isEqualTo(1);
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0)).containsExactly(5, 0.75, returned);
+    }
+
+    @Test
+    void firstRunLooksBackTheConfiguredDaysAndStoresTheWatermark() {
+        when(watermarkRepo.findById("fine-accrual")).thenReturn(Optional.empty());
+        when(jdbc.query(startsWith(OPEN), this.<Object[]>mapper(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of());
+        when(jdbc.query(startsWith(LATE), this.<Object[]>mapper(), eq(Date.valueOf(today.minusDays(7))), eq(0), eq(2)))
+                .thenReturn(List.of());
+
+        AccrualReport report = service.run();
+
+        assertThat(report.previousMark()).isNull();
+        ArgumentCaptor<JobWatermark> saved = ArgumentCaptor.forClass(JobWatermark.class);
+        verify(watermarkRepo).save(saved.capture());
+        assertThat(saved.getValue().getJobName()).isEqualTo("fine-accrual");
+        assertThat(saved.getValue().getMarkDate()).isEqualTo(today);
+        assertThat(service.lastReport()).isSameAs(report);
+    }
+
+    private <T> RowMapper<T> mapper() {
+        return any();
+    }
+
+    private Object[] open(int borrowId, int daysOverdue) {
+        return new Object[] { borrowId, Date.valueOf(today.minusDays(daysOverdue)) };
+    }
+
+    private static JobWatermark mark(LocalDate date) {
+        JobWatermark m = new JobWatermark();
+        m.setJobName("fine-accrual");
+        m.setMarkDate(date);
+        return m;
+    }
+}
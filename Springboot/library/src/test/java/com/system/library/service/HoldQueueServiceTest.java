@@ -0,0 +1,77 @@
+package com.system.library.service;
+
+import com.system.library.entity.ReservationStatus;
+import com.system.library.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HoldQueueServiceTest {
+
+    private static final int BOOK = 5;
+
+    @Mock
+    private ReservationRepository repo;
+
+    @Mock
+    private HoldNotifier notifier;
+
+    @InjectMocks
+    private HoldQueueService service;
+
+    @Test
+    void promotesTheOldestHoldStillWaiting() {
+        when(repo.findQueue(BOOK, ReservationStatus.WAITING)).thenReturn(List.of(1, 2, 3));
+        // Hold 1 was cancelled after the queue was loaded.
+        when(repo.promote(eq(1), eq(ReservationStatus.WAITING), eq(ReservationStatus.READY), any())).thenReturn(0);
+        when(repo.promote(eq(2), eq(ReservationStatus.WAITING), eq(ReservationStatus.READY), any())).thenReturn(1);
+
+        assertThat(service.promoteNext(BOOK)).isEqualTo(2);
+        assertThat(service.waiting(BOOK)).containsExactly(3);
+    }
+
+    @Test
+    void nobodyWaitingPromotesNothing() {
+        when(repo.findQueue(BOOK, ReservationStatus.WAITING)).thenReturn(List.of());
+
+        assertThat(service.promoteNext(BOOK)).isNull();
+    }
+
+    @Test
+    void loadThatRacedAnInvalidationIsNotCached() {
+        when(repo.findQueue(BOOK, ReservationStatus.WAITING))
+                .thenAnswer(inv -> {
+                    // A new hold is saved while the queue is being read.
+                    service.invalidate(BOOK);
+                    return List.of(1);
+                })
+                .thenReturn(List.of(1, 2));
+
+        assertThat(service.waiting(BOOK)).containsExactly(1);
+        assertThat(service.waiting(BOOK)).containsExactly(1, 2);
+        assertThat(service.waiting(BOOK)).containsExactly(1, 2);
+        verify(repo, times(2)).findQueue(BOOK, ReservationStatus.WAITING);
+    }
+
+    @Test
+    void invalidationDropsTheCachedQueue() {
+        when(repo.findQueue(BOOK, ReservationStatus.WAITING)).thenReturn(List.of(1), List.of(1, 4));
+
+        assertThat(service.waiting(BOOK)).containsExactly(1);
+        service.invalidate(BOOK);
+
+        assertThat(service.waiting(BOOK)).containsExactly(1, 4);
+    }
+}